@@ -0,0 +1,26 @@
+package com.bookstore.assertions;
+
+
+/**
+ * A property checked over every element of a list by {@link ListInvariants}. The list is split into
+ * contiguous partitions evaluated in parallel; each gets its own {@link Partial}, partials of adjacent
+ * partitions are merged left to right, and the final one reports its violations.
+ */
+public interface Invariant<T> {
+
+    String name();
+
+    Partial<T> newPartial();
+
+    interface Partial<T> {
+
+        void accept(int index, T element);
+
+        /**
+         * Combines this partial with the one for the partition directly after it.
+         */
+        Partial<T> merge(Partial<T> next);
+
+        void report(Violations violations);
+    }
+}
@@ -0,0 +1,48 @@
+package com.bookstore.assertions;
+
+import lombok.Getter;
+
+import java.util.List;
+
+
+/**
+ * Outcome of {@link ListInvariants#evaluate()}: the violations of every registered invariant, held or not.
+ */
+@Getter
+public final class InvariantReport {
+
+    private final int elements;
+    private final List<Violations> invariants;
+    private final long elapsedMicros;
+
+    InvariantReport(int elements, List<Violations> invariants, long elapsedMicros) {
+        this.elements = elements;
+        this.invariants = List.copyOf(invariants);
+        this.elapsedMicros = elapsedMicros;
+    }
+
+    public boolean isValid() {
+        return invariants.stream().allMatch(Violations::isEmpty);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("%d invariant(s) over %d element(s) in %.1f ms%n",
+                invariants.size(), elements, elapsedMicros / 1000.0));
+        for (Violations violations : invariants) {
+            text.append(String.format("  [%s] %s", violations.isEmpty() ? "ok" : "FAILED", violations.getInvariant()));
+            if (!violations.isEmpty()) {
+                text.append(String.format(" - %d violation(s)", violations.getCount()));
+                for (String sample : violations.getSamples()) {
+                    text.append(String.format("%n      %s", sample));
+                }
+                if (violations.getCount() > violations.getSamples().size()) {
+                    text.append(String.format("%n      ... and %d more",
+                            violations.getCount() - violations.getSamples().size()));
+                }
+            }
+            text.append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+}
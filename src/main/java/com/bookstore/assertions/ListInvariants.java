@@ -0,0 +1,367 @@
+package com.bookstore.assertions;
+
+import io.restassured.response.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+
+/**
+ * Evaluates a set of invariants over one list response in a single pass:
+ * <pre>
+ * ListInvariants.of(response, bookService.extractBooks(response))
+ *         .contentType("application/json")
+ *         .notNull("id", Book::getId)
+ *         .ascending("id", Book::getId)
+ *         .unique("id", Book::getId)
+ *         .assertAll();
+ * </pre>
+ * Lists longer than {@value #SEQUENTIAL_THRESHOLD} elements are split into partitions evaluated on the
+ * common fork/join pool. Every invariant is evaluated in full and all violations are reported together.
+ */
+@Slf4j
+public final class ListInvariants<T> {
+
+    static final int SEQUENTIAL_THRESHOLD = 16_384;
+
+    private final Response response;
+    private final List<T> elements;
+    private final List<Invariant<T>> invariants = new ArrayList<>();
+    private final List<Violations> responseViolations = new ArrayList<>();
+
+    private ListInvariants(Response response, List<T> elements) {
+        this.response = response;
+        this.elements = elements;
+    }
+
+    public static <T> ListInvariants<T> of(Response response, List<T> elements) {
+        return new ListInvariants<>(response, elements);
+    }
+
+    public static <T> ListInvariants<T> of(List<T> elements) {
+        return new ListInvariants<>(null, elements);
+    }
+
+    public ListInvariants<T> contentType(String expected) {
+        Violations violations = new Violations("content type is " + expected);
+        String actual = response == null ? null : response.getContentType();
+        if (actual == null || !actual.contains(expected)) {
+            violations.add("content type was " + actual);
+        }
+        responseViolations.add(violations);
+        return this;
+    }
+
+    public ListInvariants<T> notEmpty() {
+        Violations violations = new Violations("list is not empty");
+        if (elements.isEmpty()) {
+            violations.add("list was empty");
+        }
+        responseViolations.add(violations);
+        return this;
+    }
+
+    public ListInvariants<T> notNull(String field, Function<T, ?> getter) {
+        return each(field + " is not null", element -> getter.apply(element) != null);
+    }
+
+    public ListInvariants<T> each(String name, Predicate<T> condition) {
+        return register(new EachInvariant<>(name, condition));
+    }
+
+    /**
+     * Non-null keys are strictly ascending in list order; elements without a key are skipped.
+     */
+    public ListInvariants<T> ascending(String field, Function<T, Integer> key) {
+        return register(new AscendingInvariant<>(field, key));
+    }
+
+    /**
+     * No non-null key occurs twice.
+     */
+    public ListInvariants<T> unique(String field, Function<T, Integer> key) {
+        return register(new UniqueInvariant<>(field, key));
+    }
+
+    public ListInvariants<T> register(Invariant<T> invariant) {
+        invariants.add(invariant);
+        return this;
+    }
+
+    public InvariantReport evaluate() {
+        long start = System.nanoTime();
+        List<Invariant.Partial<T>> partials = elements.size() > SEQUENTIAL_THRESHOLD
+                ? ForkJoinPool.commonPool().invoke(new PartitionTask(0, elements.size()))
+                : evaluate(0, elements.size());
+        List<Violations> results = new ArrayList<>(responseViolations);
+        for (int i = 0; i < invariants.size(); i++) {
+            Violations violations = new Violations(invariants.get(i).name());
+            partials.get(i).report(violations);
+            results.add(violations);
+        }
+        return new InvariantReport(elements.size(), results, (System.nanoTime() - start) / 1_000);
+    }
+
+    public InvariantReport assertAll() {
+        InvariantReport report = evaluate();
+        if (!report.isValid()) {
+            throw new AssertionError(report.toString());
+        }
+        log.debug("{}", report);
+        return report;
+    }
+
+    private List<Invariant.Partial<T>> evaluate(int from, int to) {
+        List<Invariant.Partial<T>> partials = new ArrayList<>(invariants.size());
+        for (Invariant<T> invariant : invariants) {
+            partials.add(invariant.newPartial());
+        }
+        List<T> slice = elements.subList(from, to);
+        int index = from;
+        for (T element : slice) {
+            for (Invariant.Partial<T> partial : partials) {
+                partial.accept(index, element);
+            }
+            index++;
+        }
+        return partials;
+    }
+
+    private final class PartitionTask extends RecursiveTask<List<Invariant.Partial<T>>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        PartitionTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Invariant.Partial<T>> compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                return evaluate(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            PartitionTask right = new PartitionTask(middle, to);
+            right.fork();
+            List<Invariant.Partial<T>> left = new PartitionTask(from, middle).compute();
+            List<Invariant.Partial<T>> next = right.join();
+            for (int i = 0; i < left.size(); i++) {
+                left.set(i, left.get(i).merge(next.get(i)));
+            }
+            return left;
+        }
+    }
+
+    private record EachInvariant<T>(String name, Predicate<T> condition) implements Invariant<T> {
+
+        @Override
+        public Partial<T> newPartial() {
+            return new EachPartial();
+        }
+
+        private final class EachPartial implements Partial<T> {
+            private final Violations.Sample failed = new Violations.Sample();
+
+            @Override
+            public void accept(int index, T element) {
+                if (!condition.test(element)) {
+                    failed.add(index);
+                }
+            }
+
+            @Override
+            public Partial<T> merge(Partial<T> next) {
+                failed.merge(((EachPartial) next).failed);
+                return this;
+            }
+
+            @Override
+            public void report(Violations violations) {
+                for (int i = 0; i < failed.size(); i++) {
+                    violations.add("element " + failed.index(i));
+                }
+                violations.addUnsampled(failed.count() - failed.size());
+            }
+        }
+    }
+
+    private static final class AscendingInvariant<T> implements Invariant<T> {
+        private final String field;
+        private final Function<T, Integer> key;
+
+        AscendingInvariant(String field, Function<T, Integer> key) {
+            this.field = field;
+            this.key = key;
+        }
+
+        @Override
+        public String name() {
+            return field + " is strictly ascending";
+        }
+
+        @Override
+        public Partial<T> newPartial() {
+            return new AscendingPartial();
+        }
+
+        private final class AscendingPartial implements Partial<T> {
+            private boolean any;
+            private int first;
+            private int firstIndex;
+            private int last;
+            private int lastIndex;
+            private final List<String> samples = new ArrayList<>();
+            private long count;
+
+            @Override
+            public void accept(int index, T element) {
+                Integer value = key.apply(element);
+                if (value == null) {
+                    return;
+                }
+                if (!any) {
+                    any = true;
+                    first = value;
+                    firstIndex = index;
+                } else if (value <= last) {
+                    violation(lastIndex, last, index, value);
+                }
+                last = value;
+                lastIndex = index;
+            }
+
+            @Override
+            public Partial<T> merge(Partial<T> other) {
+                AscendingPartial next = (AscendingPartial) other;
+                if (!next.any) {
+                    return this;
+                }
+                if (!any) {
+                    return next;
+                }
+                if (next.first <= last) {
+                    violation(lastIndex, last, next.firstIndex, next.first);
+                }
+                for (String sample : next.samples) {
+                    if (samples.size() < Violations.SAMPLES) {
+                        samples.add(sample);
+                    }
+                }
+                count += next.count;
+                last = next.last;
+                lastIndex = next.lastIndex;
+                return this;
+            }
+
+            @Override
+            public void report(Violations violations) {
+                samples.forEach(violations::add);
+                violations.addUnsampled(count - samples.size());
+            }
+
+            private void violation(int previousIndex, int previous, int index, int value) {
+                count++;
+                if (samples.size() < Violations.SAMPLES) {
+                    samples.add(String.format("%s %d at element %d follows %d at element %d",
+                            field, value, index, previous, previousIndex));
+                }
+            }
+        }
+    }
+
+    private static final class UniqueInvariant<T> implements Invariant<T> {
+        // Above this many bits per key the BitSet would be mostly empty, so sort instead
+        private static final long MAX_BITS_PER_KEY = 64;
+
+        private final String field;
+        private final Function<T, Integer> key;
+
+        UniqueInvariant(String field, Function<T, Integer> key) {
+            this.field = field;
+            this.key = key;
+        }
+
+        @Override
+        public String name() {
+            return field + " is unique";
+        }
+
+        @Override
+        public Partial<T> newPartial() {
+            return new UniquePartial();
+        }
+
+        private final class UniquePartial implements Partial<T> {
+            private int[] keys = new int[64];
+            private int size;
+
+            @Override
+            public void accept(int index, T element) {
+                Integer value = key.apply(element);
+                if (value == null) {
+                    return;
+                }
+                if (size == keys.length) {
+                    keys = Arrays.copyOf(keys, size * 2);
+                }
+                keys[size++] = value;
+            }
+
+            @Override
+            public Partial<T> merge(Partial<T> other) {
+                UniquePartial next = (UniquePartial) other;
+                if (keys.length < size + next.size) {
+                    keys = Arrays.copyOf(keys, Math.max(size + next.size, keys.length * 2));
+                }
+                System.arraycopy(next.keys, 0, keys, size, next.size);
+                size += next.size;
+                return this;
+            }
+
+            @Override
+            public void report(Violations violations) {
+                if (size == 0) {
+                    return;
+                }
+                int min = Integer.MAX_VALUE;
+                int max = Integer.MIN_VALUE;
+                for (int i = 0; i < size; i++) {
+                    min = Math.min(min, keys[i]);
+                    max = Math.max(max, keys[i]);
+                }
+                long span = (long) max - min + 1;
+                if (span <= MAX_BITS_PER_KEY * size) {
+                    BitSet seen = new BitSet((int) span);
+                    BitSet reported = new BitSet();
+                    for (int i = 0; i < size; i++) {
+                        int bit = keys[i] - min;
+                        if (!seen.get(bit)) {
+                            seen.set(bit);
+                        } else if (!reported.get(bit)) {
+                            reported.set(bit);
+                            violations.add(field + " " + keys[i] + " occurs more than once");
+                        }
+                    }
+                } else {
+                    int[] sorted = Arrays.copyOf(keys, size);
+                    Arrays.parallelSort(sorted);
+                    for (int i = 1; i < size; i++) {
+                        if (sorted[i] == sorted[i - 1] && (i == 1 || sorted[i - 1] != sorted[i - 2])) {
+                            violations.add(field + " " + sorted[i] + " occurs more than once");
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
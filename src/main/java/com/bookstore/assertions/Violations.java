@@ -0,0 +1,73 @@
+package com.bookstore.assertions;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Violations of one invariant: how many there were and the first {@value #SAMPLES} of them in list order.
+ */
+@Getter
+public final class Violations {
+
+    static final int SAMPLES = 10;
+
+    private final String invariant;
+    private long count;
+    private final List<String> samples = new ArrayList<>();
+
+    Violations(String invariant) {
+        this.invariant = invariant;
+    }
+
+    public void add(String message) {
+        count++;
+        if (samples.size() < SAMPLES) {
+            samples.add(message);
+        }
+    }
+
+    void addUnsampled(long violations) {
+        count += violations;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    // Partition-local bookkeeping: indexes of the first violations plus the total count
+    static final class Sample {
+        private final int[] indexes = new int[SAMPLES];
+        private int size;
+        private long count;
+
+        void add(int index) {
+            if (size < SAMPLES) {
+                indexes[size++] = index;
+            }
+            count++;
+        }
+
+        Sample merge(Sample next) {
+            for (int i = 0; i < next.size && size < SAMPLES; i++) {
+                indexes[size++] = next.indexes[i];
+            }
+            count += next.count;
+            return this;
+        }
+
+        long count() {
+            return count;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int index(int i) {
+            return indexes[i];
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.bookstore.benchmark;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * The stress steps of one operation, ordered by concurrency, and what they show: the knee (the sustained
+ * step with the highest {@link StressStep#power()}), the highest sustained throughput, and the lowest
+ * concurrency that broke the operation together with its {@link FailureMode}.
+ */
+@Getter
+public final class BreakingPoint {
+
+    private final String operation;
+    private final List<StressStep> steps;
+    private final FailureMode failureMode;
+    private final Integer breakingConcurrency;
+
+    BreakingPoint(String operation, List<StressStep> steps, FailureMode failureMode, Integer breakingConcurrency) {
+        this.operation = operation;
+        List<StressStep> sorted = new ArrayList<>(steps);
+        sorted.sort(Comparator.comparingInt(StressStep::concurrency));
+        this.steps = List.copyOf(sorted);
+        this.failureMode = failureMode;
+        this.breakingConcurrency = breakingConcurrency;
+    }
+
+    public List<StressStep> getSustainedSteps() {
+        return breakingConcurrency == null ? steps
+                : steps.stream().filter(step -> step.concurrency() < breakingConcurrency).toList();
+    }
+
+    public Optional<StressStep> getKnee() {
+        return getSustainedSteps().stream().max(Comparator.comparingDouble(StressStep::power));
+    }
+
+    public Optional<StressStep> getMaxSustainable() {
+        return getSustainedSteps().stream().max(Comparator.comparingDouble(StressStep::throughput));
+    }
+
+    public double getMaxSustainableThroughput() {
+        return getMaxSustainable().map(StressStep::throughput).orElse(0.0);
+    }
+
+    public Optional<StressStep> getBreakingStep() {
+        return breakingConcurrency == null ? Optional.empty()
+                : steps.stream().filter(step -> step.concurrency() == breakingConcurrency).findFirst();
+    }
+}
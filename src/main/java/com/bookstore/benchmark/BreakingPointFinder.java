@@ -0,0 +1,197 @@
+package com.bookstore.benchmark;
+
+import com.bookstore.client.CircuitBreaker;
+import com.bookstore.constants.StatusCodes;
+import com.bookstore.metrics.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.SkipException;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Stresses one operation at a time with closed-loop callers until it breaks. Concurrency doubles from the
+ * start value until a step breaks or the maximum is reached; a binary search between the last sustained
+ * and the first broken concurrency then narrows the breaking point down. A step breaks when the error
+ * rate goes over its limit, p99 goes over the latency limit, or throughput falls more than the collapse
+ * tolerance below the best sustained step, which in a closed loop means latency is growing faster than
+ * concurrency.
+ */
+@Slf4j
+public final class BreakingPointFinder {
+
+    private final Duration stepDuration;
+    private final double maxErrorPercent;
+    private final long latencyLimitMicros;
+    private final double collapsePercent;
+
+    public BreakingPointFinder(Duration stepDuration, double maxErrorPercent, Duration latencyLimit,
+                               double collapsePercent) {
+        this.stepDuration = stepDuration;
+        this.maxErrorPercent = maxErrorPercent;
+        this.latencyLimitMicros = latencyLimit.toNanos() / 1000;
+        this.collapsePercent = collapsePercent;
+    }
+
+    public BreakingPoint find(RequestMix.Entry entry, int startConcurrency, int maxConcurrency, int searchSteps)
+            throws InterruptedException {
+        List<StressStep> steps = new ArrayList<>();
+        double peakThroughput = 0;
+        int sustained = 0;
+        int broken = 0;
+        FailureMode failureMode = FailureMode.NONE;
+        try {
+            for (int concurrency = Math.max(1, startConcurrency); ;
+                 concurrency = Math.min(maxConcurrency, concurrency * 2)) {
+                StressStep step = runStep(entry, concurrency);
+                steps.add(step);
+                FailureMode mode = classify(step, peakThroughput);
+                if (mode != FailureMode.NONE) {
+                    failureMode = mode;
+                    broken = concurrency;
+                    break;
+                }
+                peakThroughput = Math.max(peakThroughput, step.throughput());
+                sustained = concurrency;
+                if (concurrency >= maxConcurrency) {
+                    break;
+                }
+            }
+            for (int i = 0; i < searchSteps && broken - sustained > 1; i++) {
+                int concurrency = (sustained + broken) / 2;
+                StressStep step = runStep(entry, concurrency);
+                steps.add(step);
+                FailureMode mode = classify(step, peakThroughput);
+                if (mode == FailureMode.NONE) {
+                    peakThroughput = Math.max(peakThroughput, step.throughput());
+                    sustained = concurrency;
+                } else {
+                    failureMode = mode;
+                    broken = concurrency;
+                }
+            }
+        } catch (SkipException e) {
+            log.warn("Stress {} aborted, {} steps done: {}", entry.operation(), steps.size(), e.getMessage());
+            return new BreakingPoint(entry.operation(), steps, FailureMode.ABORTED, null);
+        }
+        return new BreakingPoint(entry.operation(), steps, failureMode, broken == 0 ? null : broken);
+    }
+
+    // A SkipException (an open circuit breaker, for one) stops every caller and is rethrown, it is no step result
+    public StressStep runStep(RequestMix.Entry entry, int concurrency) throws InterruptedException {
+        LatencyHistogram latencies = new LatencyHistogram();
+        LongAdder successes = new LongAdder();
+        LongAdder clientErrors = new LongAdder();
+        LongAdder throttled = new LongAdder();
+        LongAdder serverErrors = new LongAdder();
+        LongAdder timeouts = new LongAdder();
+        LongAdder connectionFailures = new LongAdder();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicLong lastCompleted = new AtomicLong();
+        AtomicReference<SkipException> abort = new AtomicReference<>();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+
+        long start = System.nanoTime();
+        long deadline = start + stepDuration.toNanos();
+        for (int i = 0; i < concurrency; i++) {
+            pool.execute(() -> {
+                while (System.nanoTime() < deadline && abort.get() == null
+                        && !Thread.currentThread().isInterrupted()) {
+                    inFlight.incrementAndGet();
+                    long sent = System.nanoTime();
+                    try {
+                        int status = entry.call().get().getStatusCode();
+                        if (status == StatusCodes.TOO_MANY_REQUESTS) {
+                            throttled.increment();
+                        } else if (status >= StatusCodes.INTERNAL_SERVER_ERROR) {
+                            serverErrors.increment();
+                        } else if (status >= StatusCodes.BAD_REQUEST) {
+                            clientErrors.increment();
+                        } else {
+                            successes.increment();
+                        }
+                    } catch (SkipException e) {
+                        abort.compareAndSet(null, e);
+                        inFlight.decrementAndGet();
+                        break;
+                    } catch (Exception e) {
+                        // RestAssured rethrows transport failures such as ConnectException unwrapped
+                        if (isTimeout(e)) {
+                            timeouts.increment();
+                        } else if (CircuitBreaker.isConnectionFailure(e)) {
+                            connectionFailures.increment();
+                        } else {
+                            serverErrors.increment();
+                        }
+                    }
+                    long completed = System.nanoTime();
+                    latencies.recordNanos(completed - sent);
+                    lastCompleted.accumulateAndGet(completed, Math::max);
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        // Callers still waiting a step after the deadline are counted as unfinished, not waited for
+        long unfinished = 0;
+        if (!pool.awaitTermination(2 * stepDuration.toNanos(), TimeUnit.NANOSECONDS)) {
+            unfinished = inFlight.get();
+            pool.shutdownNow();
+        }
+        if (abort.get() != null) {
+            throw abort.get();
+        }
+
+        long completed = latencies.getCount();
+        double elapsedSeconds = Math.max(1, lastCompleted.get() - start) / 1e9;
+        StressStep step = new StressStep(concurrency, completed + unfinished, completed / elapsedSeconds,
+                Math.round(latencies.getMeanMicros()), latencies.percentileMicros(0.5),
+                latencies.percentileMicros(0.99), latencies.getMaxMicros(), successes.sum(), clientErrors.sum(),
+                throttled.sum(), serverErrors.sum(), timeouts.sum(), connectionFailures.sum(), unfinished);
+        log.info("Stress {} x{}: {}/s, p99 {} ms, {}% errors", entry.operation(), concurrency,
+                String.format("%.1f", step.throughput()), String.format("%.1f", step.p99Micros() / 1000.0),
+                String.format("%.2f", step.errorPercent()));
+        return step;
+    }
+
+    FailureMode classify(StressStep step, double peakThroughput) {
+        if (step.errorPercent() > maxErrorPercent) {
+            long timedOut = step.timeouts() + step.unfinished();
+            long worst = Math.max(Math.max(step.serverErrors(), step.throttled()),
+                    Math.max(timedOut, step.connectionFailures()));
+            if (worst == step.serverErrors()) {
+                return FailureMode.SERVER_ERRORS;
+            }
+            if (worst == step.throttled()) {
+                return FailureMode.THROTTLED;
+            }
+            return worst == timedOut ? FailureMode.TIMEOUTS : FailureMode.CONNECTION_FAILURES;
+        }
+        if (step.p99Micros() > latencyLimitMicros) {
+            return FailureMode.LATENCY_LIMIT;
+        }
+        if (step.throughput() < peakThroughput * (1 - collapsePercent / 100)) {
+            return FailureMode.THROUGHPUT_COLLAPSE;
+        }
+        return FailureMode.NONE;
+    }
+
+    private static boolean isTimeout(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof SocketTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
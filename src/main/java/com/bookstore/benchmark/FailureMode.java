@@ -0,0 +1,29 @@
+package com.bookstore.benchmark;
+
+
+/**
+ * Why an endpoint stopped coping with more concurrency. Error modes win over latency and throughput
+ * when a step shows several at once; among errors the most frequent class is named. {@link #ABORTED} is
+ * not a breaking point: the search stopped because a call threw TestNG's SkipException.
+ */
+public enum FailureMode {
+
+    NONE("no breaking point up to the maximum concurrency"),
+    SERVER_ERRORS("5xx responses over the error limit"),
+    THROTTLED("429 responses over the error limit"),
+    TIMEOUTS("read timeouts or unfinished requests over the error limit"),
+    CONNECTION_FAILURES("connection failures over the error limit"),
+    LATENCY_LIMIT("p99 latency over the limit"),
+    THROUGHPUT_COLLAPSE("throughput fell below the peak, latency grew faster than concurrency"),
+    ABORTED("aborted by a SkipException before a breaking point was found");
+
+    private final String description;
+
+    FailureMode(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
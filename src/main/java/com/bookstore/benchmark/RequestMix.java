@@ -0,0 +1,116 @@
+package com.bookstore.benchmark;
+
+import com.bookstore.client.EndpointTemplates;
+import com.bookstore.constants.EndPoints;
+import com.bookstore.services.AuthorService;
+import com.bookstore.services.BookService;
+import com.bookstore.utils.TestDataGenerator;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+
+/**
+ * A weighted mix of service calls, parsed from {@code benchmark.mix}, e.g.
+ * {@code GET /Books/{id}:70,GET /Authors:15,PUT /Books/{id}:10,POST /Books:3,DELETE /Books/{id}:2}.
+ * Reads by ID pick one of the first {@code readIds} records; updates and deletes stay in a separate
+ * range starting at {@code writeFirstId}, so the seeded catalog the reads hit is left intact.
+ */
+public final class RequestMix {
+
+    public record Entry(String operation, int weight, Supplier<Response> call) {
+    }
+
+    private final List<Entry> entries;
+    private final int[] cumulativeWeights;
+
+    private RequestMix(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+        this.cumulativeWeights = new int[entries.size()];
+        int total = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            total += entries.get(i).weight();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static RequestMix parse(String mix, BookService books, AuthorService authors, int readIds, int writeFirstId) {
+        List<Entry> entries = new ArrayList<>();
+        for (String item : mix.split(",")) {
+            if (item.isBlank()) {
+                continue;
+            }
+            int separator = item.lastIndexOf(':');
+            String[] request = separator > 0 ? item.substring(0, separator).trim().split("\\s+") : new String[0];
+            if (request.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + item.trim() + "', expected <METHOD> <endpoint>:<weight>");
+            }
+            int weight = Integer.parseInt(item.substring(separator + 1).trim());
+            if (weight <= 0) {
+                continue;
+            }
+            String operation = request[0].toUpperCase(Locale.ROOT) + " " + EndpointTemplates.normalize(request[1]);
+            entries.add(new Entry(operation, weight, call(operation, books, authors, readIds, writeFirstId)));
+        }
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("Request mix '" + mix + "' has no operation with a positive weight");
+        }
+        return new RequestMix(entries);
+    }
+
+    private static Supplier<Response> call(String operation, BookService books, AuthorService authors,
+                                           int readIds, int writeFirstId) {
+        Supplier<Integer> readId = () -> ThreadLocalRandom.current().nextInt(readIds) + 1;
+        Supplier<Integer> writeId = () -> writeFirstId + ThreadLocalRandom.current().nextInt(readIds);
+        return switch (operation) {
+            case "GET " + EndPoints.BOOKS -> books::getAllBooks;
+            case "GET " + EndPoints.BOOKS_BY_ID -> () -> books.getBookById(readId.get());
+            case "POST " + EndPoints.BOOKS ->
+                    () -> books.createBook(TestDataGenerator.generateBookPayload(writeId.get()));
+            case "PUT " + EndPoints.BOOKS_BY_ID ->
+                    () -> {
+                        int id = writeId.get();
+                        return books.updateBook(id, TestDataGenerator.generateBookPayload(id));
+                    };
+            case "DELETE " + EndPoints.BOOKS_BY_ID -> () -> books.deleteBook(writeId.get());
+            case "GET " + EndPoints.AUTHORS -> authors::getAllAuthors;
+            case "GET " + EndPoints.AUTHORS_BY_ID -> () -> authors.getAuthorById(readId.get());
+            case "POST " + EndPoints.AUTHORS ->
+                    () -> authors.createAuthor(TestDataGenerator.generateAuthorPayload(writeId.get()));
+            case "PUT " + EndPoints.AUTHORS_BY_ID ->
+                    () -> {
+                        int id = writeId.get();
+                        return authors.updateAuthor(id, TestDataGenerator.generateAuthorPayload(id));
+                    };
+            case "DELETE " + EndPoints.AUTHORS_BY_ID -> () -> authors.deleteAuthor(writeId.get());
+            default -> throw new IllegalArgumentException("Unsupported mix operation '" + operation
+                    + "', expected GET, POST, PUT or DELETE on /Books, /Books/{id}, /Authors or /Authors/{id}");
+        };
+    }
+
+    public Entry next(ThreadLocalRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = Arrays.binarySearch(cumulativeWeights, roll + 1);
+        return entries.get(index >= 0 ? index : -index - 1);
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        int total = cumulativeWeights[cumulativeWeights.length - 1];
+        StringBuilder text = new StringBuilder();
+        for (Entry entry : entries) {
+            text.append(text.length() == 0 ? "" : ", ")
+                    .append(String.format("%s %.0f%%", entry.operation(), 100.0 * entry.weight() / total));
+        }
+        return text.toString();
+    }
+}
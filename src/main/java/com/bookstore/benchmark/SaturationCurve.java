@@ -0,0 +1,77 @@
+package com.bookstore.benchmark;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * Every step the benchmark ran, ordered by offered rate, and the highest rate that was sustained.
+ */
+@Getter
+public final class SaturationCurve {
+
+    private final String mix;
+    private final long p99TargetMicros;
+    private final List<StepResult> steps;
+
+    SaturationCurve(String mix, long p99TargetMicros, List<StepResult> steps) {
+        this.mix = mix;
+        this.p99TargetMicros = p99TargetMicros;
+        List<StepResult> sorted = new ArrayList<>(steps);
+        sorted.sort(Comparator.comparingDouble(StepResult::offeredRate));
+        this.steps = List.copyOf(sorted);
+    }
+
+    public Optional<StepResult> getMaxSustained() {
+        return steps.stream().filter(StepResult::sustained).max(Comparator.comparingDouble(StepResult::offeredRate));
+    }
+
+    public double getMaxSustainedRate() {
+        return getMaxSustained().map(StepResult::offeredRate).orElse(0.0);
+    }
+
+    public void writeCsv(Path file) throws IOException {
+        StringBuilder csv = new StringBuilder(
+                "offered_rps,achieved_rps,requests,errors,unfinished,p50_ms,p90_ms,p99_ms,max_ms,sustained\n");
+        for (StepResult step : steps) {
+            csv.append(String.format("%.1f,%.1f,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%s%n", step.offeredRate(),
+                    step.achievedRate(), step.requests(), step.errors(), step.unfinished(), step.p50Micros() / 1000.0,
+                    step.p90Micros() / 1000.0, step.p99Micros() / 1000.0, step.maxMicros() / 1000.0, step.sustained()));
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, csv);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("Mix: %s%np99 target: %.0f ms%n%n", mix,
+                p99TargetMicros / 1000.0));
+        text.append(String.format("%10s %10s %8s %7s %9s %9s %9s %9s  %s%n", "offered/s", "achieved/s", "requests",
+                "errors", "p50 ms", "p90 ms", "p99 ms", "max ms", "sustained"));
+        for (StepResult step : steps) {
+            text.append(String.format("%10.1f %10.1f %8d %6.1f%% %9.1f %9.1f %9.1f %9.1f  %s%n", step.offeredRate(),
+                    step.achievedRate(), step.requests(), step.errorPercent(), step.p50Micros() / 1000.0,
+                    step.p90Micros() / 1000.0, step.p99Micros() / 1000.0, step.maxMicros() / 1000.0,
+                    step.sustained() ? "yes" : "no"));
+        }
+        Optional<StepResult> best = getMaxSustained();
+        if (best.isEmpty()) {
+            text.append(String.format("%nNo step stayed under the target; the lowest rate tried is already too much%n"));
+            return text.toString();
+        }
+        text.append(String.format("%nMax sustained rate: %.1f requests/s (p99 %.1f ms)%n", best.get().offeredRate(),
+                best.get().p99Micros() / 1000.0));
+        best.get().perOperationP99Micros().forEach((operation, p99) ->
+                text.append(String.format("  %-22s p99 %9.1f ms%n", operation, p99 / 1000.0)));
+        return text.toString();
+    }
+}
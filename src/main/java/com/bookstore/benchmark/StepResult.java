@@ -0,0 +1,18 @@
+package com.bookstore.benchmark;
+
+import java.util.Map;
+
+
+/**
+ * One step of the benchmark: a fixed offered rate held for a fixed time. Latencies are measured from
+ * each request's scheduled send time, so requests delayed behind a saturated client or server count the
+ * wait (no coordinated omission). {@code perOperationP99Micros} is keyed by mix operation.
+ */
+public record StepResult(double offeredRate, double achievedRate, long requests, long errors, long unfinished,
+                         long p50Micros, long p90Micros, long p99Micros, long maxMicros,
+                         Map<String, Long> perOperationP99Micros, boolean sustained) {
+
+    public double errorPercent() {
+        return requests == 0 ? 0 : 100.0 * (errors + unfinished) / requests;
+    }
+}
@@ -0,0 +1,70 @@
+package com.bookstore.benchmark;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * The breaking point of every stressed operation: a summary of knee, max sustainable throughput and
+ * failure mode per operation, followed by each operation's steps.
+ */
+@Getter
+public final class StressReport {
+
+    private final List<BreakingPoint> breakingPoints;
+
+    public StressReport(List<BreakingPoint> breakingPoints) {
+        this.breakingPoints = List.copyOf(breakingPoints);
+    }
+
+    public void writeCsv(Path file) throws IOException {
+        StringBuilder csv = new StringBuilder("operation,concurrency,requests,throughput_rps,mean_ms,p50_ms,p99_ms,"
+                + "max_ms,2xx,4xx,429,5xx,timeouts,connection_failures,unfinished,breaking\n");
+        for (BreakingPoint point : breakingPoints) {
+            for (StressStep step : point.getSteps()) {
+                csv.append(String.format("%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%d,%d,%d,%d,%d,%d,%d,%s%n",
+                        point.getOperation(), step.concurrency(), step.requests(), step.throughput(),
+                        step.meanMicros() / 1000.0, step.p50Micros() / 1000.0, step.p99Micros() / 1000.0,
+                        step.maxMicros() / 1000.0, step.successes(), step.clientErrors(), step.throttled(),
+                        step.serverErrors(), step.timeouts(), step.connectionFailures(), step.unfinished(),
+                        Integer.valueOf(step.concurrency()).equals(point.getBreakingConcurrency())));
+            }
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, csv);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("%-22s %6s %12s %10s %8s  %s%n", "operation", "knee",
+                "max req/s", "at", "breaks", "failure mode"));
+        for (BreakingPoint point : breakingPoints) {
+            Optional<StressStep> knee = point.getKnee();
+            Optional<StressStep> best = point.getMaxSustainable();
+            text.append(String.format("%-22s %6s %12.1f %10s %8s  %s%n", point.getOperation(),
+                    knee.map(step -> "x" + step.concurrency()).orElse("-"), point.getMaxSustainableThroughput(),
+                    best.map(step -> "x" + step.concurrency()).orElse("-"),
+                    point.getBreakingConcurrency() == null ? "-" : "x" + point.getBreakingConcurrency(),
+                    point.getFailureMode().getDescription()));
+        }
+        for (BreakingPoint point : breakingPoints) {
+            text.append(String.format("%n%s%n%6s %10s %9s %9s %9s %7s %6s %6s %6s %8s %6s%n", point.getOperation(),
+                    "conc", "req/s", "mean ms", "p50 ms", "p99 ms", "errors", "4xx", "429", "5xx", "timeouts",
+                    "conn"));
+            for (StressStep step : point.getSteps()) {
+                text.append(String.format("%6d %10.1f %9.1f %9.1f %9.1f %6.1f%% %6d %6d %6d %8d %6d%n",
+                        step.concurrency(), step.throughput(), step.meanMicros() / 1000.0, step.p50Micros() / 1000.0,
+                        step.p99Micros() / 1000.0, step.errorPercent(), step.clientErrors(), step.throttled(),
+                        step.serverErrors(), step.timeouts() + step.unfinished(), step.connectionFailures()));
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package com.bookstore.benchmark;
+
+
+/**
+ * One closed-loop stress step: {@code concurrency} callers each sending their next request as soon as the
+ * previous one returned, for a fixed time. Responses are counted by status class; {@code throttled} (429)
+ * and {@code serverErrors} (5xx) are errors, other 4xx are only reported. {@code timeouts} are read
+ * timeouts, {@code connectionFailures} requests that never reached the server, and {@code unfinished}
+ * requests still running a step after the step ended.
+ */
+public record StressStep(int concurrency, long requests, double throughput, long meanMicros, long p50Micros,
+                         long p99Micros, long maxMicros, long successes, long clientErrors, long throttled,
+                         long serverErrors, long timeouts, long connectionFailures, long unfinished) {
+
+    public long errors() {
+        return throttled + serverErrors + timeouts + connectionFailures + unfinished;
+    }
+
+    public double errorPercent() {
+        return requests == 0 ? 0 : 100.0 * errors() / requests;
+    }
+
+    // Kleinrock's power: throughput over response time, highest at the knee of a closed-loop curve
+    public double power() {
+        return meanMicros == 0 ? 0 : throughput / meanMicros;
+    }
+}
@@ -0,0 +1,135 @@
+package com.bookstore.benchmark;
+
+import com.bookstore.metrics.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Finds the highest request rate a {@link RequestMix} sustains with p99 latency under a target and an
+ * error rate under a limit. Load is open-loop: requests are sent on a fixed schedule whatever the
+ * responses do, and latency counts from the scheduled send time. The offered rate doubles from the start
+ * rate until a step misses the target, then a binary search between the last sustained and the first
+ * failed rate narrows the limit down. Every step becomes a point of the {@link SaturationCurve}.
+ */
+@Slf4j
+public final class ThroughputBenchmark {
+
+    private static final double SEARCH_RESOLUTION = 0.02;
+
+    private final RequestMix mix;
+    private final long p99TargetMicros;
+    private final double maxErrorPercent;
+    private final Duration stepDuration;
+    private final int concurrency;
+
+    public ThroughputBenchmark(RequestMix mix, Duration p99Target, double maxErrorPercent, Duration stepDuration,
+                               int concurrency) {
+        this.mix = mix;
+        this.p99TargetMicros = p99Target.toNanos() / 1000;
+        this.maxErrorPercent = maxErrorPercent;
+        this.stepDuration = stepDuration;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    public SaturationCurve run(double startRate, double maxRate, int searchSteps) throws InterruptedException {
+        List<StepResult> steps = new ArrayList<>();
+        double sustained = 0;
+        double failed = 0;
+        for (double rate = startRate; ; rate = Math.min(maxRate, rate * 2)) {
+            StepResult step = runStep(rate);
+            steps.add(step);
+            if (!step.sustained()) {
+                failed = rate;
+                break;
+            }
+            sustained = rate;
+            if (rate >= maxRate) {
+                break;
+            }
+        }
+        for (int i = 0; i < searchSteps && failed > 0 && failed - sustained > failed * SEARCH_RESOLUTION; i++) {
+            double rate = (sustained + failed) / 2;
+            StepResult step = runStep(rate);
+            steps.add(step);
+            if (step.sustained()) {
+                sustained = rate;
+            } else {
+                failed = rate;
+            }
+        }
+        return new SaturationCurve(mix.toString(), p99TargetMicros, steps);
+    }
+
+    public StepResult runStep(double rate) throws InterruptedException {
+        long requests = Math.max(1, Math.round(rate * stepDuration.toNanos() / 1e9));
+        LatencyHistogram latencies = new LatencyHistogram();
+        Map<String, LatencyHistogram> perOperation = new LinkedHashMap<>();
+        mix.getEntries().forEach(entry -> perOperation.put(entry.operation(), new LatencyHistogram()));
+        LongAdder errors = new LongAdder();
+        AtomicLong lastCompleted = new AtomicLong();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>());
+        pool.prestartAllCoreThreads();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long scheduled = start + (long) (i * 1e9 / rate);
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            RequestMix.Entry entry = mix.next(random);
+            pool.execute(() -> {
+                boolean failed;
+                try {
+                    failed = entry.call().get().getStatusCode() >= 500;
+                } catch (Exception e) {
+                    // RestAssured rethrows transport failures such as SocketTimeoutException unwrapped
+                    failed = true;
+                }
+                long completed = System.nanoTime();
+                latencies.recordNanos(completed - scheduled);
+                perOperation.get(entry.operation()).recordNanos(completed - scheduled);
+                if (failed) {
+                    errors.increment();
+                }
+                lastCompleted.accumulateAndGet(completed, Math::max);
+            });
+        }
+        pool.shutdown();
+        // Requests still queued after another step's worth of time are counted as failed, not waited for
+        long unfinished = 0;
+        if (!pool.awaitTermination(stepDuration.toNanos(), TimeUnit.NANOSECONDS)) {
+            unfinished = pool.shutdownNow().size();
+            pool.awaitTermination(stepDuration.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        double elapsedSeconds = Math.max(1, lastCompleted.get() - start) / 1e9;
+        Map<String, Long> perOperationP99 = new LinkedHashMap<>();
+        perOperation.forEach((operation, histogram) -> perOperationP99.put(operation, histogram.percentileMicros(0.99)));
+        long p99 = latencies.percentileMicros(0.99);
+        double errorPercent = 100.0 * (errors.sum() + unfinished) / requests;
+        StepResult step = new StepResult(rate, latencies.getCount() / elapsedSeconds, requests, errors.sum(),
+                unfinished, latencies.percentileMicros(0.5), latencies.percentileMicros(0.9), p99,
+                latencies.getMaxMicros(), perOperationP99,
+                unfinished == 0 && p99 <= p99TargetMicros && errorPercent <= maxErrorPercent);
+        log.info("Benchmark step {}/s: achieved {}/s, p99 {} ms, {}% errors -> {}", String.format("%.1f", rate),
+                String.format("%.1f", step.achievedRate()), String.format("%.1f", p99 / 1000.0),
+                String.format("%.2f", errorPercent), step.sustained() ? "sustained" : "saturated");
+        return step;
+    }
+}
@@ -1,10 +1,21 @@
 package com.bookstore.client;
 
+import com.bookstore.client.transport.ConnectionPhaseFilter;
+import com.bookstore.client.transport.InstrumentedHttpClientFactory;
+import com.bookstore.client.transport.RequestBudget;
+import com.bookstore.client.transport.RequestHedger;
+import com.bookstore.client.transport.RetryPolicy;
 import com.bookstore.config.Configuration;
 import com.bookstore.config.ConfigurationManager;
+import com.bookstore.diagnostics.JfrExchangeFilter;
+import com.bookstore.diagnostics.StartupTimer;
+import com.bookstore.metrics.MetricsJmx;
+import com.bookstore.metrics.MetricsRegistry;
 import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.filter.log.RequestLoggingFilter;
 import io.restassured.filter.log.ResponseLoggingFilter;
@@ -12,44 +23,123 @@ import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Slf4j
 public class ApiClient {
 
+    private static final long classInitStart = System.nanoTime();
     private static final Configuration config = ConfigurationManager.getInstance();
+    private static final List<ExchangeListener> exchangeListeners = new CopyOnWriteArrayList<>();
+    private static final RateLimiter rateLimiter = new RateLimiter(config.getRateLimitPerSecond(),
+            RateLimiter.parseQuotas(config.getRateLimitEndpoints()), config.getRateLimitBurst(),
+            config.isMetricsEnabled() ? MetricsRegistry.getInstance() : null);
+    private static final InstrumentedHttpClientFactory httpClientFactory = new InstrumentedHttpClientFactory(
+            config.getHttpPoolMaxTotal(), config.getHttpPoolMaxPerRoute(),
+            new RetryPolicy(config.getRetryCount(), config.getRetryInitialBackoffMillis(),
+                    config.getRetryMaxBackoffMillis(), config.isRetryNonIdempotentEnabled()),
+            new RequestBudget(config.getRetryBudgetPercent()),
+            config.isMetricsEnabled() ? MetricsRegistry.getInstance() : null,
+            createHedger(),
+            rateLimiter.isActive() ? rateLimiter : null);
+    // Load tools measure the API itself: no retries, hedges or rate limiting between them and the server
+    private static final InstrumentedHttpClientFactory loadHttpClientFactory = new InstrumentedHttpClientFactory(
+            config.getHttpPoolMaxTotal(), config.getHttpPoolMaxPerRoute(),
+            new RetryPolicy(0, config.getRetryInitialBackoffMillis(), config.getRetryMaxBackoffMillis(), false),
+            new RequestBudget(0),
+            config.isMetricsEnabled() ? MetricsRegistry.getInstance() : null,
+            null,
+            null);
+    private static final CircuitBreaker circuitBreaker = new CircuitBreaker(config.getCircuitBreakerThreshold());
     private static RequestSpecification baseRequestSpec;
+    private static RestAssuredConfig loadConfig;
 
     static {
+        if (config.isMetricsEnabled()) {
+            addExchangeListener(MetricsRegistry.getInstance());
+            if (config.isMetricsJmxEnabled()) {
+                MetricsJmx.register(MetricsRegistry.getInstance());
+            }
+        }
         initializeBaseSpec();
+        StartupTimer.record("API client", System.nanoTime() - classInitStart);
     }
 
 
+    // Hedging waits for an endpoint's observed p95, which only the metrics registry knows
+    private static RequestHedger createHedger() {
+        if (!config.isHedgingEnabled()) {
+            return null;
+        }
+        if (!config.isMetricsEnabled()) {
+            log.warn("hedge.enabled needs metrics.enabled=true for latency percentiles, hedging stays off");
+            return null;
+        }
+        return new RequestHedger(config.getHedgeBudgetPercent(), MetricsRegistry.getInstance());
+    }
+
     private static void initializeBaseSpec() {
         RequestSpecBuilder builder = new RequestSpecBuilder()
                 .setBaseUri(config.getApiBasePath())
                 .setContentType(ContentType.JSON)
                 .setAccept(ContentType.JSON)
                 .addHeader("User-Agent", "API-Automation-Framework/1.0")
-                .addFilter(new AllureRestAssured());
+                .addFilter(new CircuitBreakerFilter(circuitBreaker))
+                .addFilter(new ExchangeRecordingFilter(exchangeListeners))
+                .addFilter(new AllureRestAssured().setResponseTemplate("bookstore-http-response.ftl"));
 
+        if (config.isPhaseTimingEnabled()) {
+            builder.addFilter(new ConnectionPhaseFilter(config.isMetricsEnabled() ? MetricsRegistry.getInstance() : null));
+        }
+        if (config.isJfrEventsEnabled()) {
+            builder.addFilter(new JfrExchangeFilter());
+        }
         if (config.isRequestLoggingEnabled()) {
             builder.addFilter(new RequestLoggingFilter(LogDetail.ALL));
             builder.addFilter(new ResponseLoggingFilter(LogDetail.ALL));
         }
         baseRequestSpec = builder.build();
 
-        RestAssured.config = RestAssured.config()
-                .httpClient(io.restassured.config.HttpClientConfig.httpClientConfig()
-                        .setParam("http.connection.timeout", config.getConnectionTimeout() * 1000)
-                        .setParam("http.socket.timeout", config.getTimeout() * 1000));
+        RestAssured.config = RestAssured.config().httpClient(httpClientConfig(httpClientFactory));
+        loadConfig = RestAssured.config().httpClient(httpClientConfig(loadHttpClientFactory));
         log.info("ApiClient initialized with base URI: {}", config.getApiBasePath());
     }
 
+    private static HttpClientConfig httpClientConfig(InstrumentedHttpClientFactory factory) {
+        return HttpClientConfig.httpClientConfig()
+                .httpClientFactory(factory)
+                .setParam("http.connection.timeout", config.getConnectionTimeout() * 1000)
+                .setParam("http.socket.timeout", config.getTimeout() * 1000);
+    }
+
 
     public static RequestSpecification getRequestSpec() {
         return RestAssured.given().spec(baseRequestSpec);
     }
 
+    /**
+     * Same as {@link #getRequestSpec()} without Allure attachments or request/response logging, for load
+     * driven by worker threads where thousands of copies of each exchange would only bloat the report.
+     */
+    public static RequestSpecification getUnreportedRequestSpec() {
+        return getRequestSpec()
+                .noFiltersOfType(AllureRestAssured.class)
+                .noFiltersOfType(RequestLoggingFilter.class)
+                .noFiltersOfType(ResponseLoggingFilter.class);
+    }
+
+    /**
+     * Same as {@link #getUnreportedRequestSpec()} without the circuit breaker and on a client that never
+     * retries, hedges or rate limits, for benchmark and stress load. Their latencies and error rates are
+     * then those of single sends, and a failing endpoint shows up as errors instead of skipping the suite.
+     */
+    public static RequestSpecification getLoadRequestSpec() {
+        return getUnreportedRequestSpec()
+                .noFiltersOfType(CircuitBreakerFilter.class)
+                .config(loadConfig);
+    }
+
 
     public static void reset() {
         RestAssured.reset();
@@ -57,6 +147,20 @@ public class ApiClient {
         log.debug("ApiClient reset completed");
     }
 
+    public static void addExchangeListener(ExchangeListener listener) {
+        if (!exchangeListeners.contains(listener)) {
+            exchangeListeners.add(listener);
+        }
+    }
+
+    public static void removeExchangeListener(ExchangeListener listener) {
+        exchangeListeners.remove(listener);
+    }
+
+    public static CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
     public static String getBaseUrl() {
         return config.getApiBasePath();
     }
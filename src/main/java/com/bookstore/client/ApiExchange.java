@@ -0,0 +1,48 @@
+package com.bookstore.client;
+
+import lombok.Builder;
+import lombok.ToString;
+import lombok.Value;
+
+
+@Value
+@Builder(toBuilder = true)
+public class ApiExchange {
+
+    String method;
+
+    // Endpoint template such as EndPoints.BOOKS_BY_ID, never the concrete ID
+    String endpoint;
+
+    String uri;
+
+    // -1 when the exchange failed before a response arrived
+    int statusCode;
+
+    long requestBytes;
+
+    long responseBytes;
+
+    long startNanos;
+
+    long durationNanos;
+
+    String contentType;
+
+    // The buffers RestAssured already holds, not copies; null when there was no body
+    @ToString.Exclude
+    byte[] requestBody;
+
+    @ToString.Exclude
+    byte[] responseBody;
+
+    Throwable failure;
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    public String getStatusClass() {
+        return failure != null || statusCode < 100 ? "io" : (statusCode / 100) + "xx";
+    }
+}
@@ -0,0 +1,85 @@
+package com.bookstore.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.testng.SkipException;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Suite-wide breaker for an unreachable API host. After {@code threshold} consecutive connection
+ * failures it opens for the rest of the run: every further request, and every test that has not
+ * started yet, is skipped with the reason instead of waiting out the connection timeout again.
+ * Any response from the host, whatever its status, resets the failure count. A threshold of 0 disables it.
+ */
+@Slf4j
+public final class CircuitBreaker {
+
+    private final int threshold;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile String openReason;
+
+    public CircuitBreaker(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    public void onConnectionFailure(String target, Throwable failure) {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (threshold > 0 && failures >= threshold && openReason == null) {
+            open(String.format("%d consecutive connection failures, last: %s -> %s",
+                    failures, target, describe(failure)));
+        }
+    }
+
+    public synchronized void open(String reason) {
+        if (openReason == null) {
+            openReason = "API unavailable, skipping remaining tests (" + reason + ")";
+            log.error("Circuit breaker opened: {}", reason);
+        }
+    }
+
+    public boolean isOpen() {
+        return openReason != null;
+    }
+
+    public String getOpenReason() {
+        return openReason;
+    }
+
+    public void checkClosed() {
+        String reason = openReason;
+        if (reason != null) {
+            throw new SkipException(reason);
+        }
+    }
+
+    // Read timeouts mean the host answered the connection, so only failures to reach it count
+    public static boolean isConnectionFailure(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof ConnectException || t instanceof ConnectTimeoutException
+                    || t instanceof UnknownHostException || t instanceof NoRouteToHostException
+                    || t instanceof NoHttpResponseException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String describe(Throwable failure) {
+        Throwable detailed = failure;
+        while (detailed.getMessage() == null && detailed.getCause() != null) {
+            detailed = detailed.getCause();
+        }
+        return failure.getClass().getSimpleName() + ": "
+                + (detailed.getMessage() != null ? detailed.getMessage() : detailed.getClass().getSimpleName());
+    }
+}
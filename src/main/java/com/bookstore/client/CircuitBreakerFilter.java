@@ -0,0 +1,40 @@
+package com.bookstore.client;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+
+// Runs ahead of every other filter so a rejected request leaves no metrics, JFR event or Allure attachment
+public class CircuitBreakerFilter implements OrderedFilter {
+
+    private final CircuitBreaker breaker;
+
+    public CircuitBreakerFilter(CircuitBreaker breaker) {
+        this.breaker = breaker;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        breaker.checkClosed();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            breaker.onSuccess();
+            return response;
+        } catch (Exception e) {
+            if (CircuitBreaker.isConnectionFailure(e)) {
+                breaker.onConnectionFailure(requestSpec.getMethod() + " " + requestSpec.getURI(), e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,25 @@
+package com.bookstore.client;
+
+import java.util.regex.Pattern;
+
+
+public final class EndpointTemplates {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/-?\\d+(?=/|$)");
+
+    private EndpointTemplates() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    // Requests built with a concrete path ("/Books/7") are folded back onto their template ("/Books/{id}")
+    public static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        int query = path.indexOf('?');
+        String withoutQuery = query >= 0 ? path.substring(0, query) : path;
+        return withoutQuery.indexOf('{') >= 0
+                ? withoutQuery
+                : NUMERIC_SEGMENT.matcher(withoutQuery).replaceAll("/{id}");
+    }
+}
@@ -0,0 +1,10 @@
+package com.bookstore.client;
+
+
+public interface ExchangeListener {
+
+    default void onRequestStart(String method, String endpoint) {
+    }
+
+    void onExchange(ApiExchange exchange);
+}
@@ -0,0 +1,91 @@
+package com.bookstore.client;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+
+@Slf4j
+public class ExchangeRecordingFilter implements OrderedFilter {
+
+    private final List<ExchangeListener> listeners;
+
+    public ExchangeRecordingFilter(List<ExchangeListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String method = requestSpec.getMethod();
+        String endpoint = EndpointTemplates.normalize(requestSpec.getUserDefinedPath());
+        for (ExchangeListener listener : listeners) {
+            listener.onRequestStart(method, endpoint);
+        }
+        byte[] requestBody = bodyBytes(requestSpec.getBody());
+        ApiExchange.ApiExchangeBuilder exchange = ApiExchange.builder()
+                .method(method)
+                .endpoint(endpoint)
+                .uri(requestSpec.getURI())
+                .requestBody(requestBody)
+                .requestBytes(requestBody == null ? 0 : requestBody.length);
+        // Rate limit waits happen inside the transport, per send; they are not API latency
+        RateLimiter.takeWaitedNanos();
+        long start = System.nanoTime();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            byte[] responseBody = response.asByteArray();
+            exchange.durationNanos(System.nanoTime() - start - RateLimiter.takeWaitedNanos())
+                    .statusCode(response.getStatusCode())
+                    .contentType(response.getContentType())
+                    .responseBody(responseBody)
+                    .responseBytes(responseBody.length);
+            return response;
+        } catch (Throwable e) {
+            // Groovy internals rethrow checked IOExceptions undeclared, so catch everything
+            exchange.durationNanos(System.nanoTime() - start - RateLimiter.takeWaitedNanos())
+                    .statusCode(-1)
+                    .failure(e);
+            throw e;
+        } finally {
+            publish(exchange.startNanos(start).build());
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 100;
+    }
+
+    private void publish(ApiExchange exchange) {
+        for (ExchangeListener listener : listeners) {
+            try {
+                listener.onExchange(exchange);
+            } catch (RuntimeException e) {
+                log.warn("Exchange listener {} failed: {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    public static long bodySize(Object body) {
+        byte[] bytes = bodyBytes(body);
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static byte[] bodyBytes(Object body) {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+        return String.valueOf(body).getBytes(StandardCharsets.UTF_8);
+    }
+}
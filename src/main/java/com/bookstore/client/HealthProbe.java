@@ -0,0 +1,74 @@
+package com.bookstore.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Pre-suite readiness check. Any HTTP response from the base URL counts as ready - the probe is about
+ * reachability, not about what the endpoint returns. Retries back off exponentially from 250 ms up to 5 s
+ * until {@code timeout} is spent.
+ */
+@Slf4j
+public final class HealthProbe {
+
+    private static final long INITIAL_BACKOFF_MILLIS = 250;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+
+    private HealthProbe() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Returns null once the API answers, otherwise a description of why it never did.
+     */
+    public static String awaitReady(String baseUrl, Duration timeout, Duration attemptTimeout) {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(attemptTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl))
+                .timeout(attemptTimeout)
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        int attempts = 0;
+        String lastError;
+        while (true) {
+            attempts++;
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                log.info("API reachable at {} (HTTP {}) after {} attempt(s), {} ms", baseUrl, status, attempts,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                return null;
+            } catch (IOException e) {
+                lastError = CircuitBreaker.describe(e);
+                log.warn("Readiness probe {} against {} failed: {}", attempts, baseUrl, lastError);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "readiness probe interrupted";
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                return String.format("%s not reachable after %d attempts in %d ms, last error: %s", baseUrl,
+                        attempts, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), lastError);
+            }
+            try {
+                Thread.sleep(Math.min(backoff, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "readiness probe interrupted";
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+}
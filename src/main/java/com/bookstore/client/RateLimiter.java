@@ -0,0 +1,88 @@
+package com.bookstore.client;
+
+import com.bookstore.metrics.MetricsRegistry;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Shapes outgoing load with a global {@link TokenBucket} and optional per-endpoint-template ones. Every send
+ * that reaches the wire - first attempt, retry or hedge - first takes its endpoint permit, then the global one,
+ * sleeping for each reservation; sleeping does not hold a monitor, so waiting virtual threads release their
+ * carrier. The wait is recorded as the {@code rate_limit_wait} timer and subtracted from the exchange time,
+ * so it never shows up in the API latency metrics.
+ */
+public class RateLimiter {
+
+    // Wait accumulated by the sends of the exchange running on this thread, see takeWaitedNanos()
+    private static final ThreadLocal<long[]> WAITED = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final TokenBucket global;
+    private final Map<String, TokenBucket> endpoints;
+    private final MetricsRegistry registry;
+
+    public RateLimiter(double globalPerSecond, Map<String, Double> endpointPerSecond, int burst,
+                       MetricsRegistry registry) {
+        this.global = globalPerSecond > 0 ? new TokenBucket(globalPerSecond, burst) : null;
+        Map<String, TokenBucket> buckets = new HashMap<>();
+        endpointPerSecond.forEach((endpoint, rate) -> buckets.put(endpoint, new TokenBucket(rate, burst)));
+        this.endpoints = Collections.unmodifiableMap(buckets);
+        this.registry = registry;
+    }
+
+    /**
+     * Parses {@code /Books:20,/Authors/{id}:5} into endpoint template to permits per second.
+     */
+    public static Map<String, Double> parseQuotas(String quotas) {
+        Map<String, Double> parsed = new HashMap<>();
+        if (quotas == null || quotas.isBlank()) {
+            return parsed;
+        }
+        for (String entry : quotas.split(",")) {
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid rate limit quota '" + entry.trim() + "', expected <endpoint>:<per second>");
+            }
+            parsed.put(EndpointTemplates.normalize(entry.substring(0, separator).trim()),
+                    Double.parseDouble(entry.substring(separator + 1).trim()));
+        }
+        return parsed;
+    }
+
+    public boolean isActive() {
+        return global != null || !endpoints.isEmpty();
+    }
+
+    public void acquire(String method, String endpoint) throws InterruptedException {
+        long waited = await(endpoints.get(endpoint)) + await(global);
+        WAITED.get()[0] += waited;
+        if (registry != null) {
+            registry.timer("rate_limit_wait", method, endpoint).recordNanos(waited);
+            if (waited > 0) {
+                registry.counter("rate_limited", method, endpoint).increment();
+            }
+        }
+    }
+
+    // Returns and resets the permit wait of the sends made on this thread since the last call
+    public static long takeWaitedNanos() {
+        long[] waited = WAITED.get();
+        long total = waited[0];
+        waited[0] = 0;
+        return total;
+    }
+
+    private static long await(TokenBucket bucket) throws InterruptedException {
+        if (bucket == null) {
+            return 0;
+        }
+        long wait = bucket.reserve();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        return wait;
+    }
+}
@@ -0,0 +1,38 @@
+package com.bookstore.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Lock-free token bucket in its virtual-scheduling form: the only state is the time the next permit is due,
+ * advanced by one emission interval per permit and allowed to lag at most {@code burst - 1} intervals behind
+ * the clock. {@link #reserve()} never blocks - it claims the next slot and returns how long the caller has to
+ * wait for it, so callers sleep outside of any lock and are served in the order they reserved.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong nextPermitNanos = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + permitsPerSecond);
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(0, burst - 1);
+    }
+
+    // Nanoseconds until the reserved permit may be used; 0 when it is available right away
+    public long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long due = nextPermitNanos.get();
+            long start = Math.max(due, now - burstNanos);
+            if (nextPermitNanos.compareAndSet(due, start + intervalNanos)) {
+                return Math.max(0, start - now);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.bookstore.client.transport;
+
+import lombok.Getter;
+
+
+@Getter
+public enum ConnectionPhase {
+    DNS("dns"),
+    CONNECT("connect"),
+    TLS("tls"),
+    REQUEST_WRITE("request_write"),
+    TIME_TO_FIRST_BYTE("ttfb"),
+    DOWNLOAD("download");
+
+    private final String metricName;
+
+    ConnectionPhase(String metricName) {
+        this.metricName = metricName;
+    }
+}
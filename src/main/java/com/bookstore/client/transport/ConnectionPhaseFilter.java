@@ -0,0 +1,60 @@
+package com.bookstore.client.transport;
+
+import com.bookstore.client.EndpointTemplates;
+import com.bookstore.metrics.MetricsRegistry;
+import io.qameta.allure.Allure;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+
+/**
+ * Publishes the phase breakdown of each exchange: one histogram per phase and endpoint in the
+ * {@link MetricsRegistry} (as {@code phase_<name>} timers), plus a row in the current test's
+ * {@link ConnectionPhaseLog}.
+ */
+public class ConnectionPhaseFilter implements OrderedFilter {
+
+    private final MetricsRegistry registry;
+
+    public ConnectionPhaseFilter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String method = requestSpec.getMethod();
+        String endpoint = EndpointTemplates.normalize(requestSpec.getUserDefinedPath());
+        PhaseTimings timings = PhaseRecorder.begin();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            publish(method, endpoint, timings, response.getStatusCode());
+            return response;
+        } finally {
+            PhaseRecorder.end();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 110;
+    }
+
+    private void publish(String method, String endpoint, PhaseTimings timings, int statusCode) {
+        if (registry != null) {
+            for (ConnectionPhase phase : ConnectionPhase.values()) {
+                if (timings.isMeasured(phase)) {
+                    registry.timer("phase_" + phase.getMetricName(), method, endpoint).recordNanos(timings.getNanos(phase));
+                }
+            }
+            registry.counter(timings.isNewConnection() ? "connections_opened" : "connections_reused", method, endpoint)
+                    .increment();
+        }
+        Allure.getLifecycle().getCurrentTestCase()
+                .ifPresent(uuid -> ConnectionPhaseLog.record(uuid, method + " " + endpoint, statusCode, timings));
+    }
+}
@@ -0,0 +1,59 @@
+package com.bookstore.client.transport;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/**
+ * Phase timings of the exchanges made by each running test, keyed by Allure test case uuid
+ * so requests issued from helper threads still land on the right test.
+ */
+public final class ConnectionPhaseLog {
+
+    private static final Map<String, List<Row>> ROWS = new ConcurrentHashMap<>();
+
+    private ConnectionPhaseLog() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    static void record(String testUuid, String exchange, int statusCode, PhaseTimings timings) {
+        ROWS.computeIfAbsent(testUuid, k -> new CopyOnWriteArrayList<>()).add(new Row(exchange, statusCode, timings));
+    }
+
+    /**
+     * Removes the rows collected for the test and renders them as a fixed-width table (times in ms),
+     * or returns null if the test made no requests.
+     */
+    public static String drain(String testUuid) {
+        List<Row> rows = ROWS.remove(testUuid);
+        if (rows == null || rows.isEmpty()) {
+            return null;
+        }
+        StringBuilder table = new StringBuilder(String.format("%-32s %6s %8s %8s %8s %8s %8s %8s %8s%n",
+                "Request", "Status", "DNS", "Connect", "TLS", "Write", "TTFB", "Download", "Total"));
+        double[] totals = new double[ConnectionPhase.values().length];
+        for (Row row : rows) {
+            table.append(String.format("%-32s %6d", row.exchange(), row.statusCode()));
+            double sum = 0;
+            for (ConnectionPhase phase : ConnectionPhase.values()) {
+                double millis = row.timings().getMillis(phase);
+                totals[phase.ordinal()] += millis;
+                sum += millis;
+                table.append(row.timings().isMeasured(phase) ? String.format(" %8.2f", millis) : String.format(" %8s", "-"));
+            }
+            table.append(String.format(" %8.2f%n", sum));
+        }
+        table.append(String.format("%-32s %6s", "Total (" + rows.size() + " requests)", ""));
+        double sum = 0;
+        for (double total : totals) {
+            table.append(String.format(" %8.2f", total));
+            sum += total;
+        }
+        return table.append(String.format(" %8.2f%n", sum)).toString();
+    }
+
+    private record Row(String exchange, int statusCode, PhaseTimings timings) {
+    }
+}
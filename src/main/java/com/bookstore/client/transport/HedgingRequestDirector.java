@@ -0,0 +1,161 @@
+package com.bookstore.client.transport;
+
+import com.bookstore.metrics.MetricsRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.RequestDirector;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+
+/**
+ * Sends a second copy of a GET when the first has not answered within the endpoint's p95 and returns
+ * whichever response arrives first. The primary stays on the calling thread, so its connection-phase
+ * timings are kept; the hedge runs on a {@link RequestHedger} worker with its own director and context.
+ * The loser is aborted, which closes its connection instead of returning it to the pool. An aborted
+ * primary is reset before the hedge's response is returned, so the caller can still retry the request.
+ */
+@Slf4j
+@SuppressWarnings("deprecation")
+class HedgingRequestDirector implements RequestDirector {
+
+    private static final int PENDING = 0;
+    private static final int PRIMARY_WON = 1;
+    private static final int HEDGE_WON = 2;
+
+    private final RequestDirector delegate;
+    private final Supplier<RequestDirector> hedgeDirectors;
+    private final RequestHedger hedger;
+
+    HedgingRequestDirector(RequestDirector delegate, Supplier<RequestDirector> hedgeDirectors, RequestHedger hedger) {
+        this.delegate = delegate;
+        this.hedgeDirectors = hedgeDirectors;
+        this.hedger = hedger;
+    }
+
+    @Override
+    public HttpResponse execute(HttpHost target, HttpRequest request, HttpContext context)
+            throws HttpException, IOException {
+        hedger.getBudget().onRequest();
+        if (!"GET".equals(request.getRequestLine().getMethod()) || !(request instanceof HttpRequestBase)) {
+            return delegate.execute(target, request, context);
+        }
+        String endpoint = RequestEndpoints.templateOf(request);
+        long delay = hedger.hedgeDelayNanos(endpoint);
+        if (delay < 0) {
+            return delegate.execute(target, request, context);
+        }
+        Race race = new Race((HttpRequestBase) request, target, context, endpoint);
+        ScheduledFuture<?> scheduled = hedger.schedule(race::hedge, delay);
+        try {
+            HttpResponse response = delegate.execute(target, request, context);
+            if (race.settle(PRIMARY_WON)) {
+                scheduled.cancel(false);
+                return response;
+            }
+            EntityUtils.consume(response.getEntity());
+            return race.takeHedgeResponse();
+        } catch (IOException | HttpException | RuntimeException e) {
+            if (race.state.get() == HEDGE_WON) {
+                return race.takeHedgeResponse();
+            }
+            race.settle(PRIMARY_WON);
+            scheduled.cancel(false);
+            throw e;
+        }
+    }
+
+    private final class Race {
+
+        private final HttpRequestBase primary;
+        private final HttpHost target;
+        private final HttpContext context;
+        private final String endpoint;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private volatile HttpRequestBase hedge;
+        private volatile HttpResponse hedgeResponse;
+
+        private Race(HttpRequestBase primary, HttpHost target, HttpContext context, String endpoint) {
+            this.primary = primary;
+            this.target = target;
+            this.context = context;
+            this.endpoint = endpoint;
+        }
+
+        // Only the primary thread calls this; the hedge settles itself in hedge()
+        private boolean settle(int outcome) {
+            if (!state.compareAndSet(PENDING, outcome)) {
+                return false;
+            }
+            HttpRequestBase inFlight = hedge;
+            if (inFlight != null) {
+                inFlight.abort();
+            }
+            return true;
+        }
+
+        // Waits for the hedge to finish aborting the primary, then clears the abort: the caller owns the
+        // request object, and a retry of it must not fail straight away as already aborted
+        private synchronized HttpResponse takeHedgeResponse() {
+            primary.reset();
+            return hedgeResponse;
+        }
+
+        private void hedge() {
+            if (state.get() != PENDING) {
+                return;
+            }
+            if (!hedger.getBudget().tryAcquire()) {
+                count("hedge_budget_denied");
+                return;
+            }
+            // Not clone(): a clone shares the original's abort state, so aborting one would abort the other
+            HttpGet copy = new HttpGet(primary.getURI());
+            copy.setHeaders(primary.getAllHeaders());
+            copy.setParams(primary.getParams());
+            copy.setConfig(primary.getConfig());
+            copy.setProtocolVersion(primary.getProtocolVersion());
+            hedge = copy;
+            // The primary may have settled between the first check and publishing the copy
+            if (state.get() != PENDING) {
+                return;
+            }
+            count("hedges_sent");
+            try {
+                HttpResponse response = hedgeDirectors.get().execute(target, copy, new BasicHttpContext(context));
+                hedgeResponse = response;
+                boolean won;
+                synchronized (this) {
+                    won = state.compareAndSet(PENDING, HEDGE_WON);
+                    if (won) {
+                        primary.abort();
+                    }
+                }
+                if (won) {
+                    count("hedges_won");
+                    log.debug("Hedged GET {} answered first, aborted the original request", copy.getURI());
+                } else {
+                    EntityUtils.consume(response.getEntity());
+                }
+            } catch (IOException | HttpException | RuntimeException e) {
+                log.debug("Hedged GET {} did not complete: {}", copy.getURI(), e.getMessage());
+            }
+        }
+
+        private void count(String name) {
+            MetricsRegistry registry = hedger.getRegistry();
+            registry.counter(name, "GET", endpoint).increment();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.bookstore.client.transport;
+
+import com.bookstore.client.RateLimiter;
+import com.bookstore.metrics.MetricsRegistry;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.ConnectionReuseStrategy;
+import org.apache.http.client.AuthenticationStrategy;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.RedirectStrategy;
+import org.apache.http.client.RequestDirector;
+import org.apache.http.client.UserTokenHandler;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpProcessor;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.util.function.Supplier;
+
+
+/**
+ * Builds RestAssured's per-request HttpClient on top of one shared connection pool whose DNS resolver,
+ * socket factories and request executor report into {@link PhaseRecorder}. Sharing the pool also means
+ * keep-alive connections are actually reused between requests, which RestAssured's default factory
+ * (a fresh client and connection manager per request) never does. Retries follow {@link RetryPolicy}
+ * instead of HttpClient's built-in immediate resend, so they back off and draw on one shared
+ * {@link RequestBudget}; slow GETs can additionally be hedged by a {@link RequestHedger}. Every send,
+ * including retries and hedges, takes a {@link RateLimiter} permit when one is configured.
+ */
+@SuppressWarnings("deprecation")
+public class InstrumentedHttpClientFactory implements HttpClientConfig.HttpClientFactory {
+
+    private final PoolingClientConnectionManager connectionManager;
+    private final RetryPolicy retryPolicy;
+    private final RequestBudget retryBudget;
+    private final MetricsRegistry registry;
+    private final RequestHedger hedger;
+    private final RateLimiter rateLimiter;
+
+    // A null hedger turns hedging off, a null rate limiter turns rate limiting off
+    public InstrumentedHttpClientFactory(int maxTotal, int maxPerRoute, RetryPolicy retryPolicy, RequestBudget retryBudget,
+                                         MetricsRegistry registry, RequestHedger hedger, RateLimiter rateLimiter) {
+        this.retryPolicy = retryPolicy;
+        this.retryBudget = retryBudget;
+        this.registry = registry;
+        this.hedger = hedger;
+        this.rateLimiter = rateLimiter;
+        SchemeRegistry schemes = new SchemeRegistry();
+        schemes.register(new Scheme("http", 80, new TimedSocketFactory()));
+        schemes.register(new Scheme("https", 443, new TimedTlsSocketFactory(SSLSocketFactory.getSocketFactory())));
+        connectionManager = new PoolingClientConnectionManager(schemes, new TimedDnsResolver());
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+    }
+
+    @Override
+    public HttpClient createHttpClient() {
+        DefaultHttpClient client = new DefaultHttpClient(connectionManager) {
+            @Override
+            protected HttpRequestExecutor createRequestExecutor() {
+                return new TimedRequestExecutor();
+            }
+
+            @Override
+            protected RequestDirector createClientRequestDirector(
+                    HttpRequestExecutor requestExec, ClientConnectionManager conman, ConnectionReuseStrategy reustrat,
+                    ConnectionKeepAliveStrategy kastrat, HttpRoutePlanner rouplan, HttpProcessor httpProcessor,
+                    HttpRequestRetryHandler retryHandler, RedirectStrategy redirectStrategy,
+                    AuthenticationStrategy targetAuthStrategy, AuthenticationStrategy proxyAuthStrategy,
+                    UserTokenHandler userTokenHandler, HttpParams params) {
+                Supplier<RequestDirector> directors = () -> {
+                    RequestDirector sender = super.createClientRequestDirector(requestExec, conman, reustrat,
+                            kastrat, rouplan, httpProcessor, retryHandler, redirectStrategy, targetAuthStrategy,
+                            proxyAuthStrategy, userTokenHandler, params);
+                    return rateLimiter == null ? sender : new RateLimitingRequestDirector(sender, rateLimiter);
+                };
+                RequestDirector director = hedger == null
+                        ? directors.get()
+                        : new HedgingRequestDirector(directors.get(), directors, hedger);
+                return new RetryingRequestDirector(director, retryPolicy, retryBudget, registry);
+            }
+        };
+        client.setHttpRequestRetryHandler(new DefaultHttpRequestRetryHandler(0, false));
+        return client;
+    }
+
+    public void shutdown() {
+        if (hedger != null) {
+            hedger.shutdown();
+        }
+        connectionManager.shutdown();
+    }
+}
@@ -0,0 +1,30 @@
+package com.bookstore.client.transport;
+
+
+// HttpClient 4 executes a request entirely on the calling thread, so a thread-local is enough to
+// route the socket-, DNS- and executor-level timings back to the exchange that caused them
+public final class PhaseRecorder {
+
+    private static final ThreadLocal<PhaseTimings> CURRENT = new ThreadLocal<>();
+
+    private PhaseRecorder() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    static PhaseTimings begin() {
+        PhaseTimings timings = new PhaseTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static void record(ConnectionPhase phase, long startNanos) {
+        PhaseTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(phase, System.nanoTime() - startNanos);
+        }
+    }
+}
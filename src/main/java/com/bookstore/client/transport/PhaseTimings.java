@@ -0,0 +1,42 @@
+package com.bookstore.client.transport;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Phase durations of a single exchange. DNS, connect and TLS stay at {@link #NOT_MEASURED}
+ * when the request went out on a pooled connection.
+ */
+public final class PhaseTimings {
+
+    public static final long NOT_MEASURED = -1;
+
+    private final long[] nanos = new long[ConnectionPhase.values().length];
+
+    PhaseTimings() {
+        Arrays.fill(nanos, NOT_MEASURED);
+    }
+
+    void add(ConnectionPhase phase, long durationNanos) {
+        int i = phase.ordinal();
+        nanos[i] = (nanos[i] == NOT_MEASURED ? 0 : nanos[i]) + durationNanos;
+    }
+
+    public long getNanos(ConnectionPhase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public boolean isMeasured(ConnectionPhase phase) {
+        return nanos[phase.ordinal()] != NOT_MEASURED;
+    }
+
+    public boolean isNewConnection() {
+        return isMeasured(ConnectionPhase.CONNECT);
+    }
+
+    public double getMillis(ConnectionPhase phase) {
+        long value = getNanos(phase);
+        return value == NOT_MEASURED ? 0 : value / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
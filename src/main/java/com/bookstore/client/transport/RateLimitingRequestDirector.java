@@ -0,0 +1,42 @@
+package com.bookstore.client.transport;
+
+import com.bookstore.client.RateLimiter;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.RequestDirector;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+
+/**
+ * Takes a {@link RateLimiter} permit before each send. It wraps the innermost director, below
+ * {@link RetryingRequestDirector} and {@link HedgingRequestDirector}, so retries and hedged copies are
+ * throttled like first attempts instead of adding load on top of the configured rate.
+ */
+@SuppressWarnings("deprecation")
+class RateLimitingRequestDirector implements RequestDirector {
+
+    private final RequestDirector delegate;
+    private final RateLimiter limiter;
+
+    RateLimitingRequestDirector(RequestDirector delegate, RateLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public HttpResponse execute(HttpHost target, HttpRequest request, HttpContext context)
+            throws HttpException, IOException {
+        try {
+            limiter.acquire(request.getRequestLine().getMethod(), RequestEndpoints.templateOf(request));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a rate limit permit");
+        }
+        return delegate.execute(target, request, context);
+    }
+}
@@ -0,0 +1,47 @@
+package com.bookstore.client.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Caps the extra requests of one kind (extraRequests, hedges) at a share of all requests sent, plus a small
+ * fixed allowance for the start of a run. When the API is struggling across the board, the extra
+ * requests stop once the budget is spent instead of multiplying the load on it.
+ */
+public final class RequestBudget {
+
+    private static final int MIN_EXTRA_REQUESTS = 10;
+
+    private final double ratio;
+    private final LongAdder requests = new LongAdder();
+    private final AtomicLong extraRequests = new AtomicLong();
+
+    public RequestBudget(int percentOfRequests) {
+        this.ratio = Math.max(0, percentOfRequests) / 100.0;
+    }
+
+    public void onRequest() {
+        requests.increment();
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            long used = extraRequests.get();
+            if (used >= MIN_EXTRA_REQUESTS + requests.sum() * ratio) {
+                return false;
+            }
+            if (extraRequests.compareAndSet(used, used + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getExtraRequests() {
+        return extraRequests.get();
+    }
+}
@@ -0,0 +1,31 @@
+package com.bookstore.client.transport;
+
+import com.bookstore.client.EndpointTemplates;
+import com.bookstore.config.ConfigurationManager;
+import org.apache.http.HttpRequest;
+
+import java.net.URI;
+
+
+// Below RestAssured only the absolute request URI is known; strip the API base path so metrics
+// recorded here share their keys with the RestAssured-level ones ("/Books/{id}")
+final class RequestEndpoints {
+
+    private RequestEndpoints() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    static String templateOf(HttpRequest request) {
+        String path;
+        try {
+            path = URI.create(request.getRequestLine().getUri()).getPath();
+        } catch (IllegalArgumentException e) {
+            path = request.getRequestLine().getUri();
+        }
+        String basePath = URI.create(ConfigurationManager.getInstance().getApiBasePath()).getPath();
+        if (path != null && !basePath.isEmpty() && path.startsWith(basePath)) {
+            path = path.substring(basePath.length());
+        }
+        return EndpointTemplates.normalize(path);
+    }
+}
@@ -0,0 +1,74 @@
+package com.bookstore.client.transport;
+
+import com.bookstore.metrics.EndpointMetrics;
+import com.bookstore.metrics.MetricsRegistry;
+import com.bookstore.utils.DaemonThreads;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Shared state for hedged GETs: when to hedge (the endpoint's observed p95 latency, once it has at least
+ * {@value #MIN_SAMPLES} samples), the {@link RequestBudget} that caps the extra load, and the threads
+ * hedged requests run on.
+ */
+public final class RequestHedger {
+
+    private static final double QUANTILE = 0.95;
+    private static final int MIN_SAMPLES = 20;
+    private static final int REFRESH_EVERY = 16;
+
+    private final RequestBudget budget;
+    private final MetricsRegistry registry;
+    private final Map<String, long[]> thresholds = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            DaemonThreads.named("hedge-timer-"));
+    private final ExecutorService workers = Executors.newCachedThreadPool(DaemonThreads.named("hedge-"));
+
+    public RequestHedger(int budgetPercent, MetricsRegistry registry) {
+        this.budget = new RequestBudget(budgetPercent);
+        this.registry = registry;
+    }
+
+    /**
+     * Nanoseconds to wait before hedging a GET to {@code endpoint}, or -1 while its latency is unknown.
+     * The percentile is recomputed every {@value #REFRESH_EVERY} responses rather than per request.
+     */
+    long hedgeDelayNanos(String endpoint) {
+        EndpointMetrics metrics = registry.endpoint("GET", endpoint);
+        long count = metrics.getRequestCount();
+        if (count < MIN_SAMPLES) {
+            return -1;
+        }
+        long[] cached = thresholds.get(endpoint);
+        if (cached == null || count - cached[0] >= REFRESH_EVERY || count < cached[0]) {
+            cached = new long[]{count, TimeUnit.MICROSECONDS.toNanos(
+                    Math.max(1_000, metrics.getLatency().percentileMicros(QUANTILE)))};
+            thresholds.put(endpoint, cached);
+        }
+        return cached[1];
+    }
+
+    RequestBudget getBudget() {
+        return budget;
+    }
+
+    MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    ScheduledFuture<?> schedule(Runnable hedge, long delayNanos) {
+        return timer.schedule(() -> workers.execute(hedge), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void shutdown() {
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,67 @@
+package com.bookstore.client.transport;
+
+import com.bookstore.client.CircuitBreaker;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/**
+ * Which exchanges may be retried and how long to back off. Only idempotent methods are retried unless
+ * {@code retryNonIdempotent} is set, and only after a gateway error (502/503/504) or a failure to connect
+ * or a reset connection - a read timeout means the server may still be working on the request.
+ */
+public final class RetryPolicy {
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE");
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(502, 503, 504);
+
+    private final int maxRetries;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final boolean retryNonIdempotent;
+
+    public RetryPolicy(int maxRetries, long initialBackoffMillis, long maxBackoffMillis, boolean retryNonIdempotent) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.initialBackoffMillis = Math.max(1, initialBackoffMillis);
+        this.maxBackoffMillis = Math.max(this.initialBackoffMillis, maxBackoffMillis);
+        this.retryNonIdempotent = retryNonIdempotent;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    // A body that cannot be replayed would go out empty on the second attempt
+    public boolean allowsRetry(HttpRequest request) {
+        if (maxRetries == 0) {
+            return false;
+        }
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if (entity != null && !entity.isRepeatable()) {
+                return false;
+            }
+        }
+        return retryNonIdempotent || IDEMPOTENT_METHODS.contains(request.getRequestLine().getMethod());
+    }
+
+    public boolean isRetryable(int statusCode) {
+        return RETRYABLE_STATUSES.contains(statusCode);
+    }
+
+    public boolean isRetryable(IOException failure) {
+        return failure instanceof SocketException || CircuitBreaker.isConnectionFailure(failure);
+    }
+
+    // Equal jitter: half of the exponential step is fixed, the other half random
+    public long backoffMillis(int retry) {
+        long step = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(retry, 30));
+        return step / 2 + ThreadLocalRandom.current().nextLong(step / 2 + 1);
+    }
+}
@@ -0,0 +1,103 @@
+package com.bookstore.client.transport;
+
+import com.bookstore.metrics.MetricsRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.RequestDirector;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Re-runs a whole exchange (connection lease, request, response) when {@link RetryPolicy} allows it and
+ * the {@link RequestBudget} has room. Retrying below RestAssured means its filters, Allure attachments and
+ * API metrics see a single exchange with the final outcome; the attempts themselves are counted here as
+ * {@code retry_attempts}, {@code retry_budget_denied} and {@code retries_exhausted}, with the backoff
+ * time in the {@code retry_backoff} timer.
+ */
+@Slf4j
+@SuppressWarnings("deprecation")
+class RetryingRequestDirector implements RequestDirector {
+
+    private final RequestDirector delegate;
+    private final RetryPolicy policy;
+    private final RequestBudget budget;
+    private final MetricsRegistry registry;
+
+    RetryingRequestDirector(RequestDirector delegate, RetryPolicy policy, RequestBudget budget, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.budget = budget;
+        this.registry = registry;
+    }
+
+    @Override
+    public HttpResponse execute(HttpHost target, HttpRequest request, HttpContext context)
+            throws HttpException, IOException {
+        budget.onRequest();
+        if (!policy.allowsRetry(request)) {
+            return delegate.execute(target, request, context);
+        }
+        for (int retry = 0; ; retry++) {
+            String outcome;
+            try {
+                HttpResponse response = delegate.execute(target, request, context);
+                int status = response.getStatusLine().getStatusCode();
+                if (!policy.isRetryable(status) || !mayRetry(request, retry, "HTTP " + status)) {
+                    return response;
+                }
+                EntityUtils.consume(response.getEntity());
+                outcome = "HTTP " + status;
+            } catch (IOException e) {
+                if (!policy.isRetryable(e) || !mayRetry(request, retry, e.getClass().getSimpleName())) {
+                    throw e;
+                }
+                outcome = e.getClass().getSimpleName() + ": " + e.getMessage();
+            }
+            long backoff = policy.backoffMillis(retry);
+            log.warn("Retrying {} {} after {} (retry {}/{}, backing off {} ms)", request.getRequestLine().getMethod(),
+                    request.getRequestLine().getUri(), outcome, retry + 1, policy.getMaxRetries(), backoff);
+            count("retry_attempts", request);
+            if (registry != null) {
+                registry.timer("retry_backoff", request.getRequestLine().getMethod(), RequestEndpoints.templateOf(request))
+                        .recordNanos(TimeUnit.MILLISECONDS.toNanos(backoff));
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while backing off before a retry");
+            }
+        }
+    }
+
+    private boolean mayRetry(HttpRequest request, int retry, String outcome) {
+        if (retry >= policy.getMaxRetries()) {
+            count("retries_exhausted", request);
+            log.warn("Giving up on {} {} after {} retries: {}", request.getRequestLine().getMethod(),
+                    request.getRequestLine().getUri(), retry, outcome);
+            return false;
+        }
+        if (!budget.tryAcquire()) {
+            count("retry_budget_denied", request);
+            log.warn("Retry budget spent ({} retries for {} requests), not retrying {} {}: {}", budget.getExtraRequests(),
+                    budget.getRequests(), request.getRequestLine().getMethod(), request.getRequestLine().getUri(),
+                    outcome);
+            return false;
+        }
+        return true;
+    }
+
+    private void count(String name, HttpRequest request) {
+        if (registry != null) {
+            registry.counter(name, request.getRequestLine().getMethod(), RequestEndpoints.templateOf(request)).increment();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bookstore.client.transport;
+
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+
+class TimedDnsResolver implements DnsResolver {
+
+    private final DnsResolver delegate = SystemDefaultDnsResolver.INSTANCE;
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        long start = System.nanoTime();
+        try {
+            return delegate.resolve(host);
+        } finally {
+            PhaseRecorder.record(ConnectionPhase.DNS, start);
+        }
+    }
+}
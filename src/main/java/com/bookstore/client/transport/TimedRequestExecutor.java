@@ -0,0 +1,54 @@
+package com.bookstore.client.transport;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+
+
+/**
+ * Times request write and time-to-first-byte, then reads the whole body before returning so the download
+ * phase is measured exactly. A buffered entity is not streaming, which makes HttpClient hand the connection
+ * straight back to the pool; with a shared pool that matters, because RestAssured does not always read
+ * bodies it has no assertions on and would otherwise leave those connections leased.
+ */
+class TimedRequestExecutor extends HttpRequestExecutor {
+
+    @Override
+    protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context)
+            throws IOException, HttpException {
+        long start = System.nanoTime();
+        try {
+            return super.doSendRequest(request, conn, context);
+        } finally {
+            PhaseRecorder.record(ConnectionPhase.REQUEST_WRITE, start);
+        }
+    }
+
+    @Override
+    protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context)
+            throws HttpException, IOException {
+        long start = System.nanoTime();
+        HttpResponse response = super.doReceiveResponse(request, conn, context);
+        PhaseRecorder.record(ConnectionPhase.TIME_TO_FIRST_BYTE, start);
+
+        HttpEntity entity = response.getEntity();
+        if (entity != null && entity.isStreaming()) {
+            long downloadStart = System.nanoTime();
+            ByteArrayEntity buffered = new ByteArrayEntity(EntityUtils.toByteArray(entity));
+            buffered.setContentType(entity.getContentType());
+            buffered.setContentEncoding(entity.getContentEncoding());
+            buffered.setChunked(entity.isChunked());
+            response.setEntity(buffered);
+            PhaseRecorder.record(ConnectionPhase.DOWNLOAD, downloadStart);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,38 @@
+package com.bookstore.client.transport;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.params.HttpParams;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+
+@SuppressWarnings("deprecation")
+class TimedSocketFactory implements SchemeSocketFactory {
+
+    private final PlainSocketFactory plain = PlainSocketFactory.getSocketFactory();
+
+    @Override
+    public Socket createSocket(HttpParams params) {
+        return plain.createSocket(params);
+    }
+
+    @Override
+    public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                HttpParams params) throws IOException, ConnectTimeoutException {
+        long start = System.nanoTime();
+        try {
+            return plain.connectSocket(socket, remoteAddress, localAddress, params);
+        } finally {
+            PhaseRecorder.record(ConnectionPhase.CONNECT, start);
+        }
+    }
+
+    @Override
+    public boolean isSecure(Socket socket) {
+        return false;
+    }
+}
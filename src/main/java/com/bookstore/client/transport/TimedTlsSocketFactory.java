@@ -0,0 +1,47 @@
+package com.bookstore.client.transport;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.params.HttpParams;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+
+// Splits what SSLSocketFactory.connectSocket does in one go into a timed TCP connect and a timed TLS handshake
+@SuppressWarnings("deprecation")
+class TimedTlsSocketFactory extends TimedSocketFactory implements SchemeLayeredSocketFactory {
+
+    private final SchemeLayeredSocketFactory tls;
+
+    TimedTlsSocketFactory(SchemeLayeredSocketFactory tls) {
+        this.tls = tls;
+    }
+
+    @Override
+    public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                HttpParams params) throws IOException, ConnectTimeoutException {
+        Socket connected = super.connectSocket(socket, remoteAddress, localAddress, params);
+        String host = remoteAddress instanceof HttpInetSocketAddress address
+                ? address.getHttpHost().getHostName()
+                : remoteAddress.getHostName();
+        return createLayeredSocket(connected, host, remoteAddress.getPort(), params);
+    }
+
+    @Override
+    public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return tls.createLayeredSocket(socket, target, port, params);
+        } finally {
+            PhaseRecorder.record(ConnectionPhase.TLS, start);
+        }
+    }
+
+    @Override
+    public boolean isSecure(Socket socket) {
+        return tls.isSecure(socket);
+    }
+}
@@ -0,0 +1,33 @@
+package com.bookstore.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+
+/**
+ * The operations of a concurrent run, in no particular order. Times are {@link System#nanoTime()} readings
+ * taken just before a call is sent and just after its response arrives, so every op's real-time interval
+ * contains the moment it took effect on the server.
+ */
+public final class History {
+
+    private final ConcurrentLinkedQueue<Op> ops = new ConcurrentLinkedQueue<>();
+    private final long originNanos = System.nanoTime();
+
+    public void record(Op op) {
+        ops.add(op);
+    }
+
+    public List<Op> ops() {
+        return new ArrayList<>(ops);
+    }
+
+    public int size() {
+        return ops.size();
+    }
+
+    public long getOriginNanos() {
+        return originNanos;
+    }
+}
@@ -0,0 +1,234 @@
+package com.bookstore.concurrency;
+
+import com.bookstore.concurrency.LinearizabilityReport.Kind;
+import com.bookstore.concurrency.LinearizabilityReport.Violation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+
+/**
+ * Decides whether a {@link History} of register operations is linearizable, in O(n log n).
+ * <p>
+ * General linearizability checking is NP-complete, but two properties of the workload make it cheap.
+ * Linearizability is local, so every ID is checked on its own, in parallel. And every write stores a
+ * unique value, so each read names the write it observed. Following Gibbons and Korach, the write and the
+ * reads of one value form a cluster. A cluster's zone runs from the earliest completion to the latest
+ * invocation among its operations. The zone is "forward" when the earliest completion comes first and
+ * "backward" otherwise. The history is linearizable exactly when no read precedes its write, no two
+ * forward zones overlap, and no backward zone lies inside a forward zone.
+ * <p>
+ * A delete writes the "absent" value, which many deletes share, so a not-found read cannot name its delete.
+ * Zones are therefore built from the value reads only, with every delete as a write nobody read. Dropping
+ * reads never turns a linearizable history into a non-linearizable one, so every violation found is real.
+ * Each not-found read is then checked on its own: it is stale when a write began after every delete it
+ * could have seen had finished, and completed before the read was sent.
+ */
+public final class LinearizabilityChecker {
+
+    private LinearizabilityChecker() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static LinearizabilityReport check(String target, History history) {
+        long start = System.nanoTime();
+        List<Op> ops = history.ops();
+        Map<Integer, List<Op>> byKey = ops.stream().collect(Collectors.groupingBy(Op::key));
+        List<Violation> violations = byKey.entrySet().parallelStream()
+                .sorted(Map.Entry.comparingByKey())
+                .flatMap(entry -> checkKey(entry.getKey(), entry.getValue(), history.getOriginNanos()).stream())
+                .toList();
+        return new LinearizabilityReport(target, ops.size(), byKey.size(), violations,
+                (System.nanoTime() - start) / 1000);
+    }
+
+    private static List<Violation> checkKey(int key, List<Op> ops, long origin) {
+        List<Violation> violations = new ArrayList<>();
+        Map<String, Cluster> writes = new HashMap<>();
+        List<Cluster> deletes = new ArrayList<>();
+        List<Op> reads = new ArrayList<>();
+        for (Op op : ops) {
+            switch (op.type()) {
+                case WRITE -> writes.put(op.value(), new Cluster(op));
+                case DELETE -> deletes.add(new Cluster(op));
+                case READ -> reads.add(op);
+            }
+        }
+
+        List<Op> notFound = new ArrayList<>();
+        for (Op read : reads) {
+            if (read.value() == null) {
+                notFound.add(read);
+                continue;
+            }
+            Cluster cluster = writes.get(read.value());
+            if (cluster == null) {
+                violations.add(new Violation(Kind.UNWRITTEN_VALUE, key, read.describe(origin)));
+            } else if (read.completedNanos() < cluster.writer.invokedNanos()) {
+                violations.add(new Violation(Kind.FUTURE_READ, key, read.describe(origin)
+                        + " returned before " + cluster.writer.describe(origin)));
+            } else {
+                cluster.add(read);
+            }
+        }
+        checkNotFound(key, notFound, writes.values(), deletes, origin, violations);
+
+        List<Cluster> forward = new ArrayList<>();
+        List<Cluster> backward = new ArrayList<>();
+        for (Cluster cluster : concat(writes.values(), deletes)) {
+            // A failed write nobody read may never have happened and constrains nothing
+            if (cluster.writer.isIndeterminate() && cluster.lastRead == null) {
+                continue;
+            }
+            (cluster.isForward() ? forward : backward).add(cluster);
+        }
+        forward.sort(Comparator.comparingLong(Cluster::low));
+
+        long[] forwardLow = new long[forward.size()];
+        Cluster[] widest = new Cluster[forward.size()];
+        for (int i = 0; i < forward.size(); i++) {
+            Cluster zone = forward.get(i);
+            forwardLow[i] = zone.low();
+            if (i > 0 && zone.low() < widest[i - 1].high()) {
+                violations.add(new Violation(Kind.STALE_READ, key, String.format(
+                        "'%s' and '%s' were each read after the other was written: %s, %s",
+                        widest[i - 1].writer.value(), zone.writer.value(),
+                        widest[i - 1].lastRead.describe(origin), zone.lastRead.describe(origin))));
+            }
+            widest[i] = i == 0 || zone.high() > widest[i - 1].high() ? zone : widest[i - 1];
+        }
+
+        for (Cluster zone : backward) {
+            int before = lowerBound(forwardLow, zone.low()) - 1;
+            if (before >= 0 && widest[before].high() > zone.high()) {
+                Cluster stale = widest[before];
+                boolean lost = stale.lastRead.process() == MutationWorkload.HARNESS
+                        && zone.writer.type() == Op.Type.WRITE;
+                violations.add(new Violation(lost ? Kind.LOST_UPDATE : Kind.STALE_READ, key, String.format(
+                        "%s after %s had completed (value stored by %s)", stale.lastRead.describe(origin),
+                        zone.writer.describe(origin), stale.writer.describe(origin))));
+            }
+        }
+        return violations;
+    }
+
+    // A not-found read is stale if some write started after every delete it could have seen had finished,
+    // and completed before the read was sent
+    private static void checkNotFound(int key, List<Op> reads, Collection<Cluster> writes, List<Cluster> deletes,
+                                      long origin, List<Violation> violations) {
+        if (reads.isEmpty()) {
+            return;
+        }
+        List<Op> sortedDeletes = deletes.stream().map(cluster -> cluster.writer)
+                .sorted(Comparator.comparingLong(Op::invokedNanos)).toList();
+        long[] deleteInvoked = new long[sortedDeletes.size()];
+        long[] latestDeleteCompleted = new long[sortedDeletes.size()];
+        for (int i = 0; i < sortedDeletes.size(); i++) {
+            deleteInvoked[i] = sortedDeletes.get(i).invokedNanos();
+            latestDeleteCompleted[i] = Math.max(sortedDeletes.get(i).completedNanos(),
+                    i == 0 ? Long.MIN_VALUE : latestDeleteCompleted[i - 1]);
+        }
+
+        List<Op> sortedWrites = writes.stream().map(cluster -> cluster.writer)
+                .filter(write -> !write.isIndeterminate())
+                .sorted(Comparator.comparingLong(Op::invokedNanos)).toList();
+        long[] writeInvoked = new long[sortedWrites.size()];
+        Op[] firstCompletedFrom = new Op[sortedWrites.size() + 1];
+        for (int i = sortedWrites.size() - 1; i >= 0; i--) {
+            Op write = sortedWrites.get(i);
+            writeInvoked[i] = write.invokedNanos();
+            Op next = firstCompletedFrom[i + 1];
+            firstCompletedFrom[i] = next == null || write.completedNanos() < next.completedNanos() ? write : next;
+        }
+
+        for (Op read : reads) {
+            int sentBefore = upperBound(deleteInvoked, read.completedNanos()) - 1;
+            if (sentBefore < 0) {
+                violations.add(new Violation(Kind.UNWRITTEN_VALUE, key, read.describe(origin)
+                        + " before any delete was sent"));
+                continue;
+            }
+            long deletesDone = latestDeleteCompleted[sentBefore];
+            Op write = deletesDone == Op.NEVER ? null : firstCompletedFrom[upperBound(writeInvoked, deletesDone)];
+            if (write != null && write.completedNanos() < read.invokedNanos()) {
+                Kind kind = read.process() == MutationWorkload.HARNESS ? Kind.LOST_UPDATE : Kind.STALE_READ;
+                violations.add(new Violation(kind, key, String.format(
+                        "%s after %s had completed, later than every delete sent before the read returned",
+                        read.describe(origin), write.describe(origin))));
+            }
+        }
+    }
+
+    private static List<Cluster> concat(Iterable<Cluster> first, List<Cluster> second) {
+        List<Cluster> all = new ArrayList<>(second);
+        first.forEach(all::add);
+        return all;
+    }
+
+    // First index whose value is greater than key
+    private static int upperBound(long[] sorted, long key) {
+        int index = Arrays.binarySearch(sorted, key);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index < sorted.length && sorted[index] == key) {
+            index++;
+        }
+        return index;
+    }
+
+    // First index whose value is not less than key
+    private static int lowerBound(long[] sorted, long key) {
+        int index = Arrays.binarySearch(sorted, key);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && sorted[index - 1] == key) {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * One write or delete and the reads that observed it, reduced to the bounds of its zone.
+     */
+    private static final class Cluster {
+
+        private final Op writer;
+        private long firstCompleted;
+        private long lastInvoked;
+        private Op lastRead;
+
+        private Cluster(Op writer) {
+            this.writer = writer;
+            this.firstCompleted = writer.completedNanos();
+            this.lastInvoked = writer.invokedNanos();
+        }
+
+        private void add(Op read) {
+            firstCompleted = Math.min(firstCompleted, read.completedNanos());
+            if (lastRead == null || read.invokedNanos() > lastRead.invokedNanos()) {
+                lastRead = read;
+            }
+            lastInvoked = Math.max(lastInvoked, read.invokedNanos());
+        }
+
+        private boolean isForward() {
+            return firstCompleted < lastInvoked;
+        }
+
+        private long low() {
+            return isForward() ? firstCompleted : lastInvoked;
+        }
+
+        private long high() {
+            return isForward() ? lastInvoked : firstCompleted;
+        }
+    }
+}
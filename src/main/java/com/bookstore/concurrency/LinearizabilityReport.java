@@ -0,0 +1,88 @@
+package com.bookstore.concurrency;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Outcome of {@link LinearizabilityChecker#check}: every violation found, counted per kind, with the first
+ * few of each kind spelled out.
+ */
+@Getter
+public final class LinearizabilityReport {
+
+    private static final int SAMPLES_PER_KIND = 10;
+
+    public enum Kind {
+        /** A read returned a value that no write stored. */
+        UNWRITTEN_VALUE,
+        /** A read returned a value before the write storing it was sent. */
+        FUTURE_READ,
+        /** A read returned a value that a completed later write or delete had already replaced. */
+        STALE_READ,
+        /** The read after all workers stopped returned a value that a completed later write had replaced. */
+        LOST_UPDATE
+    }
+
+    public record Violation(Kind kind, int key, String description) {
+    }
+
+    private final String target;
+    private final int operations;
+    private final int keys;
+    private final long elapsedMicros;
+    private final Map<Kind, Long> counts = new EnumMap<>(Kind.class);
+    private final Map<Kind, List<Violation>> samples = new EnumMap<>(Kind.class);
+
+    LinearizabilityReport(String target, int operations, int keys, List<Violation> violations, long elapsedMicros) {
+        this.target = target;
+        this.operations = operations;
+        this.keys = keys;
+        this.elapsedMicros = elapsedMicros;
+        for (Violation violation : violations) {
+            counts.merge(violation.kind(), 1L, Long::sum);
+            List<Violation> kept = samples.computeIfAbsent(violation.kind(), kind -> new ArrayList<>());
+            if (kept.size() < SAMPLES_PER_KIND) {
+                kept.add(violation);
+            }
+        }
+    }
+
+    public boolean isLinearizable() {
+        return counts.isEmpty();
+    }
+
+    public long getCount(Kind kind) {
+        return counts.getOrDefault(kind, 0L);
+    }
+
+    public List<Violation> getSamples(Kind kind) {
+        return Collections.unmodifiableList(samples.getOrDefault(kind, List.of()));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("%s: %d operation(s) on %d ID(s) checked in %.1f ms, %s%n",
+                target, operations, keys, elapsedMicros / 1000.0,
+                isLinearizable() ? "linearizable" : "NOT linearizable"));
+        for (Kind kind : Kind.values()) {
+            long count = getCount(kind);
+            if (count == 0) {
+                continue;
+            }
+            text.append(String.format("  %s - %d violation(s)%n", kind, count));
+            for (Violation violation : getSamples(kind)) {
+                text.append(String.format("      id %d: %s%n", violation.key(), violation.description()));
+            }
+            if (count > SAMPLES_PER_KIND) {
+                text.append(String.format("      ... and %d more%n", count - SAMPLES_PER_KIND));
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,164 @@
+package com.bookstore.concurrency;
+
+import com.bookstore.constants.StatusCodes;
+import io.restassured.response.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+
+/**
+ * Hammers a few IDs of one resource with interleaved writes, reads and deletes from many threads and
+ * records every call in a {@link History}. Each write stores a value no other write uses, so a read names
+ * the write it observed. Process 0 is the harness itself: it seeds every ID before the workers start and
+ * reads every ID once more after they have all stopped, which is what exposes a lost final update.
+ */
+@Slf4j
+public final class MutationWorkload {
+
+    public static final int HARNESS = 0;
+
+    private final RegisterTarget target;
+    private final int[] ids;
+    private final int threads;
+    private final int operations;
+    private final int readPercent;
+    private final int deletePercent;
+    private final LongAdder failedCalls = new LongAdder();
+
+    public MutationWorkload(RegisterTarget target, int[] ids, int threads, int operations,
+                            int readPercent, int deletePercent) {
+        if (ids.length == 0 || threads < 1 || readPercent + deletePercent > 100) {
+            throw new IllegalArgumentException("Need at least one ID and thread, and read% + delete% <= 100");
+        }
+        this.target = target;
+        this.ids = ids.clone();
+        this.threads = threads;
+        this.operations = operations;
+        this.readPercent = readPercent;
+        this.deletePercent = deletePercent;
+    }
+
+    public History run() throws InterruptedException {
+        History history = new History();
+        for (int id : ids) {
+            write(history, HARNESS, id, value(id, HARNESS, 0));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int process = 1; process <= threads; process++) {
+                int worker = process;
+                int share = operations / threads + (process <= operations % threads ? 1 : 0);
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    work(history, worker, share);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Workload thread failed: " + e.getCause(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int id : ids) {
+            read(history, HARNESS, id);
+        }
+        log.info("{} workload: {} ops on {} ID(s) from {} thread(s), {} call(s) without a usable response",
+                target.name(), history.size(), ids.length, threads, failedCalls.sum());
+        return history;
+    }
+
+    public long getFailedCalls() {
+        return failedCalls.sum();
+    }
+
+    private void work(History history, int process, int share) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int seq = 1; seq <= share; seq++) {
+            int id = ids[random.nextInt(ids.length)];
+            int roll = random.nextInt(100);
+            if (roll < readPercent) {
+                read(history, process, id);
+            } else if (roll < readPercent + deletePercent) {
+                delete(history, process, id);
+            } else {
+                write(history, process, id, value(id, process, seq));
+            }
+        }
+    }
+
+    private static String value(int id, int process, int seq) {
+        return "lin-" + id + "-p" + process + "-" + seq;
+    }
+
+    // A write that failed may still have been applied, so it stays open-ended rather than being dropped
+    private void write(History history, int process, int id, String value) {
+        long invoked = System.nanoTime();
+        int status = status(() -> target.write(id, value));
+        long completed = System.nanoTime();
+        if (!isSuccess(status)) {
+            failedCalls.increment();
+            completed = Op.NEVER;
+        }
+        history.record(new Op(process, id, Op.Type.WRITE, value, invoked, completed));
+    }
+
+    private void delete(History history, int process, int id) {
+        long invoked = System.nanoTime();
+        int status = status(() -> target.delete(id));
+        long completed = System.nanoTime();
+        if (!isSuccess(status) && status != StatusCodes.NOT_FOUND) {
+            failedCalls.increment();
+            completed = Op.NEVER;
+        }
+        history.record(new Op(process, id, Op.Type.DELETE, null, invoked, completed));
+    }
+
+    // A read without a usable answer constrains nothing and is left out of the history
+    private void read(History history, int process, int id) {
+        long invoked = System.nanoTime();
+        try {
+            Response response = target.read(id);
+            long completed = System.nanoTime();
+            if (response.getStatusCode() == StatusCodes.OK) {
+                // A 200 without the field is recorded as the value "null", which no write stored
+                history.record(new Op(process, id, Op.Type.READ, String.valueOf(target.valueOf(response)), invoked,
+                        completed));
+            } else if (response.getStatusCode() == StatusCodes.NOT_FOUND) {
+                history.record(new Op(process, id, Op.Type.READ, null, invoked, completed));
+            } else {
+                failedCalls.increment();
+            }
+        } catch (Exception e) {
+            failedCalls.increment();
+        }
+    }
+
+    // RestAssured rethrows transport failures such as SocketTimeoutException unwrapped
+    private static int status(Supplier<Response> call) {
+        try {
+            return call.get().getStatusCode();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+}
@@ -0,0 +1,36 @@
+package com.bookstore.concurrency;
+
+
+/**
+ * One completed call in a concurrent history. {@code value} is what a write stored or a read returned,
+ * {@code null} for a delete and for a read that found nothing. A write whose outcome is unknown (error or
+ * timeout) may still have taken effect at any later point, so it never completes.
+ */
+public record Op(int process, int key, Type type, String value, long invokedNanos, long completedNanos) {
+
+    public static final long NEVER = Long.MAX_VALUE;
+
+    public enum Type {WRITE, READ, DELETE}
+
+    public boolean isWrite() {
+        return type != Type.READ;
+    }
+
+    public boolean isIndeterminate() {
+        return completedNanos == NEVER;
+    }
+
+    String describe(long originNanos) {
+        String what = switch (type) {
+            case WRITE -> "write '" + value + "'";
+            case DELETE -> "delete";
+            case READ -> value == null ? "read -> not found" : "read -> '" + value + "'";
+        };
+        String end = isIndeterminate() ? "?" : millis(completedNanos - originNanos);
+        return String.format("p%d %s [%s, %s] ms", process, what, millis(invokedNanos - originNanos), end);
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,85 @@
+package com.bookstore.concurrency;
+
+import com.bookstore.models.Author;
+import com.bookstore.services.AuthorService;
+import com.bookstore.services.BookService;
+import com.bookstore.utils.TestDataGenerator;
+import io.restassured.response.Response;
+
+
+/**
+ * A resource seen as a set of registers, one per ID: a write stores a value in one field, a read returns
+ * it and a delete clears the register.
+ */
+public interface RegisterTarget {
+
+    String name();
+
+    Response write(int id, String value);
+
+    Response read(int id);
+
+    Response delete(int id);
+
+    String valueOf(Response read);
+
+    static RegisterTarget books(BookService books) {
+        return new RegisterTarget() {
+            @Override
+            public String name() {
+                return "Books";
+            }
+
+            @Override
+            public Response write(int id, String value) {
+                return books.updateBook(id, TestDataGenerator.generateBookPayload(id).toBuilder().title(value).build());
+            }
+
+            @Override
+            public Response read(int id) {
+                return books.getBookById(id);
+            }
+
+            @Override
+            public Response delete(int id) {
+                return books.deleteBook(id);
+            }
+
+            @Override
+            public String valueOf(Response read) {
+                return read.jsonPath().getString("title");
+            }
+        };
+    }
+
+    static RegisterTarget authors(AuthorService authors) {
+        return new RegisterTarget() {
+            @Override
+            public String name() {
+                return "Authors";
+            }
+
+            @Override
+            public Response write(int id, String value) {
+                Author author = TestDataGenerator.generateAuthorPayload(id);
+                author.setFirstName(value);
+                return authors.updateAuthor(id, author);
+            }
+
+            @Override
+            public Response read(int id) {
+                return authors.getAuthorById(id);
+            }
+
+            @Override
+            public Response delete(int id) {
+                return authors.deleteAuthor(id);
+            }
+
+            @Override
+            public String valueOf(Response read) {
+                return read.jsonPath().getString("firstName");
+            }
+        };
+    }
+}
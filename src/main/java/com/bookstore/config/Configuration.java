@@ -16,6 +16,25 @@ public interface Configuration {
     int getConnectionTimeout();
 
 
+    int getHttpPoolMaxTotal();
+
+    int getHttpPoolMaxPerRoute();
+
+    boolean isPhaseTimingEnabled();
+
+    boolean isHealthProbeEnabled();
+
+    int getHealthProbeTimeout();
+
+    int getCircuitBreakerThreshold();
+
+    int getRateLimitPerSecond();
+
+    int getRateLimitBurst();
+
+    String getRateLimitEndpoints();
+
+
     boolean isLoggingEnabled();
 
 
@@ -26,6 +45,18 @@ public interface Configuration {
 
     int getRetryCount();
 
+    int getRetryInitialBackoffMillis();
+
+    int getRetryMaxBackoffMillis();
+
+    int getRetryBudgetPercent();
+
+    boolean isRetryNonIdempotentEnabled();
+
+    boolean isHedgingEnabled();
+
+    int getHedgeBudgetPercent();
+
     String getEnvironment();
 
 
@@ -36,4 +67,153 @@ public interface Configuration {
     @Config.Key("deletion.persistence")
     @Config.DefaultValue("false")
     boolean deletionPersistence();
+
+    int getWorkflowParallelism();
+
+    boolean isWarmupEnabled();
+
+    int getWarmupIterations();
+
+    int getWarmupConnections();
+
+
+    boolean isStubEnabled();
+
+    int getStubPort();
+
+    int getStubBookCount();
+
+    int getStubAuthorCount();
+
+
+    boolean isMetricsEnabled();
+
+    String getMetricsExportDir();
+
+    boolean isMetricsJmxEnabled();
+
+    boolean isDashboardEnabled();
+
+    int getDashboardPort();
+
+    long getDashboardIntervalMillis();
+
+    int getDashboardWindowSeconds();
+
+
+    boolean isJfrEventsEnabled();
+
+    boolean isJfrRecordingEnabled();
+
+    String getJfrRecordingSettings();
+
+    String getJfrOutputDir();
+
+
+    boolean isResourceAccountingEnabled();
+
+    int getResourceAccountingTopCount();
+
+    boolean isResultsStreamEnabled();
+
+    String getResultsStreamFile();
+
+    int getResultsStreamQueueCapacity();
+
+    long getResultsStreamFlushMillis();
+
+
+    boolean isSchedulerEnabled();
+
+    String getSchedulerHistoryDir();
+
+    int getShardCount();
+
+    int getShardIndex();
+
+    boolean isStartupCdsEnabled();
+
+    String getStartupCdsArchive();
+
+    boolean isTrendsEnabled();
+
+    String getTrendsDir();
+
+    String getTrendsRunLabel();
+
+    boolean isAllureAttachmentDedupEnabled();
+
+    boolean isAllureAttachmentCompactEnabled();
+
+    boolean isOpenApiEnabled();
+
+    String getOpenApiSpecUrl();
+
+    String getOpenApiSpecFile();
+
+    boolean isOpenApiOffline();
+
+    int getOpenApiQueueCapacity();
+
+    int getOpenApiQueueMaxBodyBytes();
+
+    String getOpenApiReportFile();
+
+    long getPollingInitialIntervalMillis();
+
+    long getPollingMaxIntervalMillis();
+
+    String getPollingHistoryFile();
+
+    int getConcurrencyFirstId();
+
+    int getConcurrencyIdCount();
+
+    int getConcurrencyThreads();
+
+    int getConcurrencyOperations();
+
+    int getConcurrencyReadPercent();
+
+    int getConcurrencyDeletePercent();
+
+    String getBenchmarkMix();
+
+    int getBenchmarkP99TargetMillis();
+
+    int getBenchmarkMaxErrorPercent();
+
+    int getBenchmarkStartRate();
+
+    int getBenchmarkMaxRate();
+
+    int getBenchmarkStepSeconds();
+
+    int getBenchmarkSearchSteps();
+
+    int getBenchmarkConcurrency();
+
+    int getBenchmarkReadIds();
+
+    int getBenchmarkWriteFirstId();
+
+    String getBenchmarkReportDir();
+
+    String getStressOperations();
+
+    int getStressStartConcurrency();
+
+    int getStressMaxConcurrency();
+
+    int getStressStepSeconds();
+
+    int getStressSearchSteps();
+
+    int getStressMaxErrorPercent();
+
+    int getStressLatencyLimitMillis();
+
+    int getStressCollapsePercent();
+
+    String getStressReportDir();
 }
\ No newline at end of file
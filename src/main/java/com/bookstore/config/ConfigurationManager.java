@@ -1,5 +1,6 @@
 package com.bookstore.config;
 
+import com.bookstore.diagnostics.StartupTimer;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
@@ -23,7 +24,7 @@ public class ConfigurationManager implements Configuration {
         if (instance == null) {
             synchronized (ConfigurationManager.class) {
                 if (instance == null) {
-                    instance = new ConfigurationManager();
+                    instance = StartupTimer.time("Configuration", ConfigurationManager::new);
                 }
             }
         }
@@ -68,6 +69,51 @@ public class ConfigurationManager implements Configuration {
         return getIntProperty("connection.timeout", 10);
     }
 
+    @Override
+    public int getHttpPoolMaxTotal() {
+        return getIntProperty("http.pool.max.total", 50);
+    }
+
+    @Override
+    public int getHttpPoolMaxPerRoute() {
+        return getIntProperty("http.pool.max.per.route", 20);
+    }
+
+    @Override
+    public boolean isPhaseTimingEnabled() {
+        return getBooleanProperty("http.phase.timing.enabled", true);
+    }
+
+    @Override
+    public boolean isHealthProbeEnabled() {
+        return getBooleanProperty("health.probe.enabled", true);
+    }
+
+    @Override
+    public int getHealthProbeTimeout() {
+        return getIntProperty("health.probe.timeout", 30);
+    }
+
+    @Override
+    public int getCircuitBreakerThreshold() {
+        return getIntProperty("circuit.breaker.threshold", 5);
+    }
+
+    @Override
+    public int getRateLimitPerSecond() {
+        return getIntProperty("rate.limit.per.second", 0);
+    }
+
+    @Override
+    public int getRateLimitBurst() {
+        return getIntProperty("rate.limit.burst", 5);
+    }
+
+    @Override
+    public String getRateLimitEndpoints() {
+        return getProperty("rate.limit.endpoints", "");
+    }
+
     @Override
     public boolean isLoggingEnabled() {
         return getBooleanProperty("logging.enabled", true);
@@ -88,6 +134,36 @@ public class ConfigurationManager implements Configuration {
         return getIntProperty("retry.count", 2);
     }
 
+    @Override
+    public int getRetryInitialBackoffMillis() {
+        return getIntProperty("retry.backoff.initial.ms", 100);
+    }
+
+    @Override
+    public int getRetryMaxBackoffMillis() {
+        return getIntProperty("retry.backoff.max.ms", 2000);
+    }
+
+    @Override
+    public int getRetryBudgetPercent() {
+        return getIntProperty("retry.budget.percent", 10);
+    }
+
+    @Override
+    public boolean isRetryNonIdempotentEnabled() {
+        return getBooleanProperty("retry.non.idempotent", false);
+    }
+
+    @Override
+    public boolean isHedgingEnabled() {
+        return getBooleanProperty("hedge.enabled", false);
+    }
+
+    @Override
+    public int getHedgeBudgetPercent() {
+        return getIntProperty("hedge.budget.percent", 5);
+    }
+
     @Override
     public String getEnvironment() {
         return getProperty("environment", "dev");
@@ -95,15 +171,383 @@ public class ConfigurationManager implements Configuration {
 
     @Override
     public boolean deletionPersistence() {
-        return false;
+        return getBooleanProperty("deletion.persistence", false);
+    }
+
+    @Override
+    public int getWorkflowParallelism() {
+        return getIntProperty("workflow.parallelism", 8);
+    }
+
+    @Override
+    public boolean isWarmupEnabled() {
+        return getBooleanProperty("warmup.enabled", true);
+    }
+
+    @Override
+    public int getWarmupIterations() {
+        return getIntProperty("warmup.iterations", 2);
+    }
+
+    @Override
+    public int getWarmupConnections() {
+        return getIntProperty("warmup.connections", 8);
+    }
+
+    @Override
+    public boolean isStubEnabled() {
+        return getBooleanProperty("stub.enabled", false);
+    }
+
+    @Override
+    public int getStubPort() {
+        return getIntProperty("stub.port", 0);
+    }
+
+    @Override
+    public int getStubBookCount() {
+        return getIntProperty("stub.books.count", 1_000_000);
+    }
+
+    @Override
+    public int getStubAuthorCount() {
+        return getIntProperty("stub.authors.count", 1_000_000);
+    }
+
+    @Override
+    public boolean isMetricsEnabled() {
+        return getBooleanProperty("metrics.enabled", true);
+    }
+
+    @Override
+    public String getMetricsExportDir() {
+        return getProperty("metrics.export.dir", "target/metrics");
+    }
+
+    @Override
+    public boolean isMetricsJmxEnabled() {
+        return getBooleanProperty("metrics.jmx.enabled", true);
+    }
+
+    @Override
+    public boolean isDashboardEnabled() {
+        return getBooleanProperty("dashboard.enabled", false);
+    }
+
+    @Override
+    public int getDashboardPort() {
+        return getIntProperty("dashboard.port", 0);
+    }
+
+    @Override
+    public long getDashboardIntervalMillis() {
+        return getIntProperty("dashboard.interval.ms", 1000);
+    }
+
+    @Override
+    public int getDashboardWindowSeconds() {
+        return getIntProperty("dashboard.window.seconds", 30);
+    }
+
+    @Override
+    public boolean isJfrEventsEnabled() {
+        return getBooleanProperty("jfr.events.enabled", true);
+    }
+
+    @Override
+    public boolean isJfrRecordingEnabled() {
+        return getBooleanProperty("jfr.recording.enabled", false);
+    }
+
+    @Override
+    public String getJfrRecordingSettings() {
+        return getProperty("jfr.recording.settings", "profile");
+    }
+
+    @Override
+    public String getJfrOutputDir() {
+        return getProperty("jfr.output.dir", "target/jfr");
+    }
+
+    @Override
+    public boolean isResourceAccountingEnabled() {
+        return getBooleanProperty("resource.accounting.enabled", true);
+    }
+
+    @Override
+    public int getResourceAccountingTopCount() {
+        return getIntProperty("resource.accounting.top.count", 10);
+    }
+
+    @Override
+    public boolean isResultsStreamEnabled() {
+        return getBooleanProperty("results.stream.enabled", true);
+    }
+
+    @Override
+    public String getResultsStreamFile() {
+        return getProperty("results.stream.file", "target/results/events.ndjson");
+    }
+
+    @Override
+    public int getResultsStreamQueueCapacity() {
+        return getIntProperty("results.stream.queue.capacity", 8192);
+    }
+
+    @Override
+    public long getResultsStreamFlushMillis() {
+        return getIntProperty("results.stream.flush.ms", 500);
+    }
+
+    @Override
+    public boolean isSchedulerEnabled() {
+        return getBooleanProperty("scheduler.enabled", true);
+    }
+
+    @Override
+    public String getSchedulerHistoryDir() {
+        return getProperty("scheduler.history.dir", ".test-history");
+    }
+
+    @Override
+    public int getShardCount() {
+        return getIntProperty("shard.count", 1);
+    }
+
+    @Override
+    public int getShardIndex() {
+        return getIntProperty("shard.index", 0);
     }
 
+    @Override
+    public boolean isStartupCdsEnabled() {
+        return getBooleanProperty("startup.cds.enabled", false);
+    }
+
+    @Override
+    public String getStartupCdsArchive() {
+        return getProperty("startup.cds.archive", "target/cds/suite.jsa");
+    }
+
+    @Override
+    public boolean isTrendsEnabled() {
+        return getBooleanProperty("trends.enabled", true);
+    }
+
+    @Override
+    public String getTrendsDir() {
+        return getProperty("trends.dir", ".test-history/trends");
+    }
+
+    @Override
+    public String getTrendsRunLabel() {
+        String label = getProperty("trends.run.label", "");
+        if (!label.isBlank()) {
+            return label.trim();
+        }
+        String runId = System.getenv("GITHUB_RUN_ID");
+        return runId != null && !runId.isBlank() ? runId : "local-" + System.currentTimeMillis();
+    }
+
+    @Override
+    public boolean isAllureAttachmentDedupEnabled() {
+        return getBooleanProperty("allure.attachments.dedup", true);
+    }
+
+    @Override
+    public boolean isAllureAttachmentCompactEnabled() {
+        return getBooleanProperty("allure.attachments.compact", true);
+    }
+
+    @Override
+    public boolean isOpenApiEnabled() {
+        return getBooleanProperty("openapi.enabled", true);
+    }
+
+    @Override
+    public String getOpenApiSpecUrl() {
+        String url = getProperty("openapi.spec.url", "");
+        return url.isBlank() ? getBaseUrl() + "/swagger/" + getApiVersion() + "/swagger.json" : url.trim();
+    }
+
+    @Override
+    public String getOpenApiSpecFile() {
+        return getProperty("openapi.spec.file", ".test-history/openapi/swagger.json");
+    }
+
+    @Override
+    public boolean isOpenApiOffline() {
+        return getBooleanProperty("openapi.offline", false) || isStubEnabled();
+    }
+
+    @Override
+    public int getOpenApiQueueCapacity() {
+        return getIntProperty("openapi.queue.capacity", 4096);
+    }
+
+    @Override
+    public int getOpenApiQueueMaxBodyBytes() {
+        return getIntProperty("openapi.queue.max.body.bytes", 64 * 1024 * 1024);
+    }
+
+    @Override
+    public String getOpenApiReportFile() {
+        return getProperty("openapi.report.file", "target/openapi/conformance.txt");
+    }
+
+    @Override
+    public long getPollingInitialIntervalMillis() {
+        return getIntProperty("polling.initial.interval.ms", 50);
+    }
+
+    @Override
+    public long getPollingMaxIntervalMillis() {
+        return getIntProperty("polling.max.interval.ms", 1000);
+    }
+
+    @Override
+    public String getPollingHistoryFile() {
+        return getProperty("polling.lag.history", ".test-history/consistency-lag.tsv");
+    }
+
+    @Override
+    public int getConcurrencyFirstId() {
+        return getIntProperty("concurrency.first.id", 700001);
+    }
+
+    @Override
+    public int getConcurrencyIdCount() {
+        return getIntProperty("concurrency.ids", 4);
+    }
+
+    @Override
+    public int getConcurrencyThreads() {
+        return getIntProperty("concurrency.threads", 16);
+    }
+
+    @Override
+    public int getConcurrencyOperations() {
+        return getIntProperty("concurrency.operations", 20000);
+    }
+
+    @Override
+    public int getConcurrencyReadPercent() {
+        return getIntProperty("concurrency.read.percent", 50);
+    }
+
+    @Override
+    public int getConcurrencyDeletePercent() {
+        return getIntProperty("concurrency.delete.percent", 5);
+    }
+
+    @Override
+    public String getBenchmarkMix() {
+        return getProperty("benchmark.mix",
+                "GET /Books/{id}:70,GET /Authors:15,PUT /Books/{id}:10,POST /Books:3,DELETE /Books/{id}:2");
+    }
+
+    @Override
+    public int getBenchmarkP99TargetMillis() {
+        return getIntProperty("benchmark.p99.target.ms", 500);
+    }
+
+    @Override
+    public int getBenchmarkMaxErrorPercent() {
+        return getIntProperty("benchmark.max.error.percent", 1);
+    }
+
+    @Override
+    public int getBenchmarkStartRate() {
+        return getIntProperty("benchmark.start.rate", 10);
+    }
+
+    @Override
+    public int getBenchmarkMaxRate() {
+        return getIntProperty("benchmark.max.rate", 2000);
+    }
+
+    @Override
+    public int getBenchmarkStepSeconds() {
+        return getIntProperty("benchmark.step.seconds", 10);
+    }
+
+    @Override
+    public int getBenchmarkSearchSteps() {
+        return getIntProperty("benchmark.search.steps", 5);
+    }
+
+    @Override
+    public int getBenchmarkConcurrency() {
+        return getIntProperty("benchmark.concurrency", 64);
+    }
+
+    @Override
+    public int getBenchmarkReadIds() {
+        return getIntProperty("benchmark.read.ids", 200);
+    }
+
+    @Override
+    public int getBenchmarkWriteFirstId() {
+        return getIntProperty("benchmark.write.first.id", 800001);
+    }
+
+    @Override
+    public String getBenchmarkReportDir() {
+        return getProperty("benchmark.report.dir", "target/benchmark");
+    }
+
+    @Override
+    public String getStressOperations() {
+        return getProperty("stress.operations", "GET /Books,GET /Books/{id},GET /Authors,GET /Authors/{id}");
+    }
+
+    @Override
+    public int getStressStartConcurrency() {
+        return getIntProperty("stress.start.concurrency", 1);
+    }
+
+    @Override
+    public int getStressMaxConcurrency() {
+        return getIntProperty("stress.max.concurrency", 64);
+    }
+
+    @Override
+    public int getStressStepSeconds() {
+        return getIntProperty("stress.step.seconds", 5);
+    }
+
+    @Override
+    public int getStressSearchSteps() {
+        return getIntProperty("stress.search.steps", 3);
+    }
+
+    @Override
+    public int getStressMaxErrorPercent() {
+        return getIntProperty("stress.max.error.percent", 1);
+    }
+
+    @Override
+    public int getStressLatencyLimitMillis() {
+        return getIntProperty("stress.latency.limit.ms", 2000);
+    }
+
+    @Override
+    public int getStressCollapsePercent() {
+        return getIntProperty("stress.collapse.percent", 25);
+    }
+
+    @Override
+    public String getStressReportDir() {
+        return getProperty("stress.report.dir", "target/stress");
+    }
+
+    // System properties win over config.properties so a run can be redirected with -Dkey=value
     private String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
     }
 
     private int getIntProperty(String key, int defaultValue) {
-        String value = properties.getProperty(key);
+        String value = getProperty(key, null);
         if (value == null || value.trim().isEmpty()) {
             return defaultValue;
         }
@@ -117,7 +561,7 @@ public class ConfigurationManager implements Configuration {
     }
 
     private boolean getBooleanProperty(String key, boolean defaultValue) {
-        String value = properties.getProperty(key);
+        String value = getProperty(key, null);
         if (value == null || value.trim().isEmpty()) {
             return defaultValue;
         }
@@ -132,9 +576,16 @@ public class ConfigurationManager implements Configuration {
         log.info("API Base Path: {}", getApiBasePath());
         log.info("Timeout: {} seconds", getTimeout());
         log.info("Connection Timeout: {} seconds", getConnectionTimeout());
+        log.info("HTTP Pool: {} total / {} per route", getHttpPoolMaxTotal(), getHttpPoolMaxPerRoute());
+        if (getRateLimitPerSecond() > 0 || !getRateLimitEndpoints().isBlank()) {
+            log.info("Rate Limit: {}/s (burst {}), endpoints: {}", getRateLimitPerSecond(), getRateLimitBurst(),
+                    getRateLimitEndpoints());
+        }
         log.info("Logging Enabled: {}", isLoggingEnabled());
         log.info("Request Logging: {}", isRequestLoggingEnabled());
-        log.info("Retry Count: {}", getRetryCount());
+        log.info("Retry Count: {} (budget {}% of requests)", getRetryCount(), getRetryBudgetPercent());
+        log.info("Stub Backend: {}", isStubEnabled());
+        log.info("Metrics Enabled: {}", isMetricsEnabled());
         log.info("==============================");
     }
 }
\ No newline at end of file
@@ -22,6 +22,7 @@ public final class StatusCodes {
     public static final int CONFLICT = 409;
     public static final int UNPROCESSABLE_ENTITY = 422;
     public static final int UNSUPPORTED_MEDIA_TYPE = 415;
+    public static final int TOO_MANY_REQUESTS = 429;
 
     // Server Error Codes (5xx)
     public static final int INTERNAL_SERVER_ERROR = 500;
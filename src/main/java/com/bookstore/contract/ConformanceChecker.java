@@ -0,0 +1,197 @@
+package com.bookstore.contract;
+
+import com.bookstore.client.ApiExchange;
+import com.bookstore.client.ExchangeListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Checks every exchange made through {@code ApiClient} against the OpenAPI document. The request thread
+ * only offers the exchange to a bounded queue; one daemon thread loads and compiles the document, then
+ * matches each exchange to its operation and validates status, content type, path parameters and both
+ * bodies. Exchanges arriving while the queue is full are counted and skipped rather than slowing tests.
+ * Bodies waiting in the queue are capped at {@code maxQueuedBodyBytes} in total; an exchange whose bodies
+ * do not fit is still checked, without its bodies, and counted as such.
+ */
+@Slf4j
+public final class ConformanceChecker implements ExchangeListener, AutoCloseable {
+
+    private final SpecLoader loader;
+    private final BlockingQueue<Object> queue;
+    private final Thread worker;
+    private final Map<String, Optional<Operation>> operationsByEndpoint = new ConcurrentHashMap<>();
+    private final Map<String, EndpointDrift> drift = new TreeMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder bodiesSkipped = new LongAdder();
+    private final AtomicLong queuedBodyBytes = new AtomicLong();
+    private final long maxQueuedBodyBytes;
+    private volatile OpenApiSpec spec;
+    private volatile String loadFailure;
+    private volatile boolean closed;
+
+    @FunctionalInterface
+    public interface SpecLoader {
+        OpenApiSpec load() throws IOException;
+    }
+
+    private ConformanceChecker(SpecLoader loader, int capacity, long maxQueuedBodyBytes) {
+        this.loader = loader;
+        this.maxQueuedBodyBytes = maxQueuedBodyBytes;
+        this.queue = new ArrayBlockingQueue<>(Math.max(16, capacity));
+        this.worker = new Thread(this::run, "openapi-conformance");
+        worker.setDaemon(true);
+    }
+
+    public static ConformanceChecker start(SpecLoader loader, int capacity, long maxQueuedBodyBytes) {
+        ConformanceChecker checker = new ConformanceChecker(loader, capacity, maxQueuedBodyBytes);
+        checker.worker.start();
+        return checker;
+    }
+
+    @Override
+    public void onExchange(ApiExchange exchange) {
+        if (closed || exchange.isFailed()) {
+            return;
+        }
+        long bodyBytes = bodySize(exchange);
+        if (bodyBytes > 0 && queuedBodyBytes.addAndGet(bodyBytes) > maxQueuedBodyBytes) {
+            queuedBodyBytes.addAndGet(-bodyBytes);
+            bodiesSkipped.increment();
+            exchange = exchange.toBuilder().requestBody(null).responseBody(null).build();
+            bodyBytes = 0;
+        }
+        if (!queue.offer(exchange)) {
+            queuedBodyBytes.addAndGet(-bodyBytes);
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Blocks until every exchange offered so far has been checked, or the timeout elapses.
+     */
+    public boolean flush(long timeoutMillis) {
+        if (closed || !worker.isAlive()) {
+            return false;
+        }
+        CountDownLatch checked = new CountDownLatch(1);
+        try {
+            if (!queue.offer(checked, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+            return checked.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Per-endpoint drift; call after {@link #flush}.
+     */
+    public String report() {
+        StringBuilder text = new StringBuilder();
+        if (spec == null) {
+            return "OpenAPI document not loaded: " + loadFailure + System.lineSeparator();
+        }
+        long drifting;
+        synchronized (drift) {
+            drifting = drift.values().stream().filter(EndpointDrift::hasDrift).count();
+            text.append(String.format("OpenAPI conformance against %s: %d endpoint(s), %d with drift%n",
+                    spec.getSource(), drift.size(), drifting));
+            if (dropped.sum() > 0) {
+                text.append(String.format("%d exchange(s) not checked, the queue was full%n", dropped.sum()));
+            }
+            if (bodiesSkipped.sum() > 0) {
+                text.append(String.format("%d exchange(s) checked without their bodies, over %d queued body bytes%n",
+                        bodiesSkipped.sum(), maxQueuedBodyBytes));
+            }
+            drift.values().forEach(endpoint -> text.append(System.lineSeparator()).append(endpoint));
+        }
+        return text.toString();
+    }
+
+    public long getDriftingEndpoints() {
+        synchronized (drift) {
+            return drift.values().stream().filter(EndpointDrift::hasDrift).count();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        worker.interrupt();
+    }
+
+    private void run() {
+        try {
+            long start = System.nanoTime();
+            spec = loader.load();
+            log.debug("OpenAPI document ready in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            loadFailure = e.getMessage();
+            log.warn("OpenAPI conformance disabled: {}", e.getMessage());
+        }
+        try {
+            while (!closed) {
+                Object next = queue.take();
+                if (next instanceof CountDownLatch checked) {
+                    checked.countDown();
+                } else {
+                    ApiExchange exchange = (ApiExchange) next;
+                    queuedBodyBytes.addAndGet(-bodySize(exchange));
+                    if (spec != null) {
+                        check(exchange);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long bodySize(ApiExchange exchange) {
+        return (exchange.getRequestBody() == null ? 0 : exchange.getRequestBody().length)
+                + (exchange.getResponseBody() == null ? 0 : exchange.getResponseBody().length);
+    }
+
+    private void check(ApiExchange exchange) {
+        String path;
+        try {
+            path = URI.create(exchange.getUri()).getPath();
+        } catch (IllegalArgumentException e) {
+            path = exchange.getEndpoint();
+        }
+        String requestPath = path;
+        Optional<Operation> operation = operationsByEndpoint.computeIfAbsent(
+                exchange.getMethod() + " " + exchange.getEndpoint(), key -> spec.getOperations().stream()
+                        .filter(op -> op.matches(exchange.getMethod(), requestPath))
+                        .findFirst());
+        String key = operation.map(Operation::getKey).orElse(exchange.getMethod() + " " + exchange.getEndpoint());
+        synchronized (drift) {
+            EndpointDrift endpoint = drift.computeIfAbsent(key, EndpointDrift::new);
+            endpoint.countExchange();
+            try {
+                if (operation.isEmpty()) {
+                    endpoint.issue("not in the OpenAPI document");
+                } else {
+                    operation.get().check(exchange, requestPath, endpoint);
+                }
+            } catch (RuntimeException e) {
+                endpoint.issue("could not be checked: " + e.getMessage());
+            }
+        }
+    }
+}
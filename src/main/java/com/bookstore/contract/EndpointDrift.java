@@ -0,0 +1,57 @@
+package com.bookstore.contract;
+
+import com.bookstore.schema.SchemaReport;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * Everything one endpoint did that its OpenAPI operation does not describe, summed over the run.
+ */
+@Getter
+public final class EndpointDrift {
+
+    private final String endpoint;
+    private long exchanges;
+    private final Map<String, Long> issues = new TreeMap<>();
+    private final SchemaReport requestBodies;
+    private final SchemaReport responseBodies;
+
+    EndpointDrift(String endpoint) {
+        this.endpoint = endpoint;
+        this.requestBodies = new SchemaReport(endpoint + " request body");
+        this.responseBodies = new SchemaReport(endpoint + " response body");
+    }
+
+    void countExchange() {
+        exchanges++;
+    }
+
+    void issue(String description) {
+        issues.merge(description, 1L, Long::sum);
+    }
+
+    public boolean hasDrift() {
+        return !issues.isEmpty() || !requestBodies.isValid() || !responseBodies.isValid();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("%s - %d exchange(s)%s%n", endpoint, exchanges,
+                hasDrift() ? "" : ", conforms"));
+        issues.forEach((issue, count) -> text.append(String.format("  %6d x %s%n", count, issue)));
+        if (!requestBodies.isValid()) {
+            text.append(indent(requestBodies.toString()));
+        }
+        if (!responseBodies.isValid()) {
+            text.append(indent(responseBodies.toString()));
+        }
+        return text.toString();
+    }
+
+    private static String indent(String text) {
+        return text.replaceAll("(?m)^", "  ");
+    }
+}
@@ -0,0 +1,225 @@
+package com.bookstore.contract;
+
+import com.bookstore.schema.CompiledSchema;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * An OpenAPI 3 (or Swagger 2) document compiled into one {@link Operation} per path and method. Schemas
+ * are translated to draft-04 JSON Schema - {@code $ref}s inlined, {@code nullable} folded into
+ * {@code type}, {@code format} and documentation keywords dropped - and compiled once.
+ */
+@Slf4j
+@Getter
+public final class OpenApiSpec {
+
+    static final String BUNDLED = "/openapi/fakerestapi-v1.json";
+    private static final Set<String> METHODS = Set.of("get", "put", "post", "delete", "patch", "head", "options");
+    private static final Set<String> DROPPED_KEYWORDS = Set.of("nullable", "format", "example", "examples",
+            "readOnly", "writeOnly", "xml", "externalDocs", "deprecated", "discriminator");
+
+    private final String source;
+    private final List<Operation> operations;
+
+    private OpenApiSpec(String source, List<Operation> operations) {
+        this.source = source;
+        this.operations = operations;
+    }
+
+    /**
+     * Downloads the document from {@code url} unless {@code offline}, keeping a copy in {@code localCopy}.
+     * Without a download it reads {@code localCopy}, and without that the copy bundled on the classpath.
+     */
+    public static OpenApiSpec load(String url, Path localCopy, boolean offline) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        if (!offline && url != null && !url.isBlank()) {
+            try {
+                HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+                HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(url))
+                        .timeout(Duration.ofSeconds(10)).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() == 200) {
+                    OpenApiSpec spec = compile(url, mapper.readTree(response.body()));
+                    if (localCopy.getParent() != null) {
+                        Files.createDirectories(localCopy.getParent());
+                    }
+                    Files.write(localCopy, response.body());
+                    return spec;
+                }
+                log.warn("OpenAPI document {} returned {}, using a local copy", url, response.statusCode());
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("OpenAPI document {} unavailable ({}), using a local copy", url, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while downloading " + url, e);
+            }
+        }
+        if (Files.isRegularFile(localCopy)) {
+            return compile(localCopy.toString(), mapper.readTree(localCopy.toFile()));
+        }
+        try (InputStream bundled = OpenApiSpec.class.getResourceAsStream(BUNDLED)) {
+            if (bundled == null) {
+                throw new IOException("No OpenAPI document: " + url + ", " + localCopy + " and " + BUNDLED);
+            }
+            return compile("classpath:" + BUNDLED, mapper.readTree(bundled));
+        }
+    }
+
+    public static OpenApiSpec compile(String source, JsonNode document) {
+        List<Operation> operations = new ArrayList<>();
+        JsonNode paths = document.path("paths");
+        for (Iterator<Map.Entry<String, JsonNode>> p = paths.fields(); p.hasNext(); ) {
+            Map.Entry<String, JsonNode> path = p.next();
+            List<JsonNode> sharedParameters = list(path.getValue().path("parameters"));
+            for (Iterator<Map.Entry<String, JsonNode>> m = path.getValue().fields(); m.hasNext(); ) {
+                Map.Entry<String, JsonNode> method = m.next();
+                if (METHODS.contains(method.getKey())) {
+                    operations.add(operation(document, path.getKey(), method.getKey().toUpperCase(Locale.ROOT),
+                            method.getValue(), sharedParameters));
+                }
+            }
+        }
+        log.info("Compiled {} OpenAPI operations from {}", operations.size(), source);
+        return new OpenApiSpec(source, List.copyOf(operations));
+    }
+
+    private static Operation operation(JsonNode document, String path, String method, JsonNode node,
+                                       List<JsonNode> sharedParameters) {
+        Set<String> integerParameters = new HashSet<>();
+        List<JsonNode> parameters = new ArrayList<>(sharedParameters);
+        parameters.addAll(list(node.path("parameters")));
+        JsonNode swagger2Body = null;
+        for (JsonNode parameter : parameters) {
+            parameter = resolve(document, parameter);
+            String type = parameter.has("schema") ? resolve(document, parameter.get("schema")).path("type").asText()
+                    : parameter.path("type").asText();
+            if ("path".equals(parameter.path("in").asText()) && "integer".equals(type)) {
+                integerParameters.add(parameter.path("name").asText());
+            } else if ("body".equals(parameter.path("in").asText())) {
+                swagger2Body = parameter.path("schema");
+            }
+        }
+
+        Operation.Body request = null;
+        JsonNode requestBody = resolve(document, node.path("requestBody"));
+        if (requestBody.has("content")) {
+            request = body(document, requestBody.get("content"));
+        } else if (swagger2Body != null) {
+            request = new Operation.Body(Set.of(), CompiledSchema.of(toJsonSchema(document, swagger2Body, new HashSet<>())));
+        }
+
+        Map<String, Operation.Body> responses = new LinkedHashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> r = node.path("responses").fields(); r.hasNext(); ) {
+            Map.Entry<String, JsonNode> response = r.next();
+            JsonNode value = resolve(document, response.getValue());
+            if (value.has("content")) {
+                responses.put(response.getKey(), body(document, value.get("content")));
+            } else if (value.has("schema")) {
+                responses.put(response.getKey(), new Operation.Body(Set.of(),
+                        CompiledSchema.of(toJsonSchema(document, value.get("schema"), new HashSet<>()))));
+            } else {
+                responses.put(response.getKey(), new Operation.Body(Set.of(), null));
+            }
+        }
+        return new Operation(method, path, integerParameters, request, responses);
+    }
+
+    // Media types of one content map share a schema in practice; the first one with a schema is compiled
+    private static Operation.Body body(JsonNode document, JsonNode content) {
+        Set<String> mediaTypes = new HashSet<>();
+        JsonNode schema = null;
+        for (Iterator<Map.Entry<String, JsonNode>> c = content.fields(); c.hasNext(); ) {
+            Map.Entry<String, JsonNode> mediaType = c.next();
+            mediaTypes.add(Operation.baseType(mediaType.getKey()));
+            if (schema == null && mediaType.getValue().has("schema")) {
+                schema = mediaType.getValue().get("schema");
+            }
+        }
+        return new Operation.Body(Set.copyOf(mediaTypes),
+                schema == null ? null : CompiledSchema.of(toJsonSchema(document, schema, new HashSet<>())));
+    }
+
+    static JsonNode toJsonSchema(JsonNode document, JsonNode schema, Set<String> resolving) {
+        if (schema.isArray()) {
+            ArrayNode converted = JsonNodeFactory.instance.arrayNode();
+            schema.forEach(element -> converted.add(toJsonSchema(document, element, resolving)));
+            return converted;
+        }
+        if (!schema.isObject()) {
+            return schema;
+        }
+        if (schema.has("$ref")) {
+            String ref = schema.get("$ref").asText();
+            if (!resolving.add(ref)) {
+                // A recursive schema accepts anything below the first repetition
+                return JsonNodeFactory.instance.objectNode();
+            }
+            JsonNode converted = toJsonSchema(document, resolve(document, schema), resolving);
+            resolving.remove(ref);
+            return converted;
+        }
+        ObjectNode converted = JsonNodeFactory.instance.objectNode();
+        for (Iterator<Map.Entry<String, JsonNode>> it = schema.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> keyword = it.next();
+            String name = keyword.getKey();
+            if (DROPPED_KEYWORDS.contains(name) || name.startsWith("x-")) {
+                continue;
+            }
+            JsonNode value = keyword.getValue();
+            switch (name) {
+                case "properties", "patternProperties", "definitions" -> {
+                    ObjectNode children = converted.putObject(name);
+                    value.fields().forEachRemaining(child ->
+                            children.set(child.getKey(), toJsonSchema(document, child.getValue(), resolving)));
+                }
+                case "items", "additionalProperties", "not", "allOf", "anyOf", "oneOf" ->
+                        converted.set(name, toJsonSchema(document, value, resolving));
+                default -> converted.set(name, value);
+            }
+        }
+        if (schema.path("nullable").asBoolean(false) && converted.has("type") && converted.get("type").isTextual()) {
+            ArrayNode types = JsonNodeFactory.instance.arrayNode().add(converted.get("type").asText()).add("null");
+            converted.set("type", types);
+        }
+        return converted;
+    }
+
+    // Only local references ("#/components/schemas/Book") exist in the documents we test against
+    private static JsonNode resolve(JsonNode document, JsonNode node) {
+        int depth = 0;
+        while (node.has("$ref") && depth++ < 16) {
+            String ref = node.get("$ref").asText();
+            node = ref.startsWith("#") ? document.at(ref.substring(1)) : node.path("$unresolved");
+        }
+        return node;
+    }
+
+    private static List<JsonNode> list(JsonNode array) {
+        List<JsonNode> nodes = new ArrayList<>();
+        array.forEach(nodes::add);
+        return nodes;
+    }
+}
@@ -0,0 +1,126 @@
+package com.bookstore.contract;
+
+import com.bookstore.client.ApiExchange;
+import com.bookstore.schema.CompiledSchema;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * One compiled OpenAPI operation: a path pattern, the path parameters that must be integers, and the
+ * documented request and response bodies.
+ */
+@Getter
+public final class Operation {
+
+    private static final Pattern PARAMETER = Pattern.compile("\\{([^}/]+)}");
+    private static final Pattern INTEGER = Pattern.compile("-?\\d+");
+
+    private final String method;
+    private final String path;
+    private final Pattern pathPattern;
+    private final List<String> parameterNames = new ArrayList<>();
+    private final Set<String> integerParameters;
+    private final Body request;
+    private final Map<String, Body> responses;
+
+    Operation(String method, String path, Set<String> integerParameters, Body request, Map<String, Body> responses) {
+        this.method = method;
+        this.path = path;
+        this.integerParameters = integerParameters;
+        this.request = request;
+        this.responses = responses;
+        StringBuilder regex = new StringBuilder();
+        Matcher parameter = PARAMETER.matcher(path);
+        int last = 0;
+        while (parameter.find()) {
+            regex.append(Pattern.quote(path.substring(last, parameter.start()))).append("([^/]+)");
+            parameterNames.add(parameter.group(1));
+            last = parameter.end();
+        }
+        regex.append(Pattern.quote(path.substring(last))).append("/?");
+        this.pathPattern = Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+    }
+
+    public String getKey() {
+        return method + " " + path;
+    }
+
+    boolean matches(String method, String requestPath) {
+        return this.method.equals(method) && pathPattern.matcher(requestPath).matches();
+    }
+
+    void check(ApiExchange exchange, String requestPath, EndpointDrift drift) {
+        Matcher matcher = pathPattern.matcher(requestPath);
+        if (matcher.matches()) {
+            for (int i = 0; i < parameterNames.size(); i++) {
+                String name = parameterNames.get(i);
+                if (integerParameters.contains(name) && !INTEGER.matcher(matcher.group(i + 1)).matches()) {
+                    drift.issue("path parameter '" + name + "' is not an integer");
+                }
+            }
+        }
+        if (request != null && request.schema() != null && exchange.getRequestBody() != null) {
+            request.schema().validate(exchange.getRequestBody(), drift.getRequestBodies());
+        }
+
+        String status = String.valueOf(exchange.getStatusCode());
+        Body response = responses.get(status);
+        if (response == null) {
+            response = responses.get(status.charAt(0) + "XX");
+        }
+        if (response == null) {
+            response = responses.get("default");
+        }
+        if (response == null) {
+            drift.issue("undocumented status " + status);
+            return;
+        }
+        byte[] body = exchange.getResponseBody();
+        if (body == null || body.length == 0) {
+            return;
+        }
+        String contentType = baseType(exchange.getContentType());
+        if (!response.mediaTypes().isEmpty() && !response.accepts(contentType)) {
+            drift.issue("status " + status + " undocumented content type " + contentType);
+            return;
+        }
+        if (response.schema() != null && contentType.contains("json")) {
+            response.schema().validate(body, drift.getResponseBodies());
+        }
+    }
+
+    static String baseType(String mediaType) {
+        if (mediaType == null) {
+            return "";
+        }
+        int parameters = mediaType.indexOf(';');
+        return (parameters >= 0 ? mediaType.substring(0, parameters) : mediaType).trim().toLowerCase(Locale.ROOT);
+    }
+
+    record Body(Set<String> mediaTypes, CompiledSchema schema) {
+
+        // Matches "application/json" and wildcards such as "application/*+json" or "*/*"
+        boolean accepts(String contentType) {
+            if (mediaTypes.contains(contentType) || mediaTypes.contains("*/*")) {
+                return true;
+            }
+            for (String mediaType : mediaTypes) {
+                if (mediaType.contains("*")) {
+                    String regex = Pattern.quote(mediaType).replace("*", "\\E[^/]*\\Q");
+                    if (contentType.matches(regex)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
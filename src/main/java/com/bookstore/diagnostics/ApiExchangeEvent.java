@@ -0,0 +1,55 @@
+package com.bookstore.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+
+@Name(ApiExchangeEvent.NAME)
+@Label("API Exchange")
+@Category({"Bookstore", "API"})
+@Description("One HTTP exchange made through ApiClient, from the outermost filter to the returned response")
+@StackTrace(false)
+public class ApiExchangeEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.bookstore.ApiExchange";
+
+    @Label("Method")
+    public String method;
+
+    @Label("Endpoint")
+    @Description("Endpoint template, e.g. /Books/{id}")
+    public String endpoint;
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Status Code")
+    @Description("-1 when no response was received")
+    public int statusCode;
+
+    @Label("Request Bytes")
+    @DataAmount
+    public long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    public long responseBytes;
+
+    @Label("Response Time")
+    @Description("Time REST Assured measured for sending the request and reading the response")
+    @Timespan(Timespan.MILLISECONDS)
+    public long responseTime;
+
+    @Label("Filter Overhead")
+    @Description("Event duration minus response time: time spent in our own filters")
+    @Timespan(Timespan.NANOSECONDS)
+    public long filterOverhead;
+
+    @Label("Failure")
+    public String failure;
+}
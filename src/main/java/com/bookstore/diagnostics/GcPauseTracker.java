@@ -0,0 +1,68 @@
+package com.bookstore.diagnostics;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+
+/**
+ * Remembers the most recent GC pauses (wall-clock start and end in epoch millis) in a fixed-size ring,
+ * fed by the collectors' JMX notifications, so a test can ask which pauses overlapped its run.
+ * Concurrent-cycle notifications are ignored: they do not stop application threads.
+ */
+@Slf4j
+public final class GcPauseTracker {
+
+    private static final int CAPACITY = 1024;
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final long[] starts = new long[CAPACITY];
+    private final long[] ends = new long[CAPACITY];
+    private long recorded;
+
+    public GcPauseTracker() {
+        NotificationListener listener = (notification, handback) -> {
+            if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                GarbageCollectionNotificationInfo info =
+                        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                if (!info.getGcName().contains("Concurrent")) {
+                    GcInfo gc = info.getGcInfo();
+                    record(jvmStartMillis + gc.getStartTime(), jvmStartMillis + gc.getEndTime());
+                }
+            }
+        };
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(listener, null, null);
+            }
+        }
+    }
+
+    private synchronized void record(long startMillis, long endMillis) {
+        int slot = (int) (recorded++ % CAPACITY);
+        starts[slot] = startMillis;
+        ends[slot] = endMillis;
+    }
+
+    /**
+     * Returns {count, overlapping millis} of the remembered pauses that intersect the given window.
+     */
+    public synchronized long[] overlapping(long fromMillis, long toMillis) {
+        long count = 0;
+        long millis = 0;
+        for (long i = Math.max(0, recorded - CAPACITY); i < recorded; i++) {
+            int slot = (int) (i % CAPACITY);
+            if (starts[slot] <= toMillis && ends[slot] >= fromMillis) {
+                count++;
+                millis += Math.min(ends[slot], toMillis) - Math.max(starts[slot], fromMillis);
+            }
+        }
+        return new long[]{count, millis};
+    }
+}
@@ -0,0 +1,108 @@
+package com.bookstore.diagnostics;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * Condenses a suite recording into a plain-text report: hottest sampled methods, GC pauses,
+ * API exchange timings per endpoint and the slowest tests.
+ */
+public final class HotSpotReport {
+
+    private static final int TOP_N = 20;
+
+    private HotSpotReport() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static String summarize(Path recordingFile) throws IOException {
+        Map<String, Long> topFrames = new HashMap<>();
+        long samples = 0;
+        long gcCount = 0;
+        Duration gcPauseTotal = Duration.ZERO;
+        Duration gcPauseMax = Duration.ZERO;
+        Map<String, long[]> exchanges = new TreeMap<>();
+        List<RecordedEvent> tests = new ArrayList<>();
+
+        try (RecordingFile file = new RecordingFile(recordingFile)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        samples++;
+                        String frame = topFrame(event.getStackTrace());
+                        if (frame != null) {
+                            topFrames.merge(frame, 1L, Long::sum);
+                        }
+                    }
+                    case "jdk.GarbageCollection" -> {
+                        gcCount++;
+                        Duration pause = event.getDuration("sumOfPauses");
+                        gcPauseTotal = gcPauseTotal.plus(pause);
+                        gcPauseMax = pause.compareTo(gcPauseMax) > 0 ? pause : gcPauseMax;
+                    }
+                    case ApiExchangeEvent.NAME -> {
+                        long[] stats = exchanges.computeIfAbsent(
+                                event.getString("method") + " " + event.getString("endpoint"), k -> new long[3]);
+                        long nanos = event.getDuration().toNanos();
+                        stats[0]++;
+                        stats[1] += nanos;
+                        stats[2] = Math.max(stats[2], nanos);
+                    }
+                    case TestExecutionEvent.NAME -> tests.add(event);
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append("=== Hot methods (top frame of ").append(samples).append(" execution samples) ===\n");
+        long totalSamples = Math.max(1, samples);
+        topFrames.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_N)
+                .forEach(e -> report.append(String.format("%6.2f%%  %6d  %s%n",
+                        100.0 * e.getValue() / totalSamples, e.getValue(), e.getKey())));
+
+        report.append("\n=== Garbage collection ===\n")
+                .append(String.format("collections: %d, total pause: %d ms, max pause: %d ms%n",
+                        gcCount, gcPauseTotal.toMillis(), gcPauseMax.toMillis()));
+
+        report.append("\n=== API exchanges ===\n");
+        exchanges.forEach((endpoint, stats) -> report.append(String.format("%-28s count: %6d  avg: %7.1f ms  max: %7.1f ms%n",
+                endpoint, stats[0], stats[1] / 1e6 / stats[0], stats[2] / 1e6)));
+
+        report.append("\n=== Slowest tests ===\n");
+        tests.stream()
+                .sorted(Comparator.comparing((RecordedEvent e) -> e.getDuration()).reversed())
+                .limit(TOP_N)
+                .forEach(e -> report.append(String.format("%7d ms  %-7s %s.%s%n",
+                        e.getDuration().toMillis(), e.getString("status"),
+                        e.getString("testClass"), e.getString("testMethod"))));
+        return report.toString();
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return null;
+        }
+        RecordedFrame top = stackTrace.getFrames().get(0);
+        RecordedMethod method = top.getMethod();
+        return method.getType().getName() + "." + method.getName();
+    }
+}
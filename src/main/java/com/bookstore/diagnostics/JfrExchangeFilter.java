@@ -0,0 +1,56 @@
+package com.bookstore.diagnostics;
+
+import com.bookstore.client.EndpointTemplates;
+import com.bookstore.client.ExchangeRecordingFilter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.concurrent.TimeUnit;
+
+
+// Outermost filter after the circuit breaker and rate limiter, so the event duration covers every other filter in the chain
+public class JfrExchangeFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ApiExchangeEvent event = new ApiExchangeEvent();
+        if (!event.isEnabled()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        long start = System.nanoTime();
+        event.begin();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            event.end();
+            event.statusCode = response.getStatusCode();
+            event.responseBytes = response.asByteArray().length;
+            event.responseTime = response.getTime();
+            event.filterOverhead = Math.max(0,
+                    System.nanoTime() - start - TimeUnit.MILLISECONDS.toNanos(response.getTime()));
+            return response;
+        } catch (Throwable e) {
+            event.end();
+            event.statusCode = -1;
+            event.failure = e.getClass().getSimpleName() + ": " + e.getMessage();
+            throw e;
+        } finally {
+            if (event.shouldCommit()) {
+                event.method = requestSpec.getMethod();
+                event.endpoint = EndpointTemplates.normalize(requestSpec.getUserDefinedPath());
+                event.uri = requestSpec.getURI();
+                event.requestBytes = ExchangeRecordingFilter.bodySize(requestSpec.getBody());
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 2;
+    }
+}
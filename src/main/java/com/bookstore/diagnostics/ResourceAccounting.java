@@ -0,0 +1,101 @@
+package com.bookstore.diagnostics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+
+/**
+ * Per-test client-side cost: bytes allocated and CPU time consumed by the test thread, plus the GC
+ * pauses that overlapped the test. Each measurement is two ThreadMXBean reads at start and end,
+ * cheap enough to leave on for every run. Work a test hands off to other threads is not counted.
+ */
+@Slf4j
+public final class ResourceAccounting {
+
+    private final com.sun.management.ThreadMXBean threads;
+    private final boolean allocationSupported;
+    private final boolean cpuSupported;
+    private final GcPauseTracker gcPauses = new GcPauseTracker();
+    private final Queue<ResourceUsage> usages = new ConcurrentLinkedQueue<>();
+
+    public ResourceAccounting() {
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        allocationSupported = threads.isThreadAllocatedMemorySupported();
+        if (allocationSupported && !threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        cpuSupported = threads.isCurrentThreadCpuTimeSupported();
+        if (cpuSupported && !threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        if (!allocationSupported || !cpuSupported) {
+            log.warn("Thread allocation ({}) or CPU time ({}) accounting is not supported by this JVM",
+                    allocationSupported, cpuSupported);
+        }
+    }
+
+    public Probe start() {
+        return new Probe(System.currentTimeMillis(), System.nanoTime(),
+                allocationSupported ? threads.getCurrentThreadAllocatedBytes() : 0,
+                cpuSupported ? threads.getCurrentThreadCpuTime() : 0);
+    }
+
+    // Must be called on the thread that called start()
+    public ResourceUsage stop(Probe probe, String test) {
+        long allocated = allocationSupported ? threads.getCurrentThreadAllocatedBytes() - probe.allocatedBytes : 0;
+        long cpu = cpuSupported ? threads.getCurrentThreadCpuTime() - probe.cpuNanos : 0;
+        long wall = System.nanoTime() - probe.wallNanos;
+        long[] pauses = gcPauses.overlapping(probe.startMillis, System.currentTimeMillis());
+        ResourceUsage usage = ResourceUsage.builder()
+                .test(test)
+                .allocatedBytes(allocated)
+                .cpuNanos(cpu)
+                .wallNanos(wall)
+                .gcPauses(pauses[0])
+                .gcPauseMillis(pauses[1])
+                .build();
+        usages.add(usage);
+        return usage;
+    }
+
+    public String summary(int top) {
+        List<ResourceUsage> sorted = new ArrayList<>(usages);
+        StringBuilder report = new StringBuilder();
+        section(report, "Top " + top + " by allocated bytes", sorted,
+                Comparator.comparingLong(ResourceUsage::getAllocatedBytes), top);
+        section(report, "Top " + top + " by CPU time", sorted,
+                Comparator.comparingLong(ResourceUsage::getCpuNanos), top);
+        long allocated = sorted.stream().mapToLong(ResourceUsage::getAllocatedBytes).sum();
+        long cpu = sorted.stream().mapToLong(ResourceUsage::getCpuNanos).sum();
+        report.append(String.format("%d tests: %s allocated, %.1f ms CPU in test threads%n",
+                sorted.size(), formatBytes(allocated), cpu / 1e6));
+        return report.toString();
+    }
+
+    private static void section(StringBuilder report, String title, List<ResourceUsage> usages,
+                                Comparator<ResourceUsage> order, int top) {
+        report.append("== ").append(title).append(" ==\n");
+        report.append(String.format("%12s %10s %10s %10s  %s%n", "Allocated", "CPU ms", "Wall ms", "GC ms", "Test"));
+        usages.stream().sorted(order.reversed()).limit(top).forEach(u -> report.append(String.format(
+                "%12s %10.1f %10.1f %10s  %s%n", formatBytes(u.getAllocatedBytes()), u.getCpuNanos() / 1e6,
+                u.getWallNanos() / 1e6, u.getGcPauseMillis() + " (" + u.getGcPauses() + ")", u.getTest())));
+        report.append('\n');
+    }
+
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        int unit = (63 - Long.numberOfLeadingZeros(bytes)) / 10;
+        return String.format("%.1f %siB", bytes / (double) (1L << (unit * 10)), "KMGTPE".charAt(unit - 1));
+    }
+
+    public record Probe(long startMillis, long wallNanos, long allocatedBytes, long cpuNanos) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.bookstore.diagnostics;
+
+import lombok.Builder;
+import lombok.Value;
+
+
+@Value
+@Builder
+public class ResourceUsage {
+    String test;
+    long allocatedBytes;
+    long cpuNanos;
+    long wallNanos;
+    long gcPauses;
+    long gcPauseMillis;
+}
@@ -0,0 +1,95 @@
+package com.bookstore.diagnostics;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+
+/**
+ * Startup breakdown of a test JVM: when the suite and the first test started (both relative to JVM start),
+ * and how long the one-off initializations in between took - configuration, API client, Faker, stub backend,
+ * warm-up. Also reports whether an application class-data-sharing archive was configured.
+ */
+public final class StartupTimer {
+
+    private static final Map<String, Long> phases = new LinkedHashMap<>();
+    private static volatile long suiteStartUptimeMillis = -1;
+    private static volatile long firstTestUptimeMillis = -1;
+
+    private StartupTimer() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static <T> T time(String phase, Supplier<T> initializer) {
+        long start = System.nanoTime();
+        try {
+            return initializer.get();
+        } finally {
+            record(phase, System.nanoTime() - start);
+        }
+    }
+
+    public static void time(String phase, Runnable initializer) {
+        time(phase, () -> {
+            initializer.run();
+            return null;
+        });
+    }
+
+    public static void markSuiteStart() {
+        if (suiteStartUptimeMillis < 0) {
+            suiteStartUptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        }
+    }
+
+    public static void markFirstTest() {
+        if (firstTestUptimeMillis < 0) {
+            firstTestUptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        }
+    }
+
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(line("JVM start to suite start", millis(suiteStartUptimeMillis)));
+        synchronized (phases) {
+            phases.forEach((phase, nanos) -> report.append(line("  " + phase, TimeUnit.NANOSECONDS.toMillis(nanos) + " ms")));
+        }
+        report.append(line("JVM start to first test", millis(firstTestUptimeMillis)));
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        if (jit != null && jit.isCompilationTimeMonitoringSupported()) {
+            report.append(line("JIT compilation (whole run)", jit.getTotalCompilationTime() + " ms"));
+        }
+        report.append(line("Classes loaded", String.valueOf(ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount())));
+        report.append(line("Class data sharing", classDataSharing()));
+        return report.toString();
+    }
+
+    public static void record(String phase, long nanos) {
+        synchronized (phases) {
+            phases.merge(phase, nanos, Long::sum);
+        }
+    }
+
+    // "sharing" in java.vm.info only says the JDK's own archive is mapped; the app archive is a VM option
+    private static String classDataSharing() {
+        if (!System.getProperty("java.vm.info", "").contains("sharing")) {
+            return "off";
+        }
+        HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        String archive = hotSpot == null ? "" : hotSpot.getVMOption("SharedArchiveFile").getValue();
+        return archive.isEmpty() ? "JDK classes only" : "app archive " + archive;
+    }
+
+    private static String millis(long value) {
+        return value < 0 ? "-" : value + " ms";
+    }
+
+    private static String line(String label, String value) {
+        return String.format("%-34s %10s%n", label, value);
+    }
+}
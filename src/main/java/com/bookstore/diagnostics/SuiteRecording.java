@@ -0,0 +1,50 @@
+package com.bookstore.diagnostics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+
+@Slf4j
+public final class SuiteRecording {
+
+    private final Recording recording;
+    private final Path destination;
+
+    private SuiteRecording(Recording recording, Path destination) {
+        this.recording = recording;
+        this.destination = destination;
+    }
+
+    public static SuiteRecording start(String suiteName, String settings, Path directory) {
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration(settings));
+            recording.setName("suite-" + suiteName);
+            recording.setToDisk(true);
+            recording.enable(ApiExchangeEvent.NAME);
+            recording.enable(TestExecutionEvent.NAME);
+            recording.start();
+            Path destination = directory.resolve(suiteName.replaceAll("[^A-Za-z0-9._-]", "_") + ".jfr");
+            log.info("JFR recording started for suite '{}' with '{}' settings", suiteName, settings);
+            return new SuiteRecording(recording, destination);
+        } catch (IOException | ParseException e) {
+            log.warn("Could not start JFR recording with settings '{}': {}", settings, e.getMessage());
+            return null;
+        }
+    }
+
+    public Path stop() throws IOException {
+        recording.stop();
+        Files.createDirectories(destination.toAbsolutePath().getParent());
+        recording.dump(destination);
+        recording.close();
+        log.info("JFR recording written to {}", destination.toAbsolutePath());
+        return destination;
+    }
+}
@@ -0,0 +1,25 @@
+package com.bookstore.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+@Name(TestExecutionEvent.NAME)
+@Label("Test Execution")
+@Category({"Bookstore", "Tests"})
+@StackTrace(false)
+public class TestExecutionEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.bookstore.TestExecution";
+
+    @Label("Test Class")
+    public String testClass;
+
+    @Label("Test Method")
+    public String testMethod;
+
+    @Label("Status")
+    public String status;
+}
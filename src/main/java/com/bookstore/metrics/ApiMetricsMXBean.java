@@ -0,0 +1,17 @@
+package com.bookstore.metrics;
+
+
+public interface ApiMetricsMXBean {
+
+    int getEndpointCount();
+
+    long getTotalRequests();
+
+    long getTotalErrors();
+
+    String getPrometheusText();
+
+    String exportNow();
+
+    void reset();
+}
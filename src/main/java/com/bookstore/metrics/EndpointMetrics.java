@@ -0,0 +1,63 @@
+package com.bookstore.metrics;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+@Getter
+public final class EndpointMetrics {
+
+    private final String method;
+    private final String endpoint;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<String, LongAdder> responsesByStatusClass = new ConcurrentHashMap<>();
+
+    EndpointMetrics(String method, String endpoint) {
+        this.method = method;
+        this.endpoint = endpoint;
+    }
+
+    public String getKey() {
+        return key(method, endpoint);
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getInFlightCount() {
+        return inFlight.sum();
+    }
+
+    public long getResponseCount(String statusClass) {
+        LongAdder adder = responsesByStatusClass.get(statusClass);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public long getErrorCount() {
+        return getResponseCount("4xx") + getResponseCount("5xx") + getResponseCount("io");
+    }
+
+    void recordResponse(String statusClass) {
+        responsesByStatusClass.computeIfAbsent(statusClass, k -> new LongAdder()).increment();
+    }
+
+    void reset() {
+        requests.reset();
+        bytesSent.reset();
+        bytesReceived.reset();
+        latency.reset();
+        responsesByStatusClass.values().forEach(LongAdder::reset);
+    }
+
+    static String key(String method, String endpoint) {
+        return method + " " + endpoint;
+    }
+}
@@ -0,0 +1,33 @@
+package com.bookstore.metrics;
+
+
+public interface EndpointMetricsMXBean {
+
+    String getMethod();
+
+    String getEndpoint();
+
+    long getRequestCount();
+
+    long getInFlight();
+
+    long getClientErrorCount();
+
+    long getServerErrorCount();
+
+    long getIoErrorCount();
+
+    long getBytesSent();
+
+    long getBytesReceived();
+
+    double getLatencyMeanMillis();
+
+    double getLatencyP50Millis();
+
+    double getLatencyP95Millis();
+
+    double getLatencyP99Millis();
+
+    double getLatencyMaxMillis();
+}
@@ -0,0 +1,250 @@
+package com.bookstore.metrics;
+
+import com.bookstore.utils.DaemonThreads;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Localhost-only page that shows a running suite live: pass/fail/skip counts, in-flight requests and
+ * per-endpoint latency percentiles over a rolling window, pushed to the browser as Server-Sent Events.
+ * <p>
+ * Test threads only bump {@link LongAdder}s here, and the request path never sees the dashboard at all.
+ * A single ticker thread samples {@link MetricsRegistry} every interval, renders one JSON frame and hands
+ * it to the connected clients. A slow browser delays nothing but its own stream.
+ */
+@Slf4j
+public final class LiveDashboard implements AutoCloseable {
+
+    private static final String PAGE_RESOURCE = "/dashboard.html";
+    private static final double[] QUANTILES = {0.50, 0.95, 0.99};
+
+    private final MetricsRegistry registry;
+    private final HttpServer server;
+    private final ExecutorService clients = Executors.newCachedThreadPool(DaemonThreads.named("dashboard-client-"));
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+            DaemonThreads.named("dashboard-ticker-"));
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final long intervalMillis;
+    private final int windowTicks;
+    private final long startMillis = System.currentTimeMillis();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    // Only touched by the ticker thread
+    private final Map<String, ArrayDeque<Sample>> history = new HashMap<>();
+
+    private final Object frameLock = new Object();
+    private String frame;
+    private long frameVersion;
+    private boolean finished;
+
+    private LiveDashboard(MetricsRegistry registry, int port, long intervalMillis, int windowSeconds)
+            throws IOException {
+        this.registry = registry;
+        this.intervalMillis = Math.max(100, intervalMillis);
+        this.windowTicks = (int) Math.max(1, TimeUnit.SECONDS.toMillis(windowSeconds) / this.intervalMillis);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/events", this::streamEvents);
+        server.createContext("/", this::servePage);
+        server.setExecutor(clients);
+    }
+
+    public static LiveDashboard start(MetricsRegistry registry, int port, long intervalMillis, int windowSeconds)
+            throws IOException {
+        LiveDashboard dashboard = new LiveDashboard(registry, port, intervalMillis, windowSeconds);
+        dashboard.tick();
+        dashboard.server.start();
+        dashboard.ticker.scheduleAtFixedRate(dashboard::tick, dashboard.intervalMillis, dashboard.intervalMillis,
+                TimeUnit.MILLISECONDS);
+        return dashboard;
+    }
+
+    public String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    public void testStarted() {
+        started.increment();
+    }
+
+    public void testFinished(String status) {
+        switch (status) {
+            case "PASSED" -> passed.increment();
+            case "FAILED" -> failed.increment();
+            default -> skipped.increment();
+        }
+    }
+
+    /**
+     * Publishes a last frame marked finished, lets the open streams deliver it and stops the server.
+     */
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+        try {
+            ticker.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (frameLock) {
+            finished = true;
+        }
+        tick();
+        // HttpServer.stop(delay) always waits out the delay on JDK 17, so wait for the streams ourselves
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        try {
+            while (openStreams.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server.stop(0);
+        clients.shutdownNow();
+    }
+
+    private void tick() {
+        try {
+            String rendered = mapper.writeValueAsString(snapshot());
+            synchronized (frameLock) {
+                frame = rendered;
+                frameVersion++;
+                frameLock.notifyAll();
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.debug("Dashboard frame failed: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Object> snapshot() {
+        long now = System.currentTimeMillis();
+        long done = passed.sum() + failed.sum() + skipped.sum();
+        Map<String, Object> frameData = new LinkedHashMap<>();
+        frameData.put("elapsedMs", now - startMillis);
+        frameData.put("finished", finished);
+        frameData.put("passed", passed.sum());
+        frameData.put("failed", failed.sum());
+        frameData.put("skipped", skipped.sum());
+        frameData.put("running", Math.max(0, started.sum() - done));
+        long inFlight = 0;
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (EndpointMetrics metrics : registry.getEndpoints()) {
+            inFlight += metrics.getInFlightCount();
+            endpoints.add(endpointFrame(metrics, now));
+        }
+        frameData.put("inFlight", inFlight);
+        frameData.put("windowSeconds", windowTicks * intervalMillis / 1000.0);
+        frameData.put("endpoints", endpoints);
+        return frameData;
+    }
+
+    // Percentiles come from the difference between the newest histogram snapshot and the oldest one in the window
+    private Map<String, Object> endpointFrame(EndpointMetrics metrics, long now) {
+        ArrayDeque<Sample> samples = history.computeIfAbsent(metrics.getKey(), k -> new ArrayDeque<>());
+        Sample current = new Sample(now, metrics.getLatency().snapshot(), metrics.getErrorCount());
+        samples.addLast(current);
+        while (samples.size() > windowTicks + 1) {
+            samples.removeFirst();
+        }
+        Sample oldest = samples.getFirst();
+        long[] window = new long[current.buckets.length];
+        long requests = 0;
+        for (int i = 0; i < window.length; i++) {
+            // A registry reset (after the warm-up) makes older snapshots larger, so clamp the delta
+            window[i] = Math.max(0, current.buckets[i] - (oldest == current ? 0 : oldest.buckets[i]));
+            requests += window[i];
+        }
+        double seconds = oldest == current ? intervalMillis / 1000.0 : (now - oldest.millis) / 1000.0;
+
+        Map<String, Object> endpoint = new LinkedHashMap<>();
+        endpoint.put("method", metrics.getMethod());
+        endpoint.put("endpoint", metrics.getEndpoint());
+        endpoint.put("requests", metrics.getRequestCount());
+        endpoint.put("errors", metrics.getErrorCount());
+        endpoint.put("inFlight", metrics.getInFlightCount());
+        endpoint.put("rps", Math.round(requests / seconds * 10) / 10.0);
+        endpoint.put("windowErrors", Math.max(0, current.errors - (oldest == current ? 0 : oldest.errors)));
+        for (double quantile : QUANTILES) {
+            endpoint.put("p" + Math.round(quantile * 100) + "Ms",
+                    LatencyHistogram.percentileMicros(window, quantile) / 1000.0);
+        }
+        return endpoint;
+    }
+
+    private void servePage(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream page = LiveDashboard.class.getResourceAsStream(PAGE_RESOURCE)) {
+            if (!"/".equals(exchange.getRequestURI().getPath()) || page == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] body = page.readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    private void streamEvents(HttpExchange exchange) throws IOException {
+        openStreams.incrementAndGet();
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream out = exchange.getResponseBody();
+            out.write("retry: 2000\n\n".getBytes(StandardCharsets.US_ASCII));
+            long seen = 0;
+            while (true) {
+                String next;
+                boolean last;
+                synchronized (frameLock) {
+                    while (frameVersion == seen) {
+                        frameLock.wait();
+                    }
+                    seen = frameVersion;
+                    next = frame;
+                    last = finished;
+                }
+                out.write(("data: " + next + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                if (last) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.debug("Dashboard client went away: {}", e.getMessage());
+        } finally {
+            openStreams.decrementAndGet();
+        }
+    }
+
+    private record Sample(long millis, long[] buckets, long errors) {
+    }
+}
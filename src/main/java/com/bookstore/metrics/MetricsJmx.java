@@ -0,0 +1,162 @@
+package com.bookstore.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+
+@Slf4j
+public final class MetricsJmx {
+
+    private static final String DOMAIN = "com.bookstore";
+    private static volatile boolean registered;
+
+    private MetricsJmx() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static synchronized void register(MetricsRegistry registry) {
+        if (registered) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new ApiMetrics(registry), new ObjectName(DOMAIN + ":type=ApiMetrics"));
+        } catch (JMException e) {
+            log.warn("Could not register API metrics MBean: {}", e.getMessage());
+            return;
+        }
+        registry.onNewEndpoint(metrics -> {
+            try {
+                server.registerMBean(new EndpointView(metrics), new ObjectName(DOMAIN
+                        + ":type=ApiMetrics,method=" + metrics.getMethod()
+                        + ",endpoint=" + ObjectName.quote(metrics.getEndpoint())));
+            } catch (JMException e) {
+                log.warn("Could not register MBean for {}: {}", metrics.getKey(), e.getMessage());
+            }
+        });
+        registered = true;
+        log.debug("API metrics exposed over JMX under {}", DOMAIN);
+    }
+
+    private static final class ApiMetrics implements ApiMetricsMXBean {
+
+        private final MetricsRegistry registry;
+
+        private ApiMetrics(MetricsRegistry registry) {
+            this.registry = registry;
+        }
+
+        @Override
+        public int getEndpointCount() {
+            return registry.getEndpoints().size();
+        }
+
+        @Override
+        public long getTotalRequests() {
+            return registry.getEndpoints().stream().mapToLong(EndpointMetrics::getRequestCount).sum();
+        }
+
+        @Override
+        public long getTotalErrors() {
+            return registry.getEndpoints().stream().mapToLong(EndpointMetrics::getErrorCount).sum();
+        }
+
+        @Override
+        public String getPrometheusText() {
+            return PrometheusExporter.render(registry);
+        }
+
+        @Override
+        public String exportNow() {
+            return String.valueOf(MetricsReporter.export());
+        }
+
+        @Override
+        public void reset() {
+            registry.reset();
+        }
+    }
+
+    private static final class EndpointView implements EndpointMetricsMXBean {
+
+        private final EndpointMetrics metrics;
+
+        private EndpointView(EndpointMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public String getMethod() {
+            return metrics.getMethod();
+        }
+
+        @Override
+        public String getEndpoint() {
+            return metrics.getEndpoint();
+        }
+
+        @Override
+        public long getRequestCount() {
+            return metrics.getRequestCount();
+        }
+
+        @Override
+        public long getInFlight() {
+            return metrics.getInFlightCount();
+        }
+
+        @Override
+        public long getClientErrorCount() {
+            return metrics.getResponseCount("4xx");
+        }
+
+        @Override
+        public long getServerErrorCount() {
+            return metrics.getResponseCount("5xx");
+        }
+
+        @Override
+        public long getIoErrorCount() {
+            return metrics.getResponseCount("io");
+        }
+
+        @Override
+        public long getBytesSent() {
+            return metrics.getBytesSent().sum();
+        }
+
+        @Override
+        public long getBytesReceived() {
+            return metrics.getBytesReceived().sum();
+        }
+
+        @Override
+        public double getLatencyMeanMillis() {
+            return metrics.getLatency().getMeanMicros() / 1000.0;
+        }
+
+        @Override
+        public double getLatencyP50Millis() {
+            return metrics.getLatency().percentileMicros(0.5) / 1000.0;
+        }
+
+        @Override
+        public double getLatencyP95Millis() {
+            return metrics.getLatency().percentileMicros(0.95) / 1000.0;
+        }
+
+        @Override
+        public double getLatencyP99Millis() {
+            return metrics.getLatency().percentileMicros(0.99) / 1000.0;
+        }
+
+        @Override
+        public double getLatencyMaxMillis() {
+            return metrics.getLatency().getMaxMicros() / 1000.0;
+        }
+    }
+}
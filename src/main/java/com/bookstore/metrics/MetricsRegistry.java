@@ -0,0 +1,103 @@
+package com.bookstore.metrics;
+
+import com.bookstore.client.ApiExchange;
+import com.bookstore.client.ExchangeListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+
+/**
+ * Process-wide store of per-endpoint API metrics, keyed by HTTP method and endpoint template.
+ * Besides the fixed {@link EndpointMetrics} set, components can register extra named timers and
+ * counters against the same method/endpoint tags; they are exported alongside the core metrics.
+ */
+public final class MetricsRegistry implements ExchangeListener {
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final Map<MetricKey, LatencyHistogram> timers = new ConcurrentHashMap<>();
+    private final Map<MetricKey, LongAdder> counters = new ConcurrentHashMap<>();
+    private final List<Consumer<EndpointMetrics>> endpointListeners = new CopyOnWriteArrayList<>();
+
+    private MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void onRequestStart(String method, String endpoint) {
+        endpoint(method, endpoint).getInFlight().increment();
+    }
+
+    @Override
+    public void onExchange(ApiExchange exchange) {
+        EndpointMetrics metrics = endpoint(exchange.getMethod(), exchange.getEndpoint());
+        metrics.getInFlight().decrement();
+        metrics.getRequests().increment();
+        metrics.recordResponse(exchange.getStatusClass());
+        metrics.getBytesSent().add(exchange.getRequestBytes());
+        metrics.getBytesReceived().add(exchange.getResponseBytes());
+        metrics.getLatency().recordNanos(exchange.getDurationNanos());
+    }
+
+    public EndpointMetrics endpoint(String method, String endpoint) {
+        EndpointMetrics existing = endpoints.get(EndpointMetrics.key(method, endpoint));
+        if (existing != null) {
+            return existing;
+        }
+        EndpointMetrics created = new EndpointMetrics(method, endpoint);
+        existing = endpoints.putIfAbsent(created.getKey(), created);
+        if (existing != null) {
+            return existing;
+        }
+        endpointListeners.forEach(listener -> listener.accept(created));
+        return created;
+    }
+
+    public LatencyHistogram timer(String name, String method, String endpoint) {
+        return timers.computeIfAbsent(new MetricKey(name, method, endpoint), k -> new LatencyHistogram());
+    }
+
+    public LongAdder counter(String name, String method, String endpoint) {
+        return counters.computeIfAbsent(new MetricKey(name, method, endpoint), k -> new LongAdder());
+    }
+
+    public List<EndpointMetrics> getEndpoints() {
+        List<EndpointMetrics> sorted = new ArrayList<>(endpoints.values());
+        sorted.sort(Comparator.comparing(EndpointMetrics::getEndpoint).thenComparing(EndpointMetrics::getMethod));
+        return sorted;
+    }
+
+    public Map<MetricKey, LatencyHistogram> getTimers() {
+        return timers;
+    }
+
+    public Map<MetricKey, LongAdder> getCounters() {
+        return counters;
+    }
+
+    public void onNewEndpoint(Consumer<EndpointMetrics> listener) {
+        endpointListeners.add(listener);
+        endpoints.values().forEach(listener);
+    }
+
+    // In-flight gauges are left alone: requests running across a reset still have to decrement them
+    public void reset() {
+        endpoints.values().forEach(EndpointMetrics::reset);
+        timers.values().forEach(LatencyHistogram::reset);
+        counters.values().forEach(LongAdder::reset);
+    }
+
+    public record MetricKey(String name, String method, String endpoint) {
+    }
+}
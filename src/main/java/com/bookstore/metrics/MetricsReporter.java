@@ -0,0 +1,43 @@
+package com.bookstore.metrics;
+
+import com.bookstore.config.ConfigurationManager;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+
+@Slf4j
+public final class MetricsReporter {
+
+    private static final String FILE_NAME = "api-metrics.prom";
+
+    private MetricsReporter() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static Path export() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        Path file = Paths.get(ConfigurationManager.getInstance().getMetricsExportDir(), FILE_NAME);
+        try {
+            PrometheusExporter.write(registry, file);
+            log.info("API metrics written to {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Failed to write API metrics to {}: {}", file, e.getMessage());
+        }
+        return file;
+    }
+
+    public static void logSummary() {
+        log.info("=== API Metrics ===");
+        for (EndpointMetrics m : MetricsRegistry.getInstance().getEndpoints()) {
+            LatencyHistogram latency = m.getLatency();
+            log.info("{} {} - requests: {}, errors: {}, p50: {} ms, p95: {} ms, p99: {} ms, max: {} ms",
+                    m.getMethod(), m.getEndpoint(), m.getRequestCount(), m.getErrorCount(),
+                    latency.percentileMicros(0.5) / 1000, latency.percentileMicros(0.95) / 1000,
+                    latency.percentileMicros(0.99) / 1000, latency.getMaxMicros() / 1000);
+        }
+        log.info("===================");
+    }
+}
@@ -0,0 +1,129 @@
+package com.bookstore.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+public final class PrometheusExporter {
+
+    private static final String PREFIX = "bookstore_api_";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.95, 0.99, 0.999};
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx", "io"};
+
+    private PrometheusExporter() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static String render(MetricsRegistry registry) {
+        StringBuilder out = new StringBuilder(4096);
+        header(out, "requests_total", "counter", "Requests sent per endpoint template and method");
+        registry.getEndpoints().forEach(m -> sample(out, "requests_total", tags(m), m.getRequestCount()));
+
+        header(out, "responses_total", "counter", "Responses per status class; status_class=\"io\" means no response");
+        registry.getEndpoints().forEach(m -> {
+            for (String statusClass : STATUS_CLASSES) {
+                long count = m.getResponseCount(statusClass);
+                if (count > 0) {
+                    sample(out, "responses_total", tags(m) + ",status_class=\"" + statusClass + "\"", count);
+                }
+            }
+        });
+
+        header(out, "errors_total", "counter", "Responses with a 4xx or 5xx status or without a response at all");
+        registry.getEndpoints().forEach(m -> sample(out, "errors_total", tags(m), m.getErrorCount()));
+
+        header(out, "request_bytes_total", "counter", "Request body bytes sent");
+        registry.getEndpoints().forEach(m -> sample(out, "request_bytes_total", tags(m), m.getBytesSent().sum()));
+
+        header(out, "response_bytes_total", "counter", "Response body bytes received");
+        registry.getEndpoints().forEach(m -> sample(out, "response_bytes_total", tags(m), m.getBytesReceived().sum()));
+
+        header(out, "in_flight_requests", "gauge", "Requests currently awaiting a response");
+        registry.getEndpoints().forEach(m -> sample(out, "in_flight_requests", tags(m), m.getInFlightCount()));
+
+        Map<String, LatencyHistogram> latencies = new TreeMap<>();
+        registry.getEndpoints().forEach(m -> latencies.put(tags(m), m.getLatency()));
+        summaries(out, "latency_seconds", "Client-observed request latency", latencies);
+
+        Map<String, Map<String, LatencyHistogram>> timersByName = new TreeMap<>();
+        registry.getTimers().forEach((key, histogram) -> timersByName
+                .computeIfAbsent(key.name(), k -> new TreeMap<>())
+                .put(tags(key.method(), key.endpoint()), histogram));
+        timersByName.forEach((name, series) -> summaries(out, name + "_seconds", "Timer " + name, series));
+
+        Map<String, Map<String, LongAdder>> countersByName = new TreeMap<>();
+        registry.getCounters().forEach((key, counter) -> countersByName
+                .computeIfAbsent(key.name(), k -> new TreeMap<>())
+                .put(tags(key.method(), key.endpoint()), counter));
+        countersByName.forEach((name, series) -> {
+            header(out, name + "_total", "counter", "Counter " + name);
+            series.forEach((tags, counter) -> sample(out, name + "_total", tags, counter.sum()));
+        });
+        return out.toString();
+    }
+
+    // Written to a temp file and moved so scrapers tailing the directory never see a partial file
+    public static Path write(MetricsRegistry registry, Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temp, render(registry), StandardCharsets.UTF_8);
+        return Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // A summary family may only hold quantiles, _sum and _count, so the maximum is a gauge family of its own
+    private static void summaries(StringBuilder out, String name, String help,
+                                  Map<String, LatencyHistogram> series) {
+        Map<String, Long> maxima = new TreeMap<>();
+        header(out, name, "summary", help);
+        series.forEach((tags, histogram) -> {
+            long[] counts = histogram.snapshot();
+            long max = histogram.getMaxMicros();
+            for (double quantile : QUANTILES) {
+                sample(out, name, tags + ",quantile=\"" + quantile + "\"",
+                        seconds(Math.min(LatencyHistogram.percentileMicros(counts, quantile), max)));
+            }
+            sample(out, name + "_sum", tags, seconds(histogram.getSumMicros()));
+            sample(out, name + "_count", tags, histogram.getCount());
+            maxima.put(tags, max);
+        });
+        header(out, name + "_max", "gauge", "Maximum of " + name);
+        maxima.forEach((tags, max) -> sample(out, name + "_max", tags, seconds(max)));
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String tags, long value) {
+        out.append(PREFIX).append(name).append('{').append(tags).append("} ").append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String tags, double value) {
+        out.append(PREFIX).append(name).append('{').append(tags).append("} ")
+                .append(String.format(Locale.ROOT, "%.6f", value)).append('\n');
+    }
+
+    private static String tags(EndpointMetrics metrics) {
+        return tags(metrics.getMethod(), metrics.getEndpoint());
+    }
+
+    private static String tags(String method, String endpoint) {
+        return "method=\"" + escape(method) + "\",endpoint=\"" + escape(endpoint) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static double seconds(long micros) {
+        return micros / 1_000_000.0;
+    }
+}
@@ -1,8 +1,8 @@
 package com.bookstore.models;
 
+import com.bookstore.utils.FakerProvider;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.github.javafaker.Faker;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,7 +16,6 @@ import lombok.experimental.SuperBuilder;
 @AllArgsConstructor            // Generates all-args constructor
 @JsonIgnoreProperties(ignoreUnknown = true)  // Ignores unknown JSON properties
 public class Author {
-    private static final Faker faker = new Faker();
     @JsonProperty("id")
     private Integer id;
 
@@ -33,8 +32,8 @@ public class Author {
 
     public static Author createMinimalAuthor() {
         return Author.builder()
-                .id(faker.number().randomDigit())
-                .idBook(faker.number().randomDigit())
+                .id(FakerProvider.get().number().randomDigit())
+                .idBook(FakerProvider.get().number().randomDigit())
                 .build();
     }
 
@@ -0,0 +1,162 @@
+package com.bookstore.polling;
+
+import com.bookstore.config.Configuration;
+import com.bookstore.config.ConfigurationManager;
+import com.bookstore.metrics.MetricsRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Waits for eventually consistent API state. The first check is immediate; after that the poll
+ * schedule comes from the lags observed for the same target in earlier runs (checks placed at
+ * their 50th, 75th, 90th and 99th percentile), continuing with exponential backoff. Without enough
+ * history it starts at {@code polling.initial.interval.ms} and doubles up to
+ * {@code polling.max.interval.ms}. Every delay gets +/-20% jitter so parallel tests do not poll in step.
+ * Exceptions thrown by the condition count as "not yet".
+ */
+@Slf4j
+public final class AdaptivePoller {
+
+    private static final int MIN_SAMPLES_TO_LEARN = 5;
+    private static final double[] LEARNED_QUANTILES = {0.5, 0.75, 0.9, 0.99};
+    private static volatile AdaptivePoller instance;
+
+    private final Configuration config = ConfigurationManager.getInstance();
+    private final ConsistencyLagHistory history;
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder waitedNanos = new LongAdder();
+
+    private AdaptivePoller() {
+        history = new ConsistencyLagHistory(Paths.get(config.getPollingHistoryFile()));
+    }
+
+    public static AdaptivePoller getInstance() {
+        if (instance == null) {
+            synchronized (AdaptivePoller.class) {
+                if (instance == null) {
+                    instance = new AdaptivePoller();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Polls {@code condition} until it returns true or {@code timeout} elapses. The lag history is kept
+     * per {@code method endpoint -> expectation}, e.g. {@code GET /Books/{id} -> 404}.
+     */
+    public boolean await(String method, String endpoint, String expectation, Duration timeout,
+                         Callable<Boolean> condition) {
+        String key = method + " " + endpoint + " -> " + expectation;
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        List<Long> schedule = schedule(key);
+        int attempts = 0;
+        Exception lastError = null;
+        boolean satisfied = false;
+        long checkStart;
+        while (true) {
+            attempts++;
+            checkStart = System.nanoTime();
+            try {
+                if (Boolean.TRUE.equals(condition.call())) {
+                    satisfied = true;
+                    break;
+                }
+            } catch (Exception e) {
+                lastError = e;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            // The shift is capped so that long waits never overflow into a tight polling loop
+            long delayMillis = jitter(attempts - 1 < schedule.size()
+                    ? schedule.get(attempts - 1)
+                    : Math.min(schedule.get(schedule.size() - 1) << Math.min(attempts - schedule.size(), 30),
+                    config.getPollingMaxIntervalMillis()));
+            try {
+                Thread.sleep(Math.min(delayMillis, TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        long waited = System.nanoTime() - start;
+        report(method, endpoint, key, satisfied, attempts, waited, checkStart - start, lastError);
+        return satisfied;
+    }
+
+    // Delays between consecutive checks, in milliseconds
+    List<Long> schedule(String key) {
+        List<Long> delays = new ArrayList<>();
+        long[] lags = history.sorted(key);
+        long previous = 0;
+        if (lags.length >= MIN_SAMPLES_TO_LEARN) {
+            for (double quantile : LEARNED_QUANTILES) {
+                long at = lags[Math.min(lags.length - 1, (int) Math.ceil(quantile * lags.length) - 1)];
+                if (at > previous) {
+                    delays.add(at - previous);
+                    previous = at;
+                }
+            }
+        }
+        if (delays.isEmpty()) {
+            delays.add(config.getPollingInitialIntervalMillis());
+        }
+        return delays;
+    }
+
+    // The lag is when the successful check was sent, so a state that was already consistent records zero
+    private void report(String method, String endpoint, String key, boolean satisfied, int attempts, long waited,
+                        long lagNanos, Exception lastError) {
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(waited);
+        waits.increment();
+        polls.add(attempts);
+        waitedNanos.add(waited);
+        if (satisfied) {
+            history.record(key, TimeUnit.NANOSECONDS.toMillis(lagNanos));
+            log.info("Waited {} ms ({} polls) for {}", waitedMillis, attempts, key);
+        } else {
+            timeouts.increment();
+            log.warn("Gave up on {} after {} ms ({} polls){}", key, waitedMillis, attempts,
+                    lastError == null ? "" : ", last error: " + lastError.getMessage());
+        }
+        if (config.isMetricsEnabled()) {
+            MetricsRegistry registry = MetricsRegistry.getInstance();
+            registry.timer("consistency_wait", method, endpoint).recordNanos(waited);
+            registry.counter("consistency_polls", method, endpoint).add(attempts);
+            if (!satisfied) {
+                registry.counter("consistency_timeouts", method, endpoint).increment();
+            }
+        }
+    }
+
+    private static long jitter(long delayMillis) {
+        return Math.max(1, Math.round(delayMillis * ThreadLocalRandom.current().nextDouble(0.8, 1.2)));
+    }
+
+    public long getWaitCount() {
+        return waits.sum();
+    }
+
+    public String summary() {
+        return String.format("%d waits, %d polls, %d timeouts, %d ms waited in total",
+                waits.sum(), polls.sum(), timeouts.sum(), TimeUnit.NANOSECONDS.toMillis(waitedNanos.sum()));
+    }
+
+    public void saveHistory() {
+        history.save();
+    }
+}
@@ -0,0 +1,110 @@
+package com.bookstore.polling;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+
+/**
+ * The most recent observed consistency lags (milliseconds from the first poll until the condition held)
+ * per wait target, persisted as one {@code key<TAB>lag,lag,...} line per target.
+ */
+@Slf4j
+final class ConsistencyLagHistory {
+
+    static final int MAX_SAMPLES = 200;
+
+    private final Path file;
+    private final Map<String, Deque<Long>> samples = new ConcurrentHashMap<>();
+
+    ConsistencyLagHistory(Path file) {
+        this.file = file;
+        load();
+    }
+
+    void record(String key, long lagMillis) {
+        Deque<Long> lags = samples.computeIfAbsent(key, k -> new ArrayDeque<>());
+        synchronized (lags) {
+            if (lags.size() == MAX_SAMPLES) {
+                lags.removeFirst();
+            }
+            lags.addLast(lagMillis);
+        }
+    }
+
+    long[] sorted(String key) {
+        Deque<Long> lags = samples.get(key);
+        if (lags == null) {
+            return new long[0];
+        }
+        long[] values;
+        synchronized (lags) {
+            values = lags.stream().mapToLong(Long::longValue).toArray();
+        }
+        Arrays.sort(values);
+        return values;
+    }
+
+    // Targets this run never waited on are carried over from the file, so forks sharing it do not drop each other's
+    synchronized void save() {
+        Map<String, Deque<Long>> merged = new TreeMap<>(read());
+        merged.putAll(samples);
+        StringBuilder content = new StringBuilder();
+        merged.forEach((key, lags) -> {
+            synchronized (lags) {
+                content.append(key).append('\t')
+                        .append(lags.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                        .append('\n');
+            }
+        });
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to save consistency lag history to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void load() {
+        samples.putAll(read());
+    }
+
+    private Map<String, Deque<Long>> read() {
+        Map<String, Deque<Long>> entries = new TreeMap<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                if (fields.length == 2 && !fields[1].isEmpty()) {
+                    Deque<Long> lags = new ArrayDeque<>();
+                    for (String lag : fields[1].split(",")) {
+                        lags.addLast(Long.parseLong(lag));
+                    }
+                    while (lags.size() > MAX_SAMPLES) {
+                        lags.removeFirst();
+                    }
+                    entries.put(fields[0], lags);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            log.debug("No consistency lag history at {}", file.toAbsolutePath());
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Ignoring unreadable consistency lag history {}: {}", file, e.getMessage());
+            entries.clear();
+        }
+        return entries;
+    }
+}
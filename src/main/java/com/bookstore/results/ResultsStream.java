@@ -0,0 +1,272 @@
+package com.bookstore.results;
+
+import com.bookstore.client.ApiExchange;
+import com.bookstore.client.ExchangeListener;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Appends one compact JSON object per line to a single file: suite and test lifecycle transitions plus one
+ * summary per HTTP exchange. Callers only enqueue into a bounded queue; a single writer thread serializes
+ * and flushes every {@code flushIntervalMillis}, so the file can be tailed while the suite runs.
+ * <p>
+ * Lifecycle events wait for queue space and are never lost. Exchange summaries are dropped when the queue
+ * is full and counted in the {@code suite_end} event instead of slowing the tests down.
+ */
+@Slf4j
+public final class ResultsStream implements ExchangeListener, AutoCloseable {
+
+    private static final int BATCH_SIZE = 512;
+
+    private final Path file;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<Event> queue;
+    private final Thread writer;
+    private final ThreadLocal<String> currentTest = new ThreadLocal<>();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private ResultsStream(Path file, int capacity, long flushIntervalMillis) throws IOException {
+        this.file = file;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+        this.queue = new ArrayBlockingQueue<>(Math.max(BATCH_SIZE, capacity));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        JsonGenerator json = new JsonFactory()
+                .createGenerator(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))
+                .setRootValueSeparator(null);
+        this.writer = new Thread(() -> writeLoop(json), "results-stream");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Truncates {@code file} and starts the writer thread.
+     */
+    public static ResultsStream open(Path file, int capacity, long flushIntervalMillis) throws IOException {
+        ResultsStream stream = new ResultsStream(file, capacity, flushIntervalMillis);
+        Runtime.getRuntime().addShutdownHook(new Thread(stream::close, "results-stream-close"));
+        return stream;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void suiteStarted(String suite) {
+        long ts = System.currentTimeMillis();
+        enqueue(json -> {
+            header(json, "suite_start", ts);
+            json.writeStringField("suite", suite);
+        });
+    }
+
+    public void suiteFinished(String suite, long durationMillis) {
+        long ts = System.currentTimeMillis();
+        long passedCount = passed.sum();
+        long failedCount = failed.sum();
+        long skippedCount = skipped.sum();
+        enqueue(json -> {
+            header(json, "suite_end", ts);
+            json.writeStringField("suite", suite);
+            json.writeNumberField("duration_ms", durationMillis);
+            json.writeNumberField("passed", passedCount);
+            json.writeNumberField("failed", failedCount);
+            json.writeNumberField("skipped", skippedCount);
+            json.writeNumberField("dropped", dropped.sum());
+        });
+    }
+
+    public void testStarted(String test) {
+        currentTest.set(test);
+        long ts = System.currentTimeMillis();
+        String thread = Thread.currentThread().getName();
+        enqueue(json -> {
+            header(json, "test_start", ts);
+            json.writeStringField("test", test);
+            json.writeStringField("thread", thread);
+        });
+    }
+
+    public void testFinished(String test, String status, long durationMillis, Throwable failure) {
+        currentTest.remove();
+        switch (status) {
+            case "PASSED" -> passed.increment();
+            case "FAILED" -> failed.increment();
+            default -> skipped.increment();
+        }
+        long ts = System.currentTimeMillis();
+        String error = failure == null ? null : String.valueOf(failure.getMessage());
+        enqueue(json -> {
+            header(json, "test_end", ts);
+            json.writeStringField("test", test);
+            json.writeStringField("status", status);
+            json.writeNumberField("duration_ms", durationMillis);
+            if (error != null) {
+                json.writeStringField("error", error);
+            }
+        });
+    }
+
+    @Override
+    public void onExchange(ApiExchange exchange) {
+        if (closed.get()) {
+            return;
+        }
+        long ts = System.currentTimeMillis();
+        String test = currentTest.get();
+        // Copy the scalars: a queued event must not pin the exchange and its body buffers
+        String method = exchange.getMethod();
+        String endpoint = exchange.getEndpoint();
+        int status = exchange.getStatusCode();
+        long durationMicros = exchange.getDurationNanos() / 1_000;
+        long requestBytes = exchange.getRequestBytes();
+        long responseBytes = exchange.getResponseBytes();
+        String error = exchange.isFailed() ? exchange.getFailure().toString() : null;
+        Event event = json -> {
+            header(json, "http", ts);
+            if (test != null) {
+                json.writeStringField("test", test);
+            }
+            json.writeStringField("method", method);
+            json.writeStringField("endpoint", endpoint);
+            json.writeNumberField("status", status);
+            json.writeNumberField("duration_us", durationMicros);
+            json.writeNumberField("request_bytes", requestBytes);
+            json.writeNumberField("response_bytes", responseBytes);
+            if (error != null) {
+                json.writeStringField("error", error);
+            }
+        };
+        if (!queue.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Blocks until everything enqueued so far is on disk, or the timeout elapses.
+     */
+    public boolean flush(long timeoutMillis) {
+        if (closed.get() || !writer.isAlive()) {
+            return false;
+        }
+        CountDownLatch written = new CountDownLatch(1);
+        enqueue(new Barrier(written));
+        try {
+            return written.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            queue.put(new Barrier(null));
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped.sum() > 0) {
+            log.warn("Results stream dropped {} exchange events, raise results.stream.queue.capacity", dropped.sum());
+        }
+    }
+
+    private void enqueue(Event event) {
+        if (closed.get()) {
+            return;
+        }
+        try {
+            queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop(JsonGenerator json) {
+        List<Event> batch = new ArrayList<>(BATCH_SIZE);
+        long lastFlush = System.nanoTime();
+        boolean dirty = false;
+        try (json) {
+            while (true) {
+                Event first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                }
+                for (Event event : batch) {
+                    if (event instanceof Barrier barrier) {
+                        json.flush();
+                        dirty = false;
+                        lastFlush = System.nanoTime();
+                        if (barrier.written == null) {
+                            return;
+                        }
+                        barrier.written.countDown();
+                        continue;
+                    }
+                    json.writeStartObject();
+                    event.writeTo(json);
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                    dirty = true;
+                }
+                batch.clear();
+                if (dirty && System.nanoTime() - lastFlush >= flushIntervalNanos) {
+                    json.flush();
+                    dirty = false;
+                    lastFlush = System.nanoTime();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Results stream {} stopped: {}", file, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closed.set(true);
+            queue.clear();
+        }
+    }
+
+    private static void header(JsonGenerator json, String type, long ts) throws IOException {
+        json.writeStringField("type", type);
+        json.writeNumberField("ts", ts);
+    }
+
+
+    @FunctionalInterface
+    private interface Event {
+        void writeTo(JsonGenerator json) throws IOException;
+    }
+
+
+    private record Barrier(CountDownLatch written) implements Event {
+
+        @Override
+        public void writeTo(JsonGenerator json) {
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.bookstore.scheduling;
+
+import com.bookstore.config.ConfigurationManager;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Local store of historical test durations, one exponentially weighted moving average per
+ * {@code Class#method}. Lives in {@code <scheduler.history.dir>/durations.tsv} and is meant to be
+ * cached between CI runs; a missing or unreadable file just means "no history".
+ */
+@Slf4j
+public final class DurationHistory {
+
+    private static final String FILE_NAME = "durations.tsv";
+    private static final double SMOOTHING = 0.3;
+    private static volatile DurationHistory instance;
+
+    private final Path file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    DurationHistory(Path file) {
+        this.file = file;
+        load();
+    }
+
+    public static DurationHistory getInstance() {
+        if (instance == null) {
+            synchronized (DurationHistory.class) {
+                if (instance == null) {
+                    instance = new DurationHistory(fileIn(ConfigurationManager.getInstance().getSchedulerHistoryDir()));
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static Path fileIn(String directory) {
+        return Paths.get(directory, FILE_NAME);
+    }
+
+    /**
+     * Folds the histories written by shards back into {@code target}. Each shard started from the same
+     * history and only advanced the tests it ran, so per test the entry with the most samples wins.
+     */
+    public static void merge(Path target, List<Path> shardFiles) {
+        DurationHistory merged = new DurationHistory(target);
+        for (Path shardFile : shardFiles) {
+            new DurationHistory(shardFile).entries.forEach((key, entry) -> merged.entries.merge(key, entry,
+                    (current, candidate) -> candidate.samples() > current.samples() ? candidate : current));
+        }
+        merged.save();
+    }
+
+    public static String key(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    public void record(String key, long durationMillis) {
+        entries.merge(key, new Entry(durationMillis, 1), (old, sample) -> new Entry(
+                Math.round(old.millis() + SMOOTHING * (sample.millis() - old.millis())), old.samples() + 1));
+    }
+
+    public OptionalLong estimateMillis(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? OptionalLong.empty() : OptionalLong.of(entry.millis());
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> sorted = new TreeMap<>();
+        entries.forEach((key, entry) -> sorted.put(key, entry.millis()));
+        return sorted;
+    }
+
+    public synchronized void save() {
+        StringBuilder content = new StringBuilder();
+        new TreeMap<>(entries).forEach((key, entry) ->
+                content.append(key).append('\t').append(entry.millis()).append('\t').append(entry.samples()).append('\n'));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Saved {} test durations to {}", entries.size(), file.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Failed to save test durations to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void load() {
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                if (fields.length == 3) {
+                    entries.put(fields[0], new Entry(Long.parseLong(fields[1]), Long.parseLong(fields[2])));
+                }
+            }
+            log.debug("Loaded {} test durations from {}", entries.size(), file.toAbsolutePath());
+        } catch (NoSuchFileException e) {
+            log.debug("No test duration history at {}", file.toAbsolutePath());
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Ignoring unreadable test duration history {}: {}", file, e.getMessage());
+            entries.clear();
+        }
+    }
+
+    private record Entry(long millis, long samples) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.bookstore.scheduling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+
+/**
+ * Longest-processing-time-first list scheduling: items sorted by descending cost, each handed to the
+ * currently least-loaded bin. Guarantees a makespan within 4/3 of optimal.
+ */
+public final class LptScheduler {
+
+    private LptScheduler() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    // The sort is stable, so items of equal cost keep their incoming order
+    public static <T> List<T> longestFirst(List<T> items, ToLongFunction<T> cost) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingLong(cost).reversed());
+        return sorted;
+    }
+
+    public static <T> List<List<T>> assign(List<T> items, ToLongFunction<T> cost, int bins) {
+        List<List<T>> assignment = new ArrayList<>(bins);
+        PriorityQueue<long[]> loads = new PriorityQueue<>(Comparator.<long[]>comparingLong(load -> load[0])
+                .thenComparingLong(load -> load[1]));
+        for (int i = 0; i < bins; i++) {
+            assignment.add(new ArrayList<>());
+            loads.add(new long[]{0, i});
+        }
+        for (T item : longestFirst(items, cost)) {
+            long[] least = loads.poll();
+            assignment.get((int) least[1]).add(item);
+            least[0] += cost.applyAsLong(item);
+            loads.add(least);
+        }
+        return assignment;
+    }
+
+    public static <T> long makespan(List<T> items, ToLongFunction<T> cost, int bins) {
+        return assign(items, cost, bins).stream()
+                .mapToLong(bin -> bin.stream().mapToLong(cost).sum())
+                .max()
+                .orElse(0);
+    }
+}
@@ -0,0 +1,257 @@
+package com.bookstore.scheduling;
+
+import com.bookstore.config.Configuration;
+import com.bookstore.config.ConfigurationManager;
+import com.bookstore.trends.TrendStore;
+import com.bookstore.utils.ContentAddressedAttachments;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+
+/**
+ * Runs a TestNG suite as {@code shard.count} forked JVMs, each selecting its shard through
+ * {@code -Dshard.index}. All forks write Allure results into the same directory, so they merge into
+ * one report; TestNG output, metrics and logs go to {@code target/shards/shard-<i>}. Per-shard
+ * duration histories are merged back into {@code scheduler.history.dir}, and the shards' trend stores
+ * into {@code trends.dir} as a single run, when every fork has finished.
+ * <p>
+ * Usage: {@code ShardLauncher <suite.xml> [-Dkey=value ...]}, the extra properties are passed to every fork.
+ * <p>
+ * With {@code startup.cds.enabled} the forks share an AppCDS archive of the suite's classes. The archive is
+ * (re)built by one training run of the smoke suite against the stub backend whenever it is missing or older
+ * than anything on the classpath.
+ */
+@Slf4j
+public final class ShardLauncher {
+
+    private static final Path SHARDS_DIR = Paths.get("target", "shards");
+    private static final String TRAINING_SUITE = "src/main/resources/testng-smoke.xml";
+
+    private ShardLauncher() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: ShardLauncher <suite.xml> [-Dkey=value ...]");
+        }
+        Configuration config = ConfigurationManager.getInstance();
+        int shardCount = config.getShardCount() > 1
+                ? config.getShardCount()
+                : Runtime.getRuntime().availableProcessors();
+        Path history = DurationHistory.fileIn(config.getSchedulerHistoryDir());
+        String allureResults = System.getProperty("allure.results.directory", "target/allure-results");
+        String classpath = System.getProperty("java.class.path");
+        Path cdsArchive = null;
+        if (config.isStartupCdsEnabled()) {
+            Path archive = Paths.get(config.getStartupCdsArchive()).toAbsolutePath();
+            String jarClasspath = jarDirectories(classpath, archive.resolveSibling("classpath"));
+            cdsArchive = prepareCdsArchive(archive, jarClasspath);
+            if (cdsArchive != null) {
+                classpath = jarClasspath;
+            }
+        }
+
+        List<Process> forks = new ArrayList<>();
+        List<Path> shardHistories = new ArrayList<>();
+        List<Path> shardTrends = new ArrayList<>();
+        String runLabel = config.getTrendsRunLabel();
+        long start = System.nanoTime();
+        for (int index = 0; index < shardCount; index++) {
+            Path shardDir = SHARDS_DIR.resolve("shard-" + index);
+            Path shardHistoryDir = shardDir.resolve("history");
+            Files.createDirectories(shardHistoryDir);
+            Path shardHistory = DurationHistory.fileIn(shardHistoryDir.toString());
+            if (Files.exists(history)) {
+                Files.copy(history, shardHistory, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.deleteIfExists(shardHistory);
+            }
+            shardHistories.add(shardHistory);
+            Path shardTrendDir = shardDir.resolve("trends");
+            deleteRecursively(shardTrendDir);
+            shardTrends.add(shardTrendDir);
+
+            List<String> command = new ArrayList<>(List.of(javaExecutable()));
+            if (cdsArchive != null) {
+                command.add("-XX:SharedArchiveFile=" + cdsArchive);
+            }
+            command.addAll(List.of(
+                    "-cp", classpath,
+                    "-Dshard.count=" + shardCount,
+                    "-Dshard.index=" + index,
+                    "-Dscheduler.history.dir=" + shardHistoryDir,
+                    "-Dallure.results.directory=" + allureResults,
+                    "-Dallure.attachments.compact=false",
+                    "-Dmetrics.export.dir=" + shardDir.resolve("metrics"),
+                    "-Djfr.output.dir=" + shardDir.resolve("jfr"),
+                    "-Dresults.stream.file=" + shardDir.resolve("events.ndjson"),
+                    "-Dopenapi.report.file=" + shardDir.resolve("openapi-conformance.txt"),
+                    "-Dtrends.dir=" + shardTrendDir,
+                    "-Dtrends.run.label=" + runLabel));
+            for (int i = 1; i < args.length; i++) {
+                if (!args[i].isBlank()) {
+                    command.addAll(List.of(args[i].trim().split("\\s+")));
+                }
+            }
+            command.addAll(List.of("org.testng.TestNG", "-d", shardDir.resolve("testng").toString(), args[0]));
+            forks.add(new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(shardDir.resolve("output.log").toFile())
+                    .start());
+        }
+        log.info("Started {} shards of {}, output in {}", shardCount, args[0], SHARDS_DIR.toAbsolutePath());
+
+        int exitCode = 0;
+        for (int index = 0; index < forks.size(); index++) {
+            int code = forks.get(index).waitFor();
+            log.info("Shard {}/{} finished with exit code {}", index + 1, shardCount, code);
+            exitCode = Math.max(exitCode, code);
+        }
+        DurationHistory.merge(history, shardHistories);
+        if (config.isTrendsEnabled()) {
+            mergeTrends(config.getTrendsDir(), shardTrends);
+        }
+        if (config.isAllureAttachmentCompactEnabled() && Files.isDirectory(Paths.get(allureResults))) {
+            log.info("Compacted {}: {}", allureResults, ContentAddressedAttachments.compact(Paths.get(allureResults)));
+        }
+        log.info("All shards finished in {} ms, Allure results in {}",
+                (System.nanoTime() - start) / 1_000_000, Paths.get(allureResults).toAbsolutePath());
+        System.exit(exitCode);
+    }
+
+    /**
+     * Returns the archive, training it first if it is stale, or null if training failed -
+     * the shards then start without CDS rather than not at all.
+     */
+    private static Path prepareCdsArchive(Path archive, String classpath) throws IOException, InterruptedException {
+        if (Files.exists(archive) && Files.getLastModifiedTime(archive).compareTo(newestOf(classpath)) > 0) {
+            log.info("Using CDS archive {}", archive);
+            return archive;
+        }
+        Path trainingDir = archive.resolveSibling("training");
+        Files.createDirectories(trainingDir);
+        Files.deleteIfExists(archive);
+        List<String> command = List.of(
+                javaExecutable(),
+                "-XX:ArchiveClassesAtExit=" + archive,
+                "-cp", classpath,
+                "-Dstub.enabled=true",
+                "-Dstub.books.count=200",
+                "-Dstub.authors.count=200",
+                "-Dscheduler.history.dir=" + trainingDir.resolve("history"),
+                "-Dallure.results.directory=" + trainingDir.resolve("allure-results"),
+                "-Dmetrics.export.dir=" + trainingDir.resolve("metrics"),
+                "org.testng.TestNG", "-d", trainingDir.resolve("testng").toString(), TRAINING_SUITE);
+        log.info("Training CDS archive {} with {}", archive, TRAINING_SUITE);
+        long start = System.nanoTime();
+        int code = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(trainingDir.resolve("output.log").toFile())
+                .start()
+                .waitFor();
+        if (!Files.exists(archive)) {
+            log.warn("CDS training exited with code {} and wrote no archive, see {}; shards start without CDS",
+                    code, trainingDir.resolve("output.log"));
+            return null;
+        }
+        log.info("CDS archive trained in {} ms ({} KiB)",
+                (System.nanoTime() - start) / 1_000_000, Files.size(archive) / 1024);
+        return archive;
+    }
+
+    // CDS only archives classes loaded from jars, so class directories are packed into jars first
+    private static String jarDirectories(String classpath, Path jarDir) throws IOException {
+        Files.createDirectories(jarDir);
+        List<String> entries = new ArrayList<>();
+        String[] paths = classpath.split(File.pathSeparator);
+        for (int i = 0; i < paths.length; i++) {
+            Path path = Paths.get(paths[i]);
+            if (!Files.isDirectory(path)) {
+                entries.add(paths[i]);
+                continue;
+            }
+            Path jar = jarDir.resolve(i + "-" + path.getFileName() + ".jar");
+            if (!Files.exists(jar) || Files.getLastModifiedTime(jar).compareTo(newestOf(paths[i])) <= 0) {
+                writeJar(path, jar);
+            }
+            entries.add(jar.toAbsolutePath().toString());
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static void writeJar(Path dir, Path jar) throws IOException {
+        Path tmp = jar.resolveSibling(jar.getFileName() + ".tmp");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(tmp));
+             Stream<Path> files = Files.walk(dir)) {
+            // Directory entries too, TestNG's <packages> scanning looks packages up as resources
+            for (Path file : (Iterable<Path>) files.filter(file -> !file.equals(dir)).sorted()::iterator) {
+                String name = dir.relativize(file).toString().replace(File.separatorChar, '/');
+                boolean directory = Files.isDirectory(file);
+                out.putNextEntry(new JarEntry(directory ? name + "/" : name));
+                if (!directory) {
+                    Files.copy(file, out);
+                }
+                out.closeEntry();
+            }
+        }
+        Files.move(tmp, jar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static FileTime newestOf(String classpath) throws IOException {
+        FileTime newest = FileTime.fromMillis(0);
+        for (String entry : classpath.split(File.pathSeparator)) {
+            Path path = Paths.get(entry);
+            if (!Files.exists(path)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(path)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    FileTime modified = Files.getLastModifiedTime(file);
+                    if (modified.compareTo(newest) > 0) {
+                        newest = modified;
+                    }
+                }
+            }
+        }
+        return newest;
+    }
+
+    private static void mergeTrends(String target, List<Path> shardTrends) throws IOException {
+        List<TrendStore> sources = new ArrayList<>();
+        for (Path shardTrend : shardTrends) {
+            if (Files.isDirectory(shardTrend)) {
+                sources.add(TrendStore.open(shardTrend));
+            }
+        }
+        TrendStore.open(Paths.get(target)).merge(sources);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static String javaExecutable() {
+        return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    }
+}
@@ -0,0 +1,135 @@
+package com.bookstore.schema;
+
+import com.bookstore.utils.JsonUtils;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+
+
+/**
+ * A draft-04 schema compiled for repeated use: the full validator plus, where the schema allows it, a
+ * {@link FastSchema} that passes valid instances without building a report. An array schema with an
+ * {@code items} object is validated element by element while the document is streamed.
+ */
+public final class CompiledSchema {
+
+    private static final ObjectMapper MAPPER = JsonUtils.getObjectMapper();
+
+    private final JsonSchema root;
+    private final FastSchema rootFast;
+    private final JsonSchema items;
+    private final FastSchema itemsFast;
+
+    private CompiledSchema(JsonSchema root, FastSchema rootFast, JsonSchema items, FastSchema itemsFast) {
+        this.root = root;
+        this.rootFast = rootFast;
+        this.items = items;
+        this.itemsFast = itemsFast;
+    }
+
+    /**
+     * Compiles a self-contained schema, one without {@code $ref}s to other documents.
+     */
+    public static CompiledSchema of(JsonNode schema) {
+        try {
+            JsonSchemaFactory factory = Factory.INSTANCE;
+            Function<String, JsonNode> noRefs = ref -> {
+                throw new IllegalArgumentException("Unresolved $ref " + ref);
+            };
+            if (isList(schema)) {
+                return new CompiledSchema(factory.getJsonSchema(schema), null,
+                        factory.getJsonSchema(schema, "/items"), FastSchema.compile(schema.get("items"), noRefs));
+            }
+            return new CompiledSchema(factory.getJsonSchema(schema), FastSchema.compile(schema, noRefs), null, null);
+        } catch (ProcessingException e) {
+            throw new IllegalStateException("Invalid schema: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Compiles a schema loaded from {@code uri}, whose relative {@code $ref}s {@code refs} loads.
+     */
+    static CompiledSchema of(String uri, JsonNode schema, Function<String, JsonNode> refs) throws ProcessingException {
+        JsonSchemaFactory factory = Factory.INSTANCE;
+        if (isList(schema)) {
+            return new CompiledSchema(factory.getJsonSchema(uri), null, factory.getJsonSchema(uri + "#/items"),
+                    FastSchema.compile(schema.get("items"), refs));
+        }
+        return new CompiledSchema(factory.getJsonSchema(uri), FastSchema.compile(schema, refs), null, null);
+    }
+
+    public void validate(byte[] json, SchemaReport report) {
+        validate(new ByteArrayInputStream(json), report);
+    }
+
+    public void validate(InputStream json, SchemaReport report) {
+        try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+            JsonToken first = parser.nextToken();
+            if (items != null && first == JsonToken.START_ARRAY) {
+                long index = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    check(items, itemsFast, MAPPER.readTree(parser), index++, report);
+                }
+            } else {
+                JsonNode document = first == null ? MAPPER.nullNode() : MAPPER.readTree(parser);
+                check(root, rootFast, document, -1, report);
+            }
+        } catch (JsonProcessingException e) {
+            report.record("(document)", "syntax", e.getOriginalMessage(), -1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read document for " + report.getContract(), e);
+        }
+    }
+
+    private static boolean isList(JsonNode schema) {
+        return "array".equals(schema.path("type").asText()) && schema.path("items").isObject();
+    }
+
+    // Nearly every element passes the fast path; only the rest pay for the full validator and its messages
+    private static void check(JsonSchema schema, FastSchema fast, JsonNode instance, long index,
+                              SchemaReport report) {
+        report.countElement();
+        if (fast != null && fast.accepts(instance)) {
+            return;
+        }
+        try {
+            if (schema.validInstance(instance)) {
+                return;
+            }
+            ProcessingReport result = schema.validate(instance, true);
+            report.countInvalidElement();
+            for (ProcessingMessage message : result) {
+                JsonNode detail = message.asJson();
+                String pointer = detail.path("instance").path("pointer").asText();
+                String keyword = detail.path("keyword").asText("schema");
+                if ("required".equals(keyword) && detail.path("missing").isArray()) {
+                    for (JsonNode missing : detail.path("missing")) {
+                        report.record(pointer + "/" + missing.asText(), keyword, "missing required property", index);
+                    }
+                } else {
+                    report.record(pointer, keyword, message.getMessage(), index);
+                }
+            }
+        } catch (ProcessingException e) {
+            report.record("(document)", "schema", e.getMessage(), index);
+        }
+    }
+
+    // JsonSchemaFactory is expensive to build and only needed once the first schema is compiled
+    private static final class Factory {
+        private static final JsonSchemaFactory INSTANCE = JsonSchemaFactory.byDefault();
+    }
+}
@@ -0,0 +1,190 @@
+package com.bookstore.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+
+/**
+ * A schema compiled into plain checks for the handful of draft-04 keywords the contracts use. It only
+ * answers "certainly valid": {@link #accepts} returning false means "ask the full validator", which then
+ * produces the messages. {@link #compile} returns null for a schema using any other keyword, so such
+ * contracts always take the full validator.
+ */
+final class FastSchema {
+
+    private static final Set<String> KEYWORDS = Set.of("$schema", "title", "description", "type", "required",
+            "properties", "minimum", "maximum", "pattern", "minLength", "maxLength", "additionalProperties");
+    private static final Pattern LOCAL_REF = Pattern.compile("[\\w-]+\\.json");
+
+    private static final int NULL = 1;
+    private static final int BOOLEAN = 2;
+    private static final int INTEGER = 4;
+    private static final int NUMBER = 8;
+    private static final int STRING = 16;
+    private static final int ARRAY = 32;
+    private static final int OBJECT = 64;
+
+    private int types;
+    private String[] required = new String[0];
+    private String[] propertyNames = new String[0];
+    private FastSchema[] propertySchemas = new FastSchema[0];
+    private Long minimum;
+    private Long maximum;
+    private Pattern pattern;
+    private int minLength;
+    private int maxLength = Integer.MAX_VALUE;
+    private boolean closed;
+
+    private FastSchema() {
+    }
+
+    /**
+     * @param refs loads a sibling schema named by a relative {@code $ref} such as {@code book.json}
+     */
+    static FastSchema compile(JsonNode schema, Function<String, JsonNode> refs) {
+        if (!schema.isObject()) {
+            return null;
+        }
+        if (schema.has("$ref")) {
+            String ref = schema.get("$ref").asText();
+            return schema.size() == 1 && LOCAL_REF.matcher(ref).matches() ? compile(refs.apply(ref), refs) : null;
+        }
+        FastSchema fast = new FastSchema();
+        for (Iterator<Map.Entry<String, JsonNode>> it = schema.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> keyword = it.next();
+            JsonNode value = keyword.getValue();
+            switch (keyword.getKey()) {
+                case "type" -> {
+                    for (JsonNode type : value.isArray() ? value : List.of(value)) {
+                        int bit = typeBit(type.asText());
+                        if (bit == 0) {
+                            return null;
+                        }
+                        fast.types |= bit;
+                    }
+                }
+                case "required" -> {
+                    List<String> names = new ArrayList<>();
+                    value.forEach(name -> names.add(name.asText()));
+                    fast.required = names.toArray(String[]::new);
+                }
+                case "properties" -> {
+                    List<String> names = new ArrayList<>();
+                    List<FastSchema> schemas = new ArrayList<>();
+                    for (Iterator<Map.Entry<String, JsonNode>> p = value.fields(); p.hasNext(); ) {
+                        Map.Entry<String, JsonNode> property = p.next();
+                        FastSchema child = compile(property.getValue(), refs);
+                        if (child == null) {
+                            return null;
+                        }
+                        names.add(property.getKey());
+                        schemas.add(child);
+                    }
+                    fast.propertyNames = names.toArray(String[]::new);
+                    fast.propertySchemas = schemas.toArray(FastSchema[]::new);
+                }
+                case "minimum", "maximum" -> {
+                    if (!value.canConvertToExactIntegral() || !value.canConvertToLong()) {
+                        return null;
+                    }
+                    if ("minimum".equals(keyword.getKey())) {
+                        fast.minimum = value.longValue();
+                    } else {
+                        fast.maximum = value.longValue();
+                    }
+                }
+                case "pattern" -> fast.pattern = Pattern.compile(value.asText());
+                case "minLength" -> fast.minLength = value.intValue();
+                case "maxLength" -> fast.maxLength = value.intValue();
+                case "additionalProperties" -> {
+                    if (!value.isBoolean()) {
+                        return null;
+                    }
+                    fast.closed = !value.booleanValue();
+                }
+                default -> {
+                    if (!KEYWORDS.contains(keyword.getKey())) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return fast;
+    }
+
+    boolean accepts(JsonNode node) {
+        if (types != 0 && (types & typeOf(node)) == 0) {
+            return false;
+        }
+        if (node.isNumber() && (minimum != null || maximum != null)) {
+            if (!node.isIntegralNumber() || !node.canConvertToLong()) {
+                return false;
+            }
+            long value = node.longValue();
+            if (minimum != null && value < minimum || maximum != null && value > maximum) {
+                return false;
+            }
+        }
+        if (node.isTextual() && (pattern != null || minLength > 0 || maxLength < Integer.MAX_VALUE)) {
+            String text = node.textValue();
+            int length = text.codePointCount(0, text.length());
+            if (length < minLength || length > maxLength || pattern != null && !pattern.matcher(text).find()) {
+                return false;
+            }
+        }
+        if (node.isObject()) {
+            for (String name : required) {
+                if (!node.has(name)) {
+                    return false;
+                }
+            }
+            int known = 0;
+            for (int i = 0; i < propertyNames.length; i++) {
+                JsonNode value = node.get(propertyNames[i]);
+                if (value != null) {
+                    if (!propertySchemas[i].accepts(value)) {
+                        return false;
+                    }
+                    known++;
+                }
+            }
+            if (closed && known != node.size()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int typeBit(String type) {
+        return switch (type) {
+            case "null" -> NULL;
+            case "boolean" -> BOOLEAN;
+            case "integer" -> INTEGER;
+            case "number" -> NUMBER;
+            case "string" -> STRING;
+            case "array" -> ARRAY;
+            case "object" -> OBJECT;
+            default -> 0;
+        };
+    }
+
+    // An integral number is also a "number"; 1.0 counts as a plain number here, the full validator decides
+    private static int typeOf(JsonNode node) {
+        return switch (node.getNodeType()) {
+            case NULL -> NULL;
+            case BOOLEAN -> BOOLEAN;
+            case NUMBER -> node.isIntegralNumber() ? INTEGER | NUMBER : NUMBER;
+            case STRING -> STRING;
+            case ARRAY -> ARRAY;
+            case OBJECT -> OBJECT;
+            default -> 0;
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.bookstore.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jackson.JsonLoader;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * JSON Schema contracts for API responses, loaded from {@code schemas/<name>.json} on the classpath.
+ * Each contract is compiled once per JVM and shared by all tests.
+ * <p>
+ * A list contract is an array schema whose {@code items} names the element schema. Its response is
+ * validated in one streaming pass: elements are read one at a time and checked against the compiled element
+ * schema, so a list of hundreds of thousands of elements is never held as a tree. Other keywords on the list
+ * schema itself, such as {@code minItems}, are not applied on that path. Any other response is validated
+ * as a single document. Violations are aggregated per field in a {@link SchemaReport} instead of stopping
+ * at the first one.
+ */
+@Slf4j
+public final class SchemaContracts {
+
+    public static final String BOOK = "book";
+    public static final String BOOK_LIST = "book-list";
+    public static final String AUTHOR = "author";
+    public static final String AUTHOR_LIST = "author-list";
+
+    private static final Map<String, CompiledSchema> CONTRACTS = new ConcurrentHashMap<>();
+
+    private SchemaContracts() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static void precompile() {
+        for (String name : List.of(BOOK, BOOK_LIST, AUTHOR, AUTHOR_LIST)) {
+            contract(name);
+        }
+    }
+
+    public static SchemaReport validate(String name, byte[] json) {
+        return validate(name, new ByteArrayInputStream(json));
+    }
+
+    public static SchemaReport validate(String name, InputStream json) {
+        SchemaReport report = new SchemaReport(name);
+        contract(name).validate(json, report);
+        return report;
+    }
+
+    private static CompiledSchema contract(String name) {
+        return CONTRACTS.computeIfAbsent(name, SchemaContracts::compile);
+    }
+
+    private static CompiledSchema compile(String name) {
+        long start = System.nanoTime();
+        String uri = "resource:/schemas/" + name + ".json";
+        try {
+            CompiledSchema contract = CompiledSchema.of(uri, load(name + ".json"), SchemaContracts::load);
+            log.debug("Compiled schema contract {} in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+            return contract;
+        } catch (ProcessingException e) {
+            throw new IllegalStateException("Invalid schema contract " + uri + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static JsonNode load(String file) {
+        try {
+            return JsonLoader.fromResource("/schemas/" + file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read schema /schemas/" + file, e);
+        }
+    }
+}
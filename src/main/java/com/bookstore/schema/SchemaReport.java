@@ -0,0 +1,85 @@
+package com.bookstore.schema;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+
+/**
+ * Outcome of validating one response against a {@link SchemaContracts} contract. Violations are grouped
+ * by field, with array indices inside an element folded to {@code []}, so a field that is wrong in
+ * every element of a large list is one line with a count and a few sample elements.
+ */
+@Getter
+public final class SchemaReport {
+
+    private static final int SAMPLE_ELEMENTS = 5;
+    private static final Pattern ARRAY_INDEX = Pattern.compile("/\\d+(?=/|$)");
+
+    private final String contract;
+    private long elements;
+    private long invalidElements;
+    private final Map<String, FieldViolations> violations = new TreeMap<>();
+
+    public SchemaReport(String contract) {
+        this.contract = contract;
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    void countElement() {
+        elements++;
+    }
+
+    void countInvalidElement() {
+        invalidElements++;
+    }
+
+    void record(String pointer, String keyword, String message, long element) {
+        String field = pointer.isEmpty() ? "(root)" : ARRAY_INDEX.matcher(pointer).replaceAll("/[]");
+        violations.computeIfAbsent(field, FieldViolations::new).add(keyword, message, element);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("Contract '%s': %d element(s), %d invalid%n",
+                contract, elements, invalidElements));
+        for (FieldViolations field : violations.values()) {
+            text.append(String.format("  %-20s %8d  %s%n", field.getField(), field.getCount(), field.getKeywords()));
+            text.append(String.format("  %-20s %8s  e.g. %s%s%n", "", "", field.getFirstMessage(),
+                    field.getSampleElements().isEmpty() ? "" : " (elements " + field.getSampleElements() + ")"));
+        }
+        return text.toString();
+    }
+
+    @Getter
+    public static final class FieldViolations {
+        private final String field;
+        private long count;
+        private final Map<String, Long> keywords = new TreeMap<>();
+        private String firstMessage;
+        private final List<Long> sampleElements = new ArrayList<>(SAMPLE_ELEMENTS);
+
+        FieldViolations(String field) {
+            this.field = field;
+        }
+
+        void add(String keyword, String message, long element) {
+            count++;
+            keywords.merge(keyword, 1L, Long::sum);
+            if (firstMessage == null) {
+                firstMessage = message;
+            }
+            if (element >= 0 && sampleElements.size() < SAMPLE_ELEMENTS
+                    && !sampleElements.contains(element)) {
+                sampleElements.add(element);
+            }
+        }
+    }
+}
@@ -2,22 +2,55 @@ package com.bookstore.services;
 
 import com.bookstore.client.ApiClient;
 import com.bookstore.constants.EndPoints;
+import com.bookstore.constants.StatusCodes;
 import com.bookstore.models.Author;
+import com.bookstore.polling.AdaptivePoller;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 @Slf4j
 public class AuthorService {
 
+    private final Supplier<RequestSpecification> requestSpec;
+    private final boolean logCalls;
+
+    public AuthorService() {
+        this(ApiClient::getRequestSpec, true);
+    }
+
+    private AuthorService(Supplier<RequestSpecification> requestSpec, boolean logCalls) {
+        this.requestSpec = requestSpec;
+        this.logCalls = logCalls;
+    }
+
+    /**
+     * A service whose calls are not attached to the Allure report, see {@link ApiClient#getUnreportedRequestSpec()}.
+     */
+    public static AuthorService unreported() {
+        return new AuthorService(ApiClient::getUnreportedRequestSpec, true);
+    }
+
+    /**
+     * A service for benchmark and stress load, see {@link ApiClient#getLoadRequestSpec()}. Its calls are not
+     * logged, so console and file logging stay out of the measured latency.
+     */
+    public static AuthorService load() {
+        return new AuthorService(ApiClient::getLoadRequestSpec, false);
+    }
 
     @Step("Get all authors")
     public Response getAllAuthors() {
-        log.info("Fetching all authors");
-        return ApiClient.getRequestSpec()
+        if (logCalls) {
+            log.info("Fetching all authors");
+        }
+        return requestSpec.get()
                 .when()
                 .get(EndPoints.AUTHORS)
                 .then()
@@ -28,8 +61,10 @@ public class AuthorService {
 
     @Step("Get author by ID: {authorId}")
     public Response getAuthorById(int authorId) {
-        log.info("Fetching author with ID: {}", authorId);
-        return ApiClient.getRequestSpec()
+        if (logCalls) {
+            log.info("Fetching author with ID: {}", authorId);
+        }
+        return requestSpec.get()
                 .pathParam("id", authorId)
                 .when()
                 .get(EndPoints.AUTHORS_BY_ID);
@@ -38,8 +73,10 @@ public class AuthorService {
 
     @Step("Create new author: {author.firstName} {author.lastName}")
     public Response createAuthor(Author author) {
-        log.info("Creating new author: {} {}", author.getFirstName(), author.getLastName());
-        return ApiClient.getRequestSpec()
+        if (logCalls) {
+            log.info("Creating new author: {} {}", author.getFirstName(), author.getLastName());
+        }
+        return requestSpec.get()
                 .body(author)
                 .when()
                 .post(EndPoints.AUTHORS)
@@ -50,9 +87,11 @@ public class AuthorService {
 
     @Step("Update author ID {authorId}")
     public Response updateAuthor(int authorId, Author author) {
-        log.info("Updating author with ID: {}", authorId);
+        if (logCalls) {
+            log.info("Updating author with ID: {}", authorId);
+        }
         author.setId(authorId);
-        return ApiClient.getRequestSpec()
+        return requestSpec.get()
                 .pathParam("id", authorId)
                 .body(author)
                 .when()
@@ -64,8 +103,10 @@ public class AuthorService {
 
     @Step("Delete author by ID: {authorId}")
     public Response deleteAuthor(int authorId) {
-        log.info("Deleting author with ID: {}", authorId);
-        return ApiClient.getRequestSpec()
+        if (logCalls) {
+            log.info("Deleting author with ID: {}", authorId);
+        }
+        return requestSpec.get()
                 .pathParam("id", authorId)
                 .when()
                 .delete(EndPoints.AUTHORS_BY_ID)
@@ -74,6 +115,12 @@ public class AuthorService {
                 .response();
     }
 
+    @Step("Wait until author ID {authorId} is readable")
+    public boolean awaitAuthorAvailable(int authorId, Duration timeout) {
+        return AdaptivePoller.getInstance().await("GET", EndPoints.AUTHORS_BY_ID, String.valueOf(StatusCodes.OK),
+                timeout, () -> getAuthorById(authorId).getStatusCode() == StatusCodes.OK);
+    }
+
     public Author extractAuthor(Response response) {
         return response.as(Author.class);
     }
@@ -2,23 +2,56 @@ package com.bookstore.services;
 
 import com.bookstore.client.ApiClient;
 import com.bookstore.constants.EndPoints;
+import com.bookstore.constants.StatusCodes;
 import com.bookstore.models.Book;
+import com.bookstore.polling.AdaptivePoller;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 
 @Slf4j
 public class BookService {
 
+    private final Supplier<RequestSpecification> requestSpec;
+    private final boolean logCalls;
+
+    public BookService() {
+        this(ApiClient::getRequestSpec, true);
+    }
+
+    private BookService(Supplier<RequestSpecification> requestSpec, boolean logCalls) {
+        this.requestSpec = requestSpec;
+        this.logCalls = logCalls;
+    }
+
+    /**
+     * A service whose calls are not attached to the Allure report, see {@link ApiClient#getUnreportedRequestSpec()}.
+     */
+    public static BookService unreported() {
+        return new BookService(ApiClient::getUnreportedRequestSpec, true);
+    }
+
+    /**
+     * A service for benchmark and stress load, see {@link ApiClient#getLoadRequestSpec()}. Its calls are not
+     * logged, so console and file logging stay out of the measured latency.
+     */
+    public static BookService load() {
+        return new BookService(ApiClient::getLoadRequestSpec, false);
+    }
 
     @Step("Get all books")
     public Response getAllBooks() {
-        log.info("Fetching all books");
-        return ApiClient.getRequestSpec()
+        if (logCalls) {
+            log.info("Fetching all books");
+        }
+        return requestSpec.get()
                 .when()
                 .get(EndPoints.BOOKS)
                 .then()
@@ -28,8 +61,10 @@ public class BookService {
 
     @Step("Get book by ID: {bookId}")
     public Response getBookById(int bookId) {
-        log.info("Fetching book with ID: {}", bookId);
-        return ApiClient.getRequestSpec()
+        if (logCalls) {
+            log.info("Fetching book with ID: {}", bookId);
+        }
+        return requestSpec.get()
                 .pathParam("id", bookId)
                 .when()
                 .get(EndPoints.BOOKS_BY_ID)
@@ -40,8 +75,10 @@ public class BookService {
 
     @Step("Create new book: {book.title}")
     public Response createBook(Book book) {
-        log.info("Creating new book: {}", book.getTitle());
-        return ApiClient.getRequestSpec()
+        if (logCalls) {
+            log.info("Creating new book: {}", book.getTitle());
+        }
+        return requestSpec.get()
                 .body(book)
                 .when()
                 .post(EndPoints.BOOKS)
@@ -52,9 +89,11 @@ public class BookService {
 
     @Step("Update book ID {bookId} with title: {book.title}")
     public Response updateBook(int bookId, Book book) {
-        log.info("Updating book with ID: {} to title: {}", bookId, book.getTitle());
+        if (logCalls) {
+            log.info("Updating book with ID: {} to title: {}", bookId, book.getTitle());
+        }
         book.setId(bookId); // Ensure ID matches
-        return ApiClient.getRequestSpec()
+        return requestSpec.get()
                 .pathParam("id", bookId)
                 .body(book)
                 .when()
@@ -66,8 +105,10 @@ public class BookService {
 
     @Step("Delete book by ID: {bookId}")
     public Response deleteBook(int bookId) {
-        log.info("Deleting book with ID: {}", bookId);
-        return ApiClient.getRequestSpec()
+        if (logCalls) {
+            log.info("Deleting book with ID: {}", bookId);
+        }
+        return requestSpec.get()
                 .pathParam("id", bookId)
                 .when()
                 .delete(EndPoints.BOOKS_BY_ID)
@@ -76,12 +117,18 @@ public class BookService {
                 .response();
     }
 
+    @Step("Wait until book ID {bookId} is gone")
+    public boolean awaitBookDeleted(int bookId, Duration timeout) {
+        return AdaptivePoller.getInstance().await("GET", EndPoints.BOOKS_BY_ID, String.valueOf(StatusCodes.NOT_FOUND),
+                timeout, () -> getBookById(bookId).getStatusCode() == StatusCodes.NOT_FOUND);
+    }
+
     public Book extractBook(Response response) {
         return response.as(Book.class);
     }
 
     public Response getBook(int bookId) {
-        return ApiClient.getRequestSpec()
+        return requestSpec.get()
                 .pathParam("id", bookId)
                 .when()
                 .get(EndPoints.BOOKS_BY_ID);
@@ -0,0 +1,328 @@
+package com.bookstore.stub;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+
+/**
+ * Int-keyed store that keeps both the index and the serialized records in direct memory.
+ * The index is an open-addressing table (linear probing, backward-shift deletion) over two
+ * direct buffers; records are length-prefixed byte blobs appended to 64 MiB arena chunks.
+ * Updates and deletes leave the old blob behind as garbage - the store is meant for test runs,
+ * not for long-lived churn.
+ */
+public final class OffHeapRecordStore {
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int CHUNK_SHIFT = 26;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+
+    private IntBuffer keys;
+    private LongBuffer refs;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    private ByteBuffer currentChunk;
+    private int chunkPosition;
+    private long garbageBytes;
+
+    private int[] sortedKeys = new int[0];
+    private boolean sortedKeysValid = true;
+
+    public OffHeapRecordStore(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocateIndex(capacity);
+    }
+
+    public void put(int key, byte[] record) {
+        checkKey(key);
+        if (record.length > CHUNK_SIZE - Integer.BYTES) {
+            throw new IllegalArgumentException("Record too large: " + record.length + " bytes");
+        }
+        lock.writeLock().lock();
+        try {
+            long ref = append(record);
+            int slot = slotOf(key);
+            if (keys.get(slot) == key) {
+                garbageBytes += Integer.BYTES + lengthAt(refs.get(slot));
+                refs.put(slot, ref);
+                return;
+            }
+            keys.put(slot, key);
+            refs.put(slot, ref);
+            size++;
+            sortedKeysValid = false;
+            if (size > resizeThreshold) {
+                allocateAndRehash(keys.capacity() << 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public byte[] get(int key) {
+        if (!isValidKey(key)) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(key);
+            if (keys.get(slot) != key) {
+                return null;
+            }
+            long ref = refs.get(slot);
+            byte[] record = new byte[lengthAt(ref)];
+            chunks.get(chunkIndex(ref)).get(chunkOffset(ref) + Integer.BYTES, record, 0, record.length);
+            return record;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(int key) {
+        if (!isValidKey(key)) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return keys.get(slotOf(key)) == key;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean remove(int key) {
+        if (!isValidKey(key)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            int hole = slotOf(key);
+            if (keys.get(hole) != key) {
+                return false;
+            }
+            garbageBytes += Integer.BYTES + lengthAt(refs.get(hole));
+            int next = (hole + 1) & mask;
+            while (keys.get(next) != EMPTY) {
+                int ideal = hash(keys.get(next)) & mask;
+                boolean canMove = hole <= next
+                        ? ideal <= hole || ideal > next
+                        : ideal <= hole && ideal > next;
+                if (canMove) {
+                    keys.put(hole, keys.get(next));
+                    refs.put(hole, refs.get(next));
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys.put(hole, EMPTY);
+            size--;
+            sortedKeysValid = false;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the record for {@code key} straight from direct memory into {@code out},
+     * using {@code scratch} as the transfer buffer. Returns false if the key is absent.
+     */
+    public boolean copyTo(int key, OutputStream out, byte[] scratch) throws IOException {
+        if (!isValidKey(key)) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(key);
+            if (keys.get(slot) != key) {
+                return false;
+            }
+            long ref = refs.get(slot);
+            ByteBuffer chunk = chunks.get(chunkIndex(ref));
+            int position = chunkOffset(ref) + Integer.BYTES;
+            int remaining = chunk.getInt(chunkOffset(ref));
+            while (remaining > 0) {
+                int n = Math.min(remaining, scratch.length);
+                chunk.get(position, scratch, 0, n);
+                out.write(scratch, 0, n);
+                position += n;
+                remaining -= n;
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Snapshot of the live keys in ascending order, as a read-only view. The array behind it is cached
+     * until the next insert or delete, so repeated list requests over an unchanged catalog neither re-sort
+     * nor copy.
+     */
+    public IntBuffer sortedKeys() {
+        lock.readLock().lock();
+        try {
+            if (sortedKeysValid) {
+                return IntBuffer.wrap(sortedKeys).asReadOnlyBuffer();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!sortedKeysValid) {
+                int[] snapshot = new int[size];
+                int n = 0;
+                boolean ascending = true;
+                for (int slot = 0; slot < keys.capacity(); slot++) {
+                    int key = keys.get(slot);
+                    if (key != EMPTY) {
+                        ascending &= n == 0 || snapshot[n - 1] < key;
+                        snapshot[n++] = key;
+                    }
+                }
+                if (!ascending) {
+                    Arrays.parallelSort(snapshot);
+                }
+                sortedKeys = snapshot;
+                sortedKeysValid = true;
+            }
+            return IntBuffer.wrap(sortedKeys).asReadOnlyBuffer();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) chunks.size() * CHUNK_SIZE + keys.capacity() * (long) (Integer.BYTES + Long.BYTES);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long garbageBytes() {
+        lock.readLock().lock();
+        try {
+            return garbageBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            chunks.clear();
+            currentChunk = null;
+            chunkPosition = 0;
+            garbageBytes = 0;
+            size = 0;
+            allocateIndex(16);
+            sortedKeys = new int[0];
+            sortedKeysValid = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long append(byte[] record) {
+        int needed = Integer.BYTES + record.length;
+        if (currentChunk == null || chunkPosition + needed > CHUNK_SIZE) {
+            currentChunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+            chunks.add(currentChunk);
+            chunkPosition = 0;
+        }
+        int offset = chunkPosition;
+        currentChunk.putInt(offset, record.length);
+        currentChunk.put(offset + Integer.BYTES, record, 0, record.length);
+        chunkPosition += needed;
+        return ((long) (chunks.size() - 1) << 32) | offset;
+    }
+
+    private int lengthAt(long ref) {
+        return chunks.get(chunkIndex(ref)).getInt(chunkOffset(ref));
+    }
+
+    private int slotOf(int key) {
+        int slot = hash(key) & mask;
+        while (true) {
+            int current = keys.get(slot);
+            if (current == key || current == EMPTY) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void allocateIndex(int capacity) {
+        keys = ByteBuffer.allocateDirect(capacity * Integer.BYTES).asIntBuffer();
+        refs = ByteBuffer.allocateDirect(capacity * Long.BYTES).asLongBuffer();
+        for (int slot = 0; slot < capacity; slot++) {
+            keys.put(slot, EMPTY);
+        }
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void allocateAndRehash(int capacity) {
+        IntBuffer oldKeys = keys;
+        LongBuffer oldRefs = refs;
+        allocateIndex(capacity);
+        for (int slot = 0; slot < oldKeys.capacity(); slot++) {
+            int key = oldKeys.get(slot);
+            if (key != EMPTY) {
+                int target = slotOf(key);
+                keys.put(target, key);
+                refs.put(target, oldRefs.get(slot));
+            }
+        }
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int chunkIndex(long ref) {
+        return (int) (ref >>> 32);
+    }
+
+    private static int chunkOffset(long ref) {
+        return (int) ref;
+    }
+
+    // The empty-slot marker cannot be stored; it is never found either
+    public static boolean isValidKey(int key) {
+        return key != EMPTY;
+    }
+
+    private static void checkKey(int key) {
+        if (!isValidKey(key)) {
+            throw new IllegalArgumentException("Key " + key + " is reserved");
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.bookstore.stub;
+
+import com.bookstore.constants.EndPoints;
+import com.bookstore.constants.StatusCodes;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * In-process replacement for the FakeRESTApi Books/Authors endpoints backed by {@link OffHeapRecordStore}.
+ * List responses are streamed record by record from direct memory, so a catalog of millions of
+ * entries never materializes on the heap of either side of the connection.
+ */
+@Slf4j
+public final class StubBackend implements AutoCloseable {
+
+    private static final String JSON = "application/json; charset=utf-8; v=1.0";
+    private static final byte[] EMPTY_LIST = "[]".getBytes(StandardCharsets.US_ASCII);
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final LocalDateTime PUBLISH_EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final String[] INTEGER_FIELDS = {"id", "pageCount", "idBook"};
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final OffHeapRecordStore books;
+    private final OffHeapRecordStore authors;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String apiVersion;
+
+    private StubBackend(int port, String apiVersion, int expectedBooks, int expectedAuthors) throws IOException {
+        this.apiVersion = apiVersion;
+        this.books = new OffHeapRecordStore(expectedBooks);
+        this.authors = new OffHeapRecordStore(expectedAuthors);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+        server.createContext("/api/" + apiVersion + "/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public static StubBackend start(int port, String apiVersion, int bookCount, int authorCount) throws IOException {
+        StubBackend backend = new StubBackend(port, apiVersion, bookCount, authorCount);
+        backend.seed(bookCount, authorCount);
+        backend.server.start();
+        log.info("Stub backend listening on {} with {} books and {} authors ({} MB off-heap)",
+                backend.getBaseUrl(), bookCount, authorCount,
+                (backend.books.offHeapBytes() + backend.authors.offHeapBytes()) / (1024 * 1024));
+        return backend;
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void seed(int bookCount, int authorCount) {
+        long start = System.nanoTime();
+        StringBuilder json = new StringBuilder(512);
+        for (int id = 1; id <= bookCount; id++) {
+            books.put(id, syntheticBook(json, id));
+        }
+        for (int id = 1; id <= authorCount; id++) {
+            authors.put(id, syntheticAuthor(json, id, bookCount));
+        }
+        log.info("Seeded {} books and {} authors in {} ms",
+                bookCount, authorCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        books.clear();
+        authors.clear();
+        log.info("Stub backend stopped");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath()
+                    .substring(("/api/" + apiVersion).length());
+            String[] segments = path.split("/");
+            OffHeapRecordStore store = segments.length > 1 ? storeFor(segments[1]) : null;
+            if (store == null || segments.length > 3) {
+                sendProblem(exchange, StatusCodes.NOT_FOUND, "Not Found");
+                return;
+            }
+            if (segments.length == 2) {
+                handleCollection(exchange, store);
+                return;
+            }
+            int id;
+            try {
+                id = Integer.parseInt(segments[2]);
+            } catch (NumberFormatException e) {
+                id = Integer.MIN_VALUE;
+            }
+            if (!OffHeapRecordStore.isValidKey(id)) {
+                sendProblem(exchange, StatusCodes.BAD_REQUEST, "The value '" + segments[2] + "' is not valid.");
+                return;
+            }
+            handleItem(exchange, store, id);
+        } catch (RuntimeException e) {
+            log.error("Stub backend failed to handle {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            // Without a status line the client would wait for its socket timeout
+            if (exchange.getResponseCode() == -1) {
+                sendProblem(exchange, StatusCodes.INTERNAL_SERVER_ERROR, "Internal Server Error");
+            }
+        }
+    }
+
+    private void handleCollection(HttpExchange exchange, OffHeapRecordStore store) throws IOException {
+        switch (exchange.getRequestMethod()) {
+            case "GET" -> streamAll(exchange, store);
+            case "POST" -> {
+                ObjectNode body = readBody(exchange);
+                if (body == null) {
+                    return;
+                }
+                if (body.path("id").isInt() && !OffHeapRecordStore.isValidKey(body.get("id").asInt())) {
+                    sendProblem(exchange, StatusCodes.BAD_REQUEST, "One or more validation errors occurred.");
+                    return;
+                }
+                byte[] record = mapper.writeValueAsBytes(body);
+                if (body.path("id").canConvertToInt()) {
+                    store.put(body.get("id").asInt(), record);
+                }
+                send(exchange, StatusCodes.OK, record);
+            }
+            default -> sendProblem(exchange, StatusCodes.METHOD_NOT_ALLOWED, "Method Not Allowed");
+        }
+    }
+
+    private void handleItem(HttpExchange exchange, OffHeapRecordStore store, int id) throws IOException {
+        switch (exchange.getRequestMethod()) {
+            case "GET" -> {
+                byte[] record = store.get(id);
+                if (record == null) {
+                    sendProblem(exchange, StatusCodes.NOT_FOUND, "Not Found");
+                } else {
+                    send(exchange, StatusCodes.OK, record);
+                }
+            }
+            case "PUT" -> {
+                ObjectNode body = readBody(exchange);
+                if (body == null) {
+                    return;
+                }
+                body.put("id", id);
+                byte[] record = mapper.writeValueAsBytes(body);
+                store.put(id, record);
+                send(exchange, StatusCodes.OK, record);
+            }
+            case "DELETE" -> {
+                store.remove(id);
+                exchange.sendResponseHeaders(StatusCodes.OK, -1);
+            }
+            default -> sendProblem(exchange, StatusCodes.METHOD_NOT_ALLOWED, "Method Not Allowed");
+        }
+    }
+
+    private void streamAll(HttpExchange exchange, OffHeapRecordStore store) throws IOException {
+        IntBuffer ids = store.sortedKeys();
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        if (!ids.hasRemaining()) {
+            send(exchange, StatusCodes.OK, EMPTY_LIST);
+            return;
+        }
+        exchange.sendResponseHeaders(StatusCodes.OK, 0);
+        byte[] scratch = new byte[8 * 1024];
+        OutputStream out = new BufferedOutputStream(exchange.getResponseBody(), STREAM_BUFFER_SIZE);
+        ListElementOutput elements = new ListElementOutput(out);
+        out.write('[');
+        while (ids.hasRemaining()) {
+            // A record deleted after the key snapshot was taken is simply skipped
+            elements.nextElement();
+            store.copyTo(ids.get(), elements, scratch);
+        }
+        out.write(']');
+        out.flush();
+    }
+
+    // Mirrors ASP.NET model binding on the real API: non-JSON bodies are 415, mistyped fields are 400
+    private ObjectNode readBody(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType == null || !contentType.toLowerCase().contains("json")) {
+            sendProblem(exchange, StatusCodes.UNSUPPORTED_MEDIA_TYPE, "Unsupported Media Type");
+            return null;
+        }
+        ObjectNode body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = mapper.readTree(in) instanceof ObjectNode node ? node : null;
+        } catch (IOException e) {
+            body = null;
+        }
+        if (body == null || !hasBindableFields(body)) {
+            sendProblem(exchange, StatusCodes.BAD_REQUEST, "One or more validation errors occurred.");
+            return null;
+        }
+        return body;
+    }
+
+    private static boolean hasBindableFields(ObjectNode body) {
+        for (String field : INTEGER_FIELDS) {
+            JsonNode value = body.get(field);
+            if (value != null && !value.isNull() && !value.isInt()) {
+                return false;
+            }
+        }
+        JsonNode publishDate = body.get("publishDate");
+        if (publishDate != null && !publishDate.isNull()) {
+            try {
+                DateTimeFormatter.ISO_DATE_TIME.parse(publishDate.asText());
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private void sendProblem(HttpExchange exchange, int status, String title) throws IOException {
+        ObjectNode problem = mapper.createObjectNode()
+                .put("title", title)
+                .put("status", status)
+                .put("traceId", Long.toHexString(System.nanoTime()));
+        exchange.getResponseHeaders().set("Content-Type", "application/problem+json; charset=utf-8");
+        byte[] body = mapper.writeValueAsBytes(problem);
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private OffHeapRecordStore storeFor(String resource) {
+        if (EndPoints.BOOKS.substring(1).equalsIgnoreCase(resource)) {
+            return books;
+        }
+        if (EndPoints.AUTHORS.substring(1).equalsIgnoreCase(resource)) {
+            return authors;
+        }
+        return null;
+    }
+
+    private static byte[] syntheticBook(StringBuilder json, int id) {
+        json.setLength(0);
+        json.append("{\"id\":").append(id)
+                .append(",\"title\":\"Book ").append(id)
+                .append("\",\"description\":\"Synthetic description for book ").append(id)
+                .append("\",\"pageCount\":").append(100 + id % 900)
+                .append(",\"excerpt\":\"Synthetic excerpt for book ").append(id)
+                .append("\",\"publishDate\":\"")
+                .append(PUBLISH_EPOCH.minusDays(id % 3650).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .append("\"}");
+        return json.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] syntheticAuthor(StringBuilder json, int id, int bookCount) {
+        json.setLength(0);
+        json.append("{\"id\":").append(id)
+                .append(",\"idBook\":").append(bookCount == 0 ? id : 1 + (id - 1) % bookCount)
+                .append(",\"firstName\":\"First Name ").append(id)
+                .append("\",\"lastName\":\"Last Name ").append(id)
+                .append("\"}");
+        return json.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Emits the ',' separator lazily so that records vanishing between snapshot and copy leave valid JSON
+    private static final class ListElementOutput extends OutputStream {
+
+        private final OutputStream delegate;
+        private boolean anyWritten;
+        private boolean separatorPending;
+
+        private ListElementOutput(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        void nextElement() {
+            separatorPending = anyWritten;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            beforeWrite();
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            beforeWrite();
+            delegate.write(b, off, len);
+        }
+
+        private void beforeWrite() throws IOException {
+            if (separatorPending) {
+                delegate.write(',');
+                separatorPending = false;
+            }
+            anyWritten = true;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        int bookCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int authorCount = args.length > 2 ? Integer.parseInt(args[2]) : bookCount;
+        StubBackend backend = start(port, "v1", bookCount, authorCount);
+        Runtime.getRuntime().addShutdownHook(new Thread(backend::close));
+        log.info("Run the suite with -Dbase.url={}", backend.getBaseUrl());
+    }
+}
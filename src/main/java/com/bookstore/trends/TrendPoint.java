@@ -0,0 +1,5 @@
+package com.bookstore.trends;
+
+
+public record TrendPoint(int run, long timeMillis, String label, TrendRow row) {
+}
@@ -0,0 +1,73 @@
+package com.bookstore.trends;
+
+import com.bookstore.metrics.EndpointMetrics;
+import com.bookstore.metrics.LatencyHistogram;
+import com.bookstore.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Collects the current run's per-test durations and turns them, together with the per-endpoint
+ * metrics in {@link MetricsRegistry}, into the rows {@link TrendStore} appends at suite end.
+ */
+public final class TrendRecorder {
+
+    private final Map<String, TestSamples> tests = new ConcurrentHashMap<>();
+
+    public void recordTest(String key, long durationMillis, boolean failed) {
+        tests.computeIfAbsent(key, k -> new TestSamples()).add(durationMillis, failed);
+    }
+
+    public List<TrendRow> rows(MetricsRegistry registry) {
+        List<TrendRow> rows = new ArrayList<>();
+        for (EndpointMetrics metrics : registry.getEndpoints()) {
+            if (metrics.getRequestCount() == 0) {
+                continue;
+            }
+            LatencyHistogram latency = metrics.getLatency();
+            rows.add(new TrendRow(metrics.getKey(), metrics.getRequestCount(), metrics.getErrorCount(),
+                    Math.round(latency.getMeanMicros()), latency.percentileMicros(0.50),
+                    latency.percentileMicros(0.95), latency.percentileMicros(0.99), latency.getMaxMicros(),
+                    metrics.getBytesSent().sum(), metrics.getBytesReceived().sum()));
+        }
+        new TreeMap<>(tests).forEach((key, samples) -> rows.add(samples.toRow(key)));
+        return rows;
+    }
+
+    private static final class TestSamples {
+        private long[] micros = new long[1];
+        private int count;
+        private long failures;
+
+        synchronized void add(long durationMillis, boolean failed) {
+            if (count == micros.length) {
+                micros = Arrays.copyOf(micros, count * 2);
+            }
+            micros[count++] = durationMillis * 1_000;
+            if (failed) {
+                failures++;
+            }
+        }
+
+        synchronized TrendRow toRow(String key) {
+            long[] sorted = Arrays.copyOf(micros, count);
+            Arrays.sort(sorted);
+            long sum = 0;
+            for (long value : sorted) {
+                sum += value;
+            }
+            return new TrendRow(key, count, failures, sum / count, percentile(sorted, 0.50),
+                    percentile(sorted, 0.95), percentile(sorted, 0.99), sorted[count - 1], 0, 0);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            return sorted[Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1)];
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.bookstore.trends;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Command line over a {@link TrendStore}:
+ * <pre>
+ * TrendReport &lt;store-dir&gt; runs
+ * TrendReport &lt;store-dir&gt; series [substring]
+ * TrendReport &lt;store-dir&gt; trend &lt;series&gt; [--since=yyyy-MM-dd] [--until=yyyy-MM-dd] [--last=N] [--csv]
+ * TrendReport &lt;store-dir&gt; merge &lt;source-dir&gt;...
+ * </pre>
+ * The trend table compares each run's p99 with the median p99 of the {@value #BASELINE_RUNS} runs before
+ * it and names the run where the current streak of regressions above {@value #REGRESSION_PERCENT}% began.
+ * During a streak the baseline stays the one from before the streak, so a lasting step up does not
+ * become the new normal after a few runs.
+ */
+public final class TrendReport {
+
+    private static final int BASELINE_RUNS = 10;
+    private static final int REGRESSION_PERCENT = 20;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+            .withZone(ZoneOffset.UTC);
+    private static final String USAGE = "Usage: TrendReport <store-dir> runs | series [substring]"
+            + " | trend <series> [--since=yyyy-MM-dd] [--until=yyyy-MM-dd] [--last=N] [--csv]"
+            + " | merge <source-dir>...";
+
+    private TrendReport() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        TrendStore store = TrendStore.open(Paths.get(args[0]));
+        PrintStream out = System.out;
+        switch (args[1]) {
+            case "runs" -> store.runs().forEach(run -> out.printf("%5d  %s  %s%n",
+                    run.id(), TIME.format(Instant.ofEpochMilli(run.timeMillis())), run.label()));
+            case "series" -> store.series().stream()
+                    .filter(name -> args.length < 3 || name.contains(args[2]))
+                    .sorted()
+                    .forEach(out::println);
+            case "trend" -> {
+                if (args.length < 3) {
+                    throw new IllegalArgumentException(USAGE);
+                }
+                trend(store, args[2], Arrays.copyOfRange(args, 3, args.length), out);
+            }
+            case "merge" -> {
+                List<TrendStore> sources = new ArrayList<>();
+                for (int i = 2; i < args.length; i++) {
+                    sources.add(TrendStore.open(Paths.get(args[i])));
+                }
+                out.printf("Merged %d runs into %s%n", store.merge(sources), store.getDir());
+            }
+            default -> throw new IllegalArgumentException(USAGE);
+        }
+    }
+
+    private static void trend(TrendStore store, String series, String[] options, PrintStream out) throws IOException {
+        long since = Long.MIN_VALUE;
+        long until = Long.MAX_VALUE;
+        int last = Integer.MAX_VALUE;
+        boolean csv = false;
+        for (String option : options) {
+            if (option.startsWith("--since=")) {
+                since = LocalDate.parse(option.substring(8)).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            } else if (option.startsWith("--until=")) {
+                until = LocalDate.parse(option.substring(8)).plusDays(1).atStartOfDay(ZoneOffset.UTC)
+                        .toInstant().toEpochMilli() - 1;
+            } else if (option.startsWith("--last=")) {
+                last = Integer.parseInt(option.substring(7));
+            } else if ("--csv".equals(option)) {
+                csv = true;
+            } else {
+                throw new IllegalArgumentException("Unknown option " + option + "\n" + USAGE);
+            }
+        }
+        List<TrendPoint> points = store.query(series, since, until);
+        if (points.size() > last) {
+            points = points.subList(points.size() - last, points.size());
+        }
+        if (csv) {
+            out.println("run,time,label,count,errors,mean_us,p50_us,p95_us,p99_us,max_us,bytes_sent,bytes_received");
+            for (TrendPoint point : points) {
+                TrendRow row = point.row();
+                out.printf("%d,%s,%s,%d,%d,%d,%d,%d,%d,%d,%d,%d%n", point.run(),
+                        Instant.ofEpochMilli(point.timeMillis()), point.label().replace(',', ' '),
+                        row.count(), row.errors(), row.meanMicros(), row.p50Micros(), row.p95Micros(),
+                        row.p99Micros(), row.maxMicros(), row.bytesSent(), row.bytesReceived());
+            }
+            return;
+        }
+        if (points.isEmpty()) {
+            out.println("No runs recorded for '" + series + "'");
+            return;
+        }
+        out.println(series);
+        out.printf("%5s  %-16s  %-14s %8s %7s %9s %9s %9s %8s%n",
+                "run", "time (UTC)", "label", "count", "err %", "p50 ms", "p95 ms", "p99 ms", "p99 vs");
+        int streakStart = -1;
+        for (int i = 0; i < points.size(); i++) {
+            TrendPoint point = points.get(i);
+            TrendRow row = point.row();
+            long baseline = baselineP99(points, streakStart >= 0 ? streakStart : i);
+            String change = "";
+            if (baseline > 0) {
+                long percent = Math.round((row.p99Micros() - baseline) * 100.0 / baseline);
+                change = (percent >= 0 ? "+" : "") + percent + "%";
+                if (percent <= REGRESSION_PERCENT) {
+                    streakStart = -1;
+                } else if (streakStart < 0) {
+                    streakStart = i;
+                }
+            }
+            out.printf("%5d  %-16s  %-14.14s %8d %7.2f %9.1f %9.1f %9.1f %8s%n", point.run(),
+                    TIME.format(Instant.ofEpochMilli(point.timeMillis())), point.label(), row.count(),
+                    row.errorRate() * 100, row.p50Micros() / 1000.0, row.p95Micros() / 1000.0,
+                    row.p99Micros() / 1000.0, change);
+        }
+        if (streakStart >= 0) {
+            TrendPoint start = points.get(streakStart);
+            out.printf("p99 has been more than %d%% above its earlier median since run %d (%s, %s)%n",
+                    REGRESSION_PERCENT, start.run(), TIME.format(Instant.ofEpochMilli(start.timeMillis())),
+                    start.label());
+        }
+    }
+
+    // Median p99 of up to BASELINE_RUNS runs before index; needs at least three of them
+    private static long baselineP99(List<TrendPoint> points, int index) {
+        int from = Math.max(0, index - BASELINE_RUNS);
+        if (index - from < 3) {
+            return 0;
+        }
+        long[] previous = points.subList(from, index).stream()
+                .mapToLong(point -> point.row().p99Micros())
+                .sorted()
+                .toArray();
+        return previous[previous.length / 2];
+    }
+}
@@ -0,0 +1,28 @@
+package com.bookstore.trends;
+
+
+/**
+ * One series' numbers for one run. Endpoint series are named {@code "GET /Books/{id}"}, test series
+ * {@code "Class#method"}; latencies are in microseconds.
+ */
+public record TrendRow(String series, long count, long errors, long meanMicros, long p50Micros, long p95Micros,
+                       long p99Micros, long maxMicros, long bytesSent, long bytesReceived) {
+
+    /**
+     * Folds the rows two shards of the same run wrote for one series. Counts and bytes add up and the mean
+     * is count-weighted; percentiles cannot be merged without the histograms, so the larger one is kept
+     * as an upper bound.
+     */
+    public TrendRow combine(TrendRow other) {
+        long total = count + other.count;
+        long mean = total == 0 ? 0 : (meanMicros * count + other.meanMicros * other.count) / total;
+        return new TrendRow(series, total, errors + other.errors, mean,
+                Math.max(p50Micros, other.p50Micros), Math.max(p95Micros, other.p95Micros),
+                Math.max(p99Micros, other.p99Micros), Math.max(maxMicros, other.maxMicros),
+                bytesSent + other.bytesSent, bytesReceived + other.bytesReceived);
+    }
+
+    public double errorRate() {
+        return count == 0 ? 0 : (double) errors / count;
+    }
+}
@@ -0,0 +1,356 @@
+package com.bookstore.trends;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Append-only, columnar history of per-run metrics, one row per run and series. Every column is its own
+ * file of fixed-width little-endian values ({@code run.col}, {@code p99_micros.col}, ...), so a trend
+ * query maps only the columns it reads and scans the series column as a flat int array. Series names
+ * live in {@code series.txt} (line number = id) and runs in {@code runs.tsv}.
+ * <p>
+ * {@code runs.tsv} is written last and is the commit record: rows of a run that never made it there,
+ * because a process died mid-append, are ignored on load and overwritten by the next append. Appends
+ * from concurrent processes serialize on a file lock.
+ */
+@Slf4j
+public final class TrendStore {
+
+    private static final String SERIES_FILE = "series.txt";
+    private static final String RUNS_FILE = "runs.tsv";
+    private static final String LOCK_FILE = "store.lock";
+
+    enum Column {
+        RUN(Integer.BYTES),
+        SERIES(Integer.BYTES),
+        COUNT(Long.BYTES),
+        ERRORS(Long.BYTES),
+        MEAN_MICROS(Long.BYTES),
+        P50_MICROS(Long.BYTES),
+        P95_MICROS(Long.BYTES),
+        P99_MICROS(Long.BYTES),
+        MAX_MICROS(Long.BYTES),
+        BYTES_SENT(Long.BYTES),
+        BYTES_RECEIVED(Long.BYTES);
+
+        final int width;
+
+        Column(int width) {
+            this.width = width;
+        }
+
+        String fileName() {
+            return name().toLowerCase(Locale.ROOT) + ".col";
+        }
+    }
+
+    private final Path dir;
+    private final List<String> seriesNames = new ArrayList<>();
+    private final Map<String, Integer> seriesIds = new HashMap<>();
+    private final List<Run> runs = new ArrayList<>();
+    private final Map<Column, ByteBuffer> mapped = new EnumMap<>(Column.class);
+    private int rowCount;
+
+    private TrendStore(Path dir) {
+        this.dir = dir;
+    }
+
+    public static TrendStore open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        TrendStore store = new TrendStore(dir);
+        store.load();
+        return store;
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    public synchronized List<Run> runs() {
+        return List.copyOf(runs);
+    }
+
+    public synchronized List<String> series() {
+        return List.copyOf(seriesNames);
+    }
+
+    public synchronized int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Appends {@code rows} as a new run and returns its number.
+     */
+    public synchronized int append(String label, long timeMillis, List<TrendRow> rows) throws IOException {
+        try (FileChannel lockChannel = FileChannel.open(dir.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = lockChannel.lock();
+            try {
+                load();
+                int run = runs.isEmpty() ? 1 : runs.get(runs.size() - 1).id() + 1;
+                List<String> added = new ArrayList<>();
+                int[] ids = new int[rows.size()];
+                for (int i = 0; i < rows.size(); i++) {
+                    String name = clean(rows.get(i).series());
+                    Integer id = seriesIds.get(name);
+                    if (id == null) {
+                        id = seriesNames.size();
+                        seriesNames.add(name);
+                        seriesIds.put(name, id);
+                        added.add(name);
+                    }
+                    ids[i] = id;
+                }
+                appendLines(dir.resolve(SERIES_FILE), added);
+                for (Column column : Column.values()) {
+                    ByteBuffer buffer = ByteBuffer.allocate(rows.size() * column.width).order(ByteOrder.LITTLE_ENDIAN);
+                    for (int i = 0; i < rows.size(); i++) {
+                        if (column.width == Integer.BYTES) {
+                            buffer.putInt(column == Column.RUN ? run : ids[i]);
+                        } else {
+                            buffer.putLong(valueOf(rows.get(i), column));
+                        }
+                    }
+                    buffer.flip();
+                    try (FileChannel channel = FileChannel.open(dir.resolve(column.fileName()),
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                        // Drops rows of an append that never committed
+                        channel.truncate((long) rowCount * column.width);
+                        channel.position((long) rowCount * column.width);
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                        channel.force(false);
+                    }
+                }
+                Run committed = new Run(run, timeMillis, clean(label));
+                appendLines(dir.resolve(RUNS_FILE),
+                        List.of(committed.id() + "\t" + committed.timeMillis() + "\t" + committed.label()));
+                runs.add(committed);
+                rowCount += rows.size();
+                mapped.clear();
+                return run;
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Points of one series for the runs whose time lies in {@code [fromMillis, toMillis]}, oldest first.
+     */
+    public synchronized List<TrendPoint> query(String series, long fromMillis, long toMillis) throws IOException {
+        Integer id = seriesIds.get(series);
+        if (id == null) {
+            return List.of();
+        }
+        Map<Integer, Run> inRange = new HashMap<>();
+        int firstRun = Integer.MAX_VALUE;
+        int lastRun = Integer.MIN_VALUE;
+        for (Run run : runs) {
+            if (run.timeMillis() >= fromMillis && run.timeMillis() <= toMillis) {
+                inRange.put(run.id(), run);
+                firstRun = Math.min(firstRun, run.id());
+                lastRun = Math.max(lastRun, run.id());
+            }
+        }
+        if (inRange.isEmpty()) {
+            return List.of();
+        }
+        ByteBuffer runColumn = column(Column.RUN);
+        ByteBuffer seriesColumn = column(Column.SERIES);
+        List<TrendPoint> points = new ArrayList<>();
+        for (int row = lowerBound(runColumn, firstRun); row < lowerBound(runColumn, lastRun + 1); row++) {
+            if (seriesColumn.getInt(row * Integer.BYTES) == id) {
+                Run run = inRange.get(runColumn.getInt(row * Integer.BYTES));
+                if (run != null) {
+                    points.add(new TrendPoint(run.id(), run.timeMillis(), run.label(), rowAt(row, series)));
+                }
+            }
+        }
+        return points;
+    }
+
+    public List<TrendPoint> query(String series) throws IOException {
+        return query(series, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    public synchronized List<TrendRow> rowsOf(int run) throws IOException {
+        ByteBuffer runColumn = column(Column.RUN);
+        ByteBuffer seriesColumn = column(Column.SERIES);
+        List<TrendRow> rows = new ArrayList<>();
+        for (int row = lowerBound(runColumn, run); row < lowerBound(runColumn, run + 1); row++) {
+            rows.add(rowAt(row, seriesNames.get(seriesColumn.getInt(row * Integer.BYTES))));
+        }
+        return rows;
+    }
+
+    /**
+     * Appends the runs of {@code sources} that this store does not have yet. Runs sharing a label - the
+     * shards of one CI run - become a single run, see {@link TrendRow#combine}. Returns the runs added.
+     */
+    public int merge(List<TrendStore> sources) throws IOException {
+        Set<String> known = new HashSet<>();
+        runs().forEach(run -> known.add(run.label()));
+        Map<String, Long> times = new LinkedHashMap<>();
+        Map<String, Map<String, TrendRow>> groups = new LinkedHashMap<>();
+        for (TrendStore source : sources) {
+            for (Run run : source.runs()) {
+                if (known.contains(run.label())) {
+                    continue;
+                }
+                times.merge(run.label(), run.timeMillis(), Math::min);
+                Map<String, TrendRow> group = groups.computeIfAbsent(run.label(), k -> new LinkedHashMap<>());
+                for (TrendRow row : source.rowsOf(run.id())) {
+                    group.merge(row.series(), row, TrendRow::combine);
+                }
+            }
+        }
+        List<String> labels = new ArrayList<>(groups.keySet());
+        labels.sort((a, b) -> Long.compare(times.get(a), times.get(b)));
+        for (String label : labels) {
+            append(label, times.get(label), new ArrayList<>(groups.get(label).values()));
+        }
+        return labels.size();
+    }
+
+    private TrendRow rowAt(int row, String series) throws IOException {
+        return new TrendRow(series,
+                longAt(Column.COUNT, row), longAt(Column.ERRORS, row), longAt(Column.MEAN_MICROS, row),
+                longAt(Column.P50_MICROS, row), longAt(Column.P95_MICROS, row), longAt(Column.P99_MICROS, row),
+                longAt(Column.MAX_MICROS, row), longAt(Column.BYTES_SENT, row), longAt(Column.BYTES_RECEIVED, row));
+    }
+
+    private long longAt(Column column, int row) throws IOException {
+        return column(column).getLong(row * Long.BYTES);
+    }
+
+    private ByteBuffer column(Column column) throws IOException {
+        ByteBuffer buffer = mapped.get(column);
+        if (buffer == null) {
+            long size = (long) rowCount * column.width;
+            if (size == 0) {
+                buffer = ByteBuffer.allocate(0);
+            } else {
+                try (FileChannel channel = FileChannel.open(dir.resolve(column.fileName()), StandardOpenOption.READ)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                }
+            }
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            mapped.put(column, buffer);
+        }
+        return buffer;
+    }
+
+    // Rows are appended run by run, so the run column is sorted
+    private int lowerBound(ByteBuffer runColumn, int run) {
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (runColumn.getInt(mid * Integer.BYTES) < run) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void load() throws IOException {
+        seriesNames.clear();
+        seriesIds.clear();
+        runs.clear();
+        mapped.clear();
+        for (String name : readLines(dir.resolve(SERIES_FILE))) {
+            seriesIds.put(name, seriesNames.size());
+            seriesNames.add(name);
+        }
+        for (String line : readLines(dir.resolve(RUNS_FILE))) {
+            String[] fields = line.split("\t", 3);
+            runs.add(new Run(Integer.parseInt(fields[0]), Long.parseLong(fields[1]),
+                    fields.length > 2 ? fields[2] : ""));
+        }
+        long rows = Long.MAX_VALUE;
+        for (Column column : Column.values()) {
+            Path file = dir.resolve(column.fileName());
+            rows = Math.min(rows, Files.exists(file) ? Files.size(file) / column.width : 0);
+        }
+        rowCount = (int) rows;
+        if (runs.isEmpty()) {
+            rowCount = 0;
+        } else {
+            rowCount = lowerBound(column(Column.RUN), runs.get(runs.size() - 1).id() + 1);
+            mapped.clear();
+        }
+    }
+
+    // A line without its newline is the remains of an interrupted append
+    private static List<String> readLines(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        String content = Files.readString(file, StandardCharsets.UTF_8);
+        int end = content.lastIndexOf('\n') + 1;
+        if (end == 0) {
+            return List.of();
+        }
+        List<String> lines = new ArrayList<>();
+        Collections.addAll(lines, content.substring(0, end - 1).split("\n", -1));
+        return lines;
+    }
+
+    private static void appendLines(Path file, List<String> lines) throws IOException {
+        if (!lines.isEmpty()) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                String existing = Files.readString(file, StandardCharsets.UTF_8);
+                channel.truncate(existing.lastIndexOf('\n') + 1);
+                channel.position(channel.size());
+                channel.write(ByteBuffer.wrap((String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8)));
+                channel.force(false);
+            }
+        }
+    }
+
+    private static long valueOf(TrendRow row, Column column) {
+        return switch (column) {
+            case COUNT -> row.count();
+            case ERRORS -> row.errors();
+            case MEAN_MICROS -> row.meanMicros();
+            case P50_MICROS -> row.p50Micros();
+            case P95_MICROS -> row.p95Micros();
+            case P99_MICROS -> row.p99Micros();
+            case MAX_MICROS -> row.maxMicros();
+            case BYTES_SENT -> row.bytesSent();
+            case BYTES_RECEIVED -> row.bytesReceived();
+            case RUN, SERIES -> throw new IllegalArgumentException(column + " is not a metric column");
+        };
+    }
+
+    private static String clean(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    public record Run(int id, long timeMillis, String label) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.bookstore.utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResultContainer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+
+@Slf4j
+public final class AllureUtils {
+
+    private AllureUtils() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Suite-level output has no running test to attach to, so it becomes the tear-down fixture of a container
+     * whose only child is the suite's container; allure-testng has already written that one by the time
+     * suite listeners finish. The report shows the fixture with the suite's tests without counting it as one.
+     */
+    public static void attachToSuite(String suiteContainerUuid, String fixtureName, String attachmentName,
+                                     String mimeType, String extension, String content) {
+        if (suiteContainerUuid == null) {
+            log.debug("No Allure container for the suite, '{}' is not attached", fixtureName);
+            return;
+        }
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String containerUuid = UUID.randomUUID().toString();
+        String fixtureUuid = UUID.randomUUID().toString();
+        String name = "Suite Diagnostics: " + fixtureName;
+        try {
+            lifecycle.startTestContainer(new TestResultContainer()
+                    .setUuid(containerUuid)
+                    .setName(name)
+                    .setChildren(new ArrayList<>(List.of(suiteContainerUuid))));
+            lifecycle.startTearDownFixture(containerUuid, fixtureUuid,
+                    new FixtureResult().setName(name).setStatus(Status.PASSED));
+            lifecycle.addAttachment(attachmentName, mimeType, extension, content.getBytes(StandardCharsets.UTF_8));
+            lifecycle.stopFixture(fixtureUuid);
+            lifecycle.stopTestContainer(containerUuid);
+            lifecycle.writeTestContainer(containerUuid);
+        } catch (RuntimeException e) {
+            log.warn("Failed to attach '{}' to the Allure report: {}", fixtureName, e.getMessage());
+        }
+    }
+
+    public static void attachText(String name, String content) {
+        if (Allure.getLifecycle().getCurrentTestCaseOrStep().isPresent()) {
+            Allure.addAttachment(name, "text/plain", content, ".txt");
+        }
+    }
+}
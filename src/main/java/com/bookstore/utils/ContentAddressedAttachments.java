@@ -0,0 +1,198 @@
+package com.bookstore.utils;
+
+import com.bookstore.config.ConfigurationManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.qameta.allure.listener.ContainerLifecycleListener;
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.model.WithAttachments;
+import io.qameta.allure.model.WithSteps;
+import io.qameta.allure.util.PropertiesUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+
+/**
+ * Allure test and container lifecycle listener (registered under both types in {@code META-INF/services})
+ * that makes result attachments content-addressed. Just before a test result or container is written, each
+ * of its attachment files is renamed to {@code <sha-256>-attachment.<ext>}, or deleted if a file with that
+ * hash already exists, and the attachment's {@code source} is pointed at the hashed name. Identical response
+ * bodies attached by {@code AllureRestAssured} in every test therefore end up stored once.
+ * <p>
+ * {@link #compact(Path)} does the same for whatever is left in a results directory, such as attachments
+ * of results written before this listener ran or by another tool, and rewrites the JSON that refers to them.
+ */
+@Slf4j
+public class ContentAddressedAttachments implements TestLifecycleListener, ContainerLifecycleListener {
+
+    private static final Pattern HASHED = Pattern.compile("[0-9a-f]{64}-attachment.*");
+    private static final String ATTACHMENT_MARKER = "-attachment";
+
+    private final boolean enabled = ConfigurationManager.getInstance().isAllureAttachmentDedupEnabled();
+    private final Path resultsDir = resultsDirectory();
+
+    @Override
+    public void beforeTestWrite(TestResult result) {
+        if (enabled) {
+            rewrite(result);
+        }
+    }
+
+    @Override
+    public void beforeContainerWrite(TestResultContainer container) {
+        if (enabled) {
+            container.getBefores().forEach(this::rewrite);
+            container.getAfters().forEach(this::rewrite);
+        }
+    }
+
+    public static Path resultsDirectory() {
+        return Paths.get(PropertiesUtils.loadAllureProperties().getProperty("allure.results.directory", "allure-results"));
+    }
+
+    /**
+     * Content-addresses every attachment in {@code dir} that is not yet, then updates the result and
+     * container files that refer to them. Must not run while another process writes into {@code dir}.
+     */
+    public static Stats compact(Path dir) throws IOException {
+        Map<String, String> renamed = new HashMap<>();
+        long before = 0;
+        long after = 0;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files.sorted()::iterator) {
+                String name = file.getFileName().toString();
+                if (!name.contains(ATTACHMENT_MARKER) || HASHED.matcher(name).matches()) {
+                    continue;
+                }
+                long size = Files.size(file);
+                before += size;
+                String hashed = store(file);
+                if (!hashed.equals(name)) {
+                    renamed.put(name, hashed);
+                }
+            }
+        }
+        int rewritten = 0;
+        if (!renamed.isEmpty()) {
+            ObjectMapper mapper = new ObjectMapper();
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String name = file.getFileName().toString();
+                    if ((name.endsWith("-result.json") || name.endsWith("-container.json"))
+                            && replaceSources(mapper, file, renamed)) {
+                        rewritten++;
+                    }
+                }
+            }
+        }
+        for (String hashed : new HashSet<>(renamed.values())) {
+            after += Files.size(dir.resolve(hashed));
+        }
+        return new Stats(renamed.size(), rewritten, before, after);
+    }
+
+    private void rewrite(Object result) {
+        if (result instanceof WithAttachments withAttachments && withAttachments.getAttachments() != null) {
+            for (Attachment attachment : withAttachments.getAttachments()) {
+                String source = attachment.getSource();
+                if (source == null || HASHED.matcher(source).matches()) {
+                    continue;
+                }
+                try {
+                    attachment.setSource(store(resultsDir.resolve(source)));
+                } catch (NoSuchFileException e) {
+                    log.debug("Attachment {} is not on disk, keeping its name", source);
+                } catch (IOException e) {
+                    log.warn("Could not content-address attachment {}: {}", source, e.getMessage());
+                }
+            }
+        }
+        if (result instanceof WithSteps withSteps && withSteps.getSteps() != null) {
+            for (StepResult step : withSteps.getSteps()) {
+                rewrite(step);
+            }
+        }
+    }
+
+    // Identical content from concurrent writers hashes to the same name, so a lost race replaces a file with itself
+    private static String store(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        String hashed = sha256(file) + name.substring(name.indexOf(ATTACHMENT_MARKER));
+        Path target = file.resolveSibling(hashed);
+        if (Files.exists(target)) {
+            Files.delete(file);
+        } else {
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return hashed;
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int n = in.read(buffer); n > 0; n = in.read(buffer)) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static boolean replaceSources(ObjectMapper mapper, Path file, Map<String, String> renamed)
+            throws IOException {
+        String content = Files.readString(file);
+        if (renamed.keySet().stream().noneMatch(content::contains)) {
+            return false;
+        }
+        JsonNode root = mapper.readTree(content);
+        replaceSources(root, renamed);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        mapper.writeValue(tmp.toFile(), root);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+
+    private static void replaceSources(JsonNode node, Map<String, String> renamed) {
+        if (node instanceof ObjectNode object && object.path("source").isTextual()) {
+            String hashed = renamed.get(object.get("source").asText());
+            if (hashed != null) {
+                object.put("source", hashed);
+            }
+        }
+        node.forEach(child -> replaceSources(child, renamed));
+    }
+
+    public record Stats(int attachments, int resultsRewritten, long bytesBefore, long bytesAfter) {
+
+        @Override
+        public String toString() {
+            return String.format("%d attachments content-addressed, %d results rewritten, %d KiB -> %d KiB",
+                    attachments, resultsRewritten, bytesBefore / 1024, bytesAfter / 1024);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bookstore.utils;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+// Background pools (hedging, workflows, dashboard) must never keep the test JVM alive after the suite ends
+public final class DaemonThreads {
+
+    private DaemonThreads() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    // Threads are named prefix + a per-factory counter starting at 1, e.g. "hedge-1"
+    public static ThreadFactory named(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.bookstore.utils;
+
+import com.bookstore.diagnostics.StartupTimer;
+import com.github.javafaker.Faker;
+
+
+// One shared Faker, created on first use: construction parses Faker's locale YAML files, which is a
+// noticeable part of a fork's startup and is not needed by runs that never generate data
+public final class FakerProvider {
+
+    private FakerProvider() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static Faker get() {
+        return Holder.FAKER;
+    }
+
+    private static final class Holder {
+        private static final Faker FAKER = StartupTimer.time("Faker", () -> new Faker());
+    }
+}
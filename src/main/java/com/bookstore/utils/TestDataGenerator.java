@@ -8,15 +8,20 @@ import lombok.extern.slf4j.Slf4j;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 @Slf4j
 public final class TestDataGenerator {
 
-    private static final Faker faker = new Faker();
     private static final Random random = new Random();
     private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
-    private static final Set<Integer> usedIds = new HashSet<>();
+    // Test methods run in parallel, so the set must tolerate concurrent adds
+    private static final Set<Integer> usedIds = ConcurrentHashMap.newKeySet();
+
+    private static Faker faker() {
+        return FakerProvider.get();
+    }
 
     private TestDataGenerator() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
@@ -26,7 +31,7 @@ public final class TestDataGenerator {
     public static int generateUniqueBookId() {
         int id;
         do {
-            id = faker.number().numberBetween(1, 100000);
+            id = faker().number().numberBetween(1, 100000);
         } while (!usedIds.add(id));
         return id;
     }
@@ -34,7 +39,7 @@ public final class TestDataGenerator {
     private static int generateUniqueAuthorId() {
         int id;
         do {
-            id = faker.number().numberBetween(1000, 100000);
+            id = faker().number().numberBetween(1000, 100000);
         } while (!usedIds.add(id));
         return id;
     }
@@ -54,12 +59,24 @@ public final class TestDataGenerator {
 
 
     public static Book generateRandomBook() {
+        return randomBook(generateUniqueBookId());
+    }
+
+    /**
+     * Random payload for an ID the caller manages, for load workers: the unique-ID set is neither touched
+     * nor filled up, and calls are serialized so that dozens of workers never drive the shared Faker at once.
+     */
+    public static synchronized Book generateBookPayload(int id) {
+        return randomBook(id);
+    }
+
+    private static Book randomBook(int id) {
         return Book.builder()
-                .id(generateUniqueBookId())
-                .title(faker.book().title())
-                .description(faker.lorem().sentence(15))
-                .pageCount(faker.number().numberBetween(50, 1000))
-                .excerpt(faker.lorem().paragraph())
+                .id(id)
+                .title(faker().book().title())
+                .description(faker().lorem().sentence(15))
+                .pageCount(faker().number().numberBetween(50, 1000))
+                .excerpt(faker().lorem().paragraph())
                 .publishDate(generateRandomDate())
                 .build();
     }
@@ -105,7 +122,7 @@ public final class TestDataGenerator {
 
     public static Book generateBookWithNegativePageCount() {
         return generateRandomBook().toBuilder()
-                .pageCount(-1 * faker.number().numberBetween(1, 100))
+                .pageCount(-1 * faker().number().numberBetween(1, 100))
                 .build();
     }
 
@@ -116,7 +133,7 @@ public final class TestDataGenerator {
 
     public static Book generateBookWithLongTitle(int length) {
         return generateRandomBook().toBuilder()
-                .title(faker.lorem().characters(length))
+                .title(faker().lorem().characters(length))
                 .build();
     }
 
@@ -158,11 +175,20 @@ public final class TestDataGenerator {
 
 
     public static Author generateRandomAuthor() {
+        return randomAuthor(faker().number().numberBetween(1000, 100000));
+    }
+
+    // Same contract as generateBookPayload(int)
+    public static synchronized Author generateAuthorPayload(int id) {
+        return randomAuthor(id);
+    }
+
+    private static Author randomAuthor(int id) {
         return Author.builder()
-                .id(faker.number().numberBetween(1000, 100000))
-                .firstName(faker.name().firstName())
-                .lastName(faker.name().lastName())
-                .idBook(faker.number().numberBetween(1000, 100000))
+                .id(id)
+                .firstName(faker().name().firstName())
+                .lastName(faker().name().lastName())
+                .idBook(faker().number().numberBetween(1000, 100000))
                 .build();
     }
 
@@ -0,0 +1,160 @@
+package com.bookstore.warmup;
+
+import com.bookstore.config.Configuration;
+import com.bookstore.config.ConfigurationManager;
+import com.bookstore.metrics.EndpointMetrics;
+import com.bookstore.metrics.MetricsRegistry;
+import com.bookstore.models.Author;
+import com.bookstore.models.Book;
+import com.bookstore.schema.SchemaContracts;
+import com.bookstore.services.AuthorService;
+import com.bookstore.services.BookService;
+import com.bookstore.utils.TestDataGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.RestAssured;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Pays the client's one-off costs before the first test: class loading and JIT of the request path,
+ * Jackson introspection of the models, compiling the schema contracts, TLS handshakes and a pool of open
+ * keep-alive connections.
+ * Every endpoint template is called, writes on a throwaway book and author that are deleted again.
+ * Metrics are reset afterwards, so latency figures - and the {@code performance} group - see steady state,
+ * while the warm-up's own cost is reported separately.
+ */
+@Slf4j
+public final class SuiteWarmup {
+
+    private static final int MISSING_ID = 999999;
+    private static volatile String lastReport;
+
+    private final Configuration config = ConfigurationManager.getInstance();
+    private final BookService bookService = new BookService();
+    private final AuthorService authorService = new AuthorService();
+    private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+
+    public static String lastReport() {
+        return lastReport;
+    }
+
+    public void run() {
+        long start = System.nanoTime();
+        stage("Model serializers", this::warmSerializers);
+        stage("Schema contracts", SchemaContracts::precompile);
+        for (int pass = 1; pass <= config.getWarmupIterations(); pass++) {
+            stage("Read endpoints, pass " + pass, this::warmReads);
+        }
+        stage("Write endpoints", this::warmWrites);
+        int connections = Math.min(config.getWarmupConnections(), config.getHttpPoolMaxPerRoute());
+        stage("Open " + connections + " pooled connections", () -> openConnections(connections));
+        long total = System.nanoTime() - start;
+
+        StringBuilder report = new StringBuilder();
+        stageNanos.forEach((stage, nanos) ->
+                report.append(String.format("%-40s %8d ms%n", stage, TimeUnit.NANOSECONDS.toMillis(nanos))));
+        report.append(String.format("%-40s %8d ms%n", "Total", TimeUnit.NANOSECONDS.toMillis(total)));
+        if (config.isMetricsEnabled()) {
+            MetricsRegistry registry = MetricsRegistry.getInstance();
+            report.append(String.format("%-40s %8d%n", "Connections opened", sum(registry, "connections_opened")));
+            report.append(String.format("%-40s %8d%n", "Requests", registry.getEndpoints().stream()
+                    .mapToLong(EndpointMetrics::getRequestCount).sum()));
+            registry.reset();
+        }
+        lastReport = report.toString();
+        log.info("Warm-up finished in {} ms, metrics reset for steady-state measurement:\n{}",
+                TimeUnit.NANOSECONDS.toMillis(total), lastReport);
+    }
+
+    private void stage(String name, Runnable stage) {
+        long start = System.nanoTime();
+        try {
+            stage.run();
+        } catch (Exception e) {
+            // Includes transport failures, which RestAssured rethrows unwrapped
+            log.warn("Warm-up stage '{}' failed: {}", name, e.getMessage());
+        }
+        stageNanos.merge(name, System.nanoTime() - start, Long::sum);
+    }
+
+    private void warmSerializers() {
+        ObjectMapper mapper = RestAssured.config().getObjectMapperConfig().jackson2ObjectMapperFactory()
+                .create(Book.class, "UTF-8");
+        try {
+            mapper.readValue(mapper.writeValueAsBytes(TestDataGenerator.generateRandomBook()), Book.class);
+            mapper.readValue(mapper.writeValueAsBytes(TestDataGenerator.generateRandomAuthor()), Author.class);
+            mapper.readValue(mapper.writeValueAsBytes(List.of(TestDataGenerator.generateRandomBook())), Book[].class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Model round trip failed", e);
+        }
+    }
+
+    private void warmReads() {
+        List<Book> books = bookService.extractBooks(bookService.getAllBooks());
+        if (!books.isEmpty()) {
+            bookService.extractBook(bookService.getBookById(books.get(0).getId()));
+        }
+        bookService.getBookById(MISSING_ID);
+        List<Author> authors = authorService.extractAuthors(authorService.getAllAuthors());
+        if (!authors.isEmpty()) {
+            authorService.extractAuthor(authorService.getAuthorById(authors.get(0).getId()));
+        }
+        authorService.getAuthorById(MISSING_ID);
+    }
+
+    private void warmWrites() {
+        Book book = bookService.extractBook(bookService.createBook(TestDataGenerator.generateRandomBook()));
+        bookService.updateBook(book.getId(), book);
+        bookService.deleteBook(book.getId());
+        Author author = authorService.extractAuthor(authorService.createAuthor(TestDataGenerator.generateRandomAuthor()));
+        authorService.updateAuthor(author.getId(), author);
+        authorService.deleteAuthor(author.getId());
+    }
+
+    // Requests released together overlap, so each one leases - and leaves behind - its own connection
+    private void openConnections(int connections) {
+        if (connections <= 1) {
+            bookService.getBookById(MISSING_ID);
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(connections);
+        CyclicBarrier barrier = new CyclicBarrier(connections);
+        try {
+            List<Future<?>> requests = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                requests.add(executor.submit(() -> {
+                    barrier.await(10, TimeUnit.SECONDS);
+                    return bookService.getBookById(MISSING_ID).getStatusCode();
+                }));
+            }
+            for (Future<?> request : requests) {
+                request.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long sum(MetricsRegistry registry, String counter) {
+        return registry.getCounters().entrySet().stream()
+                .filter(entry -> entry.getKey().name().equals(counter))
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+    }
+}
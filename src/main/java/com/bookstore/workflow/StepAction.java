@@ -0,0 +1,7 @@
+package com.bookstore.workflow;
+
+
+@FunctionalInterface
+public interface StepAction<T> {
+    T run() throws Exception;
+}
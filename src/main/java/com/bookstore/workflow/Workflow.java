@@ -0,0 +1,210 @@
+package com.bookstore.workflow;
+
+import com.bookstore.config.ConfigurationManager;
+import com.bookstore.utils.DaemonThreads;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.ResultsUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * A multi-step test scenario whose steps declare the steps whose results they need. Steps without a
+ * pending dependency run concurrently on a shared pool, so the workflow takes about as long as its
+ * longest dependency chain rather than the sum of its steps.
+ * <p>
+ * A failing step fails the workflow; steps depending on it are skipped, independent steps still run.
+ * {@link #run()} rethrows the first failure in declaration order (an {@link AssertionError} stays one,
+ * so TestNG reports a failure) with any further failures attached as suppressed exceptions.
+ * Steps are reported as Allure steps of the test that ran the workflow.
+ *
+ * <pre>{@code
+ * Workflow workflow = Workflow.named("Author CRUD");
+ * WorkflowStep<Author> created = workflow.step("Create author", () -> create());
+ * workflow.step("Verify author", created, author -> verify(author));
+ * workflow.run();
+ * }</pre>
+ */
+@Slf4j
+public final class Workflow {
+
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(
+            ConfigurationManager.getInstance().getWorkflowParallelism(), DaemonThreads.named("workflow-"));
+    private static final Object ALLURE_LOCK = new Object();
+
+    private final String name;
+    private final List<WorkflowStep<?>> steps = new ArrayList<>();
+
+    private Workflow(String name) {
+        this.name = name;
+    }
+
+    public static Workflow named(String name) {
+        return new Workflow(name);
+    }
+
+    public <T> WorkflowStep<T> step(String name, StepAction<T> action) {
+        return add(name, List.of(), action);
+    }
+
+    public <A, T> WorkflowStep<T> step(String name, WorkflowStep<A> input, StepFunction<A, T> action) {
+        return add(name, List.of(input), () -> action.apply(input.get()));
+    }
+
+    public <A, B, T> WorkflowStep<T> step(String name, WorkflowStep<A> first, WorkflowStep<B> second,
+                                          StepBiFunction<A, B, T> action) {
+        return add(name, List.of(first, second), () -> action.apply(first.get(), second.get()));
+    }
+
+    // For steps that only need others to have finished, or read several of them via WorkflowStep.get()
+    public <T> WorkflowStep<T> step(String name, List<? extends WorkflowStep<?>> after, StepAction<T> action) {
+        return add(name, new ArrayList<>(after), action);
+    }
+
+    private <T> WorkflowStep<T> add(String stepName, List<WorkflowStep<?>> dependencies, StepAction<T> action) {
+        for (WorkflowStep<?> dependency : dependencies) {
+            if (!steps.contains(dependency)) {
+                throw new IllegalArgumentException("Step '" + stepName + "' depends on '" + dependency.getName()
+                        + "', which is not part of workflow '" + name + "'");
+            }
+        }
+        WorkflowStep<T> step = new WorkflowStep<>(stepName, dependencies, action);
+        steps.add(step);
+        return step;
+    }
+
+    public void run() {
+        if (steps.stream().anyMatch(step -> step.getFuture() != null)) {
+            throw new IllegalStateException("Workflow '" + name + "' has already run");
+        }
+        String testUuid = Allure.getLifecycle().getCurrentTestCase().orElse(null);
+        long start = System.nanoTime();
+        // Steps can only depend on earlier steps, so declaration order is a topological order
+        for (WorkflowStep<?> step : steps) {
+            schedule(step, testUuid);
+        }
+        for (WorkflowStep<?> step : steps) {
+            step.getFuture().handle((value, failure) -> null).join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<Throwable> failures = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        for (WorkflowStep<?> step : steps) {
+            if (step.getFailure() != null) {
+                failures.add(step.getFailure());
+            } else if (step.isSkipped()) {
+                skipped.add(step.getName());
+            }
+        }
+        log.info("Workflow '{}': {} steps in {} ms (sum of steps {} ms, longest chain {} ms){}",
+                name, steps.size(), elapsed / 1_000_000, totalNanos() / 1_000_000, criticalPathNanos() / 1_000_000,
+                skipped.isEmpty() ? "" : ", skipped after failure: " + skipped);
+        if (!failures.isEmpty()) {
+            Throwable first = failures.get(0);
+            failures.subList(1, failures.size()).forEach(first::addSuppressed);
+            if (first instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (first instanceof Error error) {
+                throw error;
+            }
+            throw new WorkflowException("Workflow '" + name + "' failed: " + first.getMessage(), first);
+        }
+    }
+
+    private <T> void schedule(WorkflowStep<T> step, String testUuid) {
+        CompletableFuture<?>[] dependencies = step.getDependencies().stream()
+                .map(WorkflowStep::getFuture)
+                .toArray(CompletableFuture[]::new);
+        step.schedule(CompletableFuture.allOf(dependencies)
+                .thenApplyAsync(ignored -> execute(step, testUuid), POOL));
+    }
+
+    private <T> T execute(WorkflowStep<T> step, String testUuid) {
+        long start = System.nanoTime();
+        String stepUuid = testUuid == null ? null : startAllureStep(step.getName(), testUuid);
+        Throwable failure = null;
+        try {
+            T value = step.getAction().run();
+            step.completed(System.nanoTime() - start, null);
+            return value;
+        } catch (Throwable e) {
+            failure = e;
+            step.completed(System.nanoTime() - start, e);
+            log.warn("Workflow '{}' step '{}' failed: {}", name, step.getName(), e.toString());
+            throw new StepFailedException(e);
+        } finally {
+            if (stepUuid != null) {
+                stopAllureStep(stepUuid, failure);
+            }
+        }
+    }
+
+    // The step becomes the pool thread's only Allure context, so its requests and nested steps are
+    // recorded on it alone; adding it to the shared test case is serialized with the other steps
+    private static String startAllureStep(String stepName, String testUuid) {
+        String stepUuid = UUID.randomUUID().toString();
+        synchronized (ALLURE_LOCK) {
+            Allure.getLifecycle().startStep(testUuid, stepUuid, new StepResult().setName(stepName));
+        }
+        return stepUuid;
+    }
+
+    // Stopping the step also pops it off the pool thread's Allure context, leaving the thread clean
+    private static void stopAllureStep(String stepUuid, Throwable failure) {
+        Allure.getLifecycle().updateStep(stepUuid, result -> {
+            if (failure == null) {
+                result.setStatus(Status.PASSED);
+            } else {
+                result.setStatus(ResultsUtils.getStatus(failure).orElse(Status.BROKEN));
+                ResultsUtils.getStatusDetails(failure).ifPresent(result::setStatusDetails);
+            }
+        });
+        Allure.getLifecycle().stopStep(stepUuid);
+    }
+
+    private long totalNanos() {
+        return steps.stream().mapToLong(WorkflowStep::getDurationNanos).sum();
+    }
+
+    private long criticalPathNanos() {
+        Map<WorkflowStep<?>, Long> finish = new HashMap<>();
+        long longest = 0;
+        for (WorkflowStep<?> step : steps) {
+            long ready = step.getDependencies().stream().mapToLong(finish::get).max().orElse(0);
+            finish.put(step, ready + step.getDurationNanos());
+            longest = Math.max(longest, ready + step.getDurationNanos());
+        }
+        return longest;
+    }
+
+    @FunctionalInterface
+    public interface StepFunction<A, T> {
+        T apply(A input) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface StepBiFunction<A, B, T> {
+        T apply(A first, B second) throws Exception;
+    }
+
+    // Carries a step's own failure through the futures; dependents only need to know that it failed
+    private static final class StepFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private StepFailedException(Throwable cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+    }
+}
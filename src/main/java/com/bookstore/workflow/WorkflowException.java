@@ -0,0 +1,11 @@
+package com.bookstore.workflow;
+
+
+public class WorkflowException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public WorkflowException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
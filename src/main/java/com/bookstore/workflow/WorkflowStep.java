@@ -0,0 +1,51 @@
+package com.bookstore.workflow;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * Handle to one step of a {@link Workflow}; pass it to later steps to declare a data dependency,
+ * and read its value with {@link #get()} once the workflow has run.
+ */
+@Getter
+public final class WorkflowStep<T> {
+
+    private final String name;
+    private final List<WorkflowStep<?>> dependencies;
+    private final StepAction<T> action;
+    private CompletableFuture<T> future;
+    private Throwable failure;
+    private long durationNanos;
+
+    WorkflowStep(String name, List<WorkflowStep<?>> dependencies, StepAction<T> action) {
+        this.name = name;
+        this.dependencies = List.copyOf(dependencies);
+        this.action = action;
+    }
+
+    public T get() {
+        if (future == null || !future.isDone()) {
+            throw new IllegalStateException("Step '" + name + "' has not run");
+        }
+        if (future.isCompletedExceptionally()) {
+            throw new IllegalStateException("Step '" + name + "' did not complete successfully");
+        }
+        return future.join();
+    }
+
+    public boolean isSkipped() {
+        return future != null && future.isCompletedExceptionally() && failure == null;
+    }
+
+    void schedule(CompletableFuture<T> future) {
+        this.future = future;
+    }
+
+    void completed(long durationNanos, Throwable failure) {
+        this.durationNanos = durationNanos;
+        this.failure = failure;
+    }
+}
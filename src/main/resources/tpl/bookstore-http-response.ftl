@@ -0,0 +1,35 @@
+<#ftl output_format="HTML">
+<#-- @ftlvariable name="data" type="io.qameta.allure.attachment.http.HttpResponseAttachment" -->
+<div>Status code <#if data.responseCode??>${data.responseCode} <#else>Unknown</#if></div>
+<#if data.url??><div>${data.url}</div></#if>
+
+<#if data.body??>
+<h4>Body</h4>
+<div>
+    <pre class="preformated-text">
+    <#t>${data.body}
+    </pre>
+</div>
+</#if>
+
+<#if (data.headers)?has_content>
+<h4>Headers</h4>
+<div>
+    <#list data.headers as name, value>
+        <#-- Per-response headers would give identical bodies different hashes, see ContentAddressedAttachments -->
+        <#if !["date", "expires", "age", "keep-alive"]?seq_contains(name?lower_case)>
+            <div>${name}: ${value!"null"}</div>
+        </#if>
+    </#list>
+</div>
+</#if>
+
+
+<#if (data.cookies)?has_content>
+<h4>Cookies</h4>
+<div>
+    <#list data.cookies as name, value>
+        <div>${name}: ${value!"null"}</div>
+    </#list>
+</div>
+</#if>
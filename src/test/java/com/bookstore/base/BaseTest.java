@@ -1,17 +1,29 @@
 package com.bookstore.base;
 
 import com.bookstore.client.ApiClient;
+import com.bookstore.client.CircuitBreaker;
+import com.bookstore.client.HealthProbe;
 import com.bookstore.config.ConfigurationManager;
+import com.bookstore.diagnostics.StartupTimer;
+import com.bookstore.schema.SchemaContracts;
+import com.bookstore.schema.SchemaReport;
 import com.bookstore.services.AuthorService;
 import com.bookstore.services.BookService;
+import com.bookstore.stub.StubBackend;
+import com.bookstore.utils.AllureUtils;
+import com.bookstore.warmup.SuiteWarmup;
 import io.qameta.allure.Step;
+import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Listeners;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.time.Duration;
 
 @Slf4j
 @Listeners({com.bookstore.listeners.TestListener.class})
@@ -21,6 +33,7 @@ public abstract class BaseTest {
     protected AuthorService authorService;
     protected ConfigurationManager config;
 
+    private static StubBackend stubBackend;
 
     @BeforeSuite(alwaysRun = true)
     public void suiteSetup() {
@@ -29,16 +42,63 @@ public abstract class BaseTest {
         log.info("=================================================");
 
         config = ConfigurationManager.getInstance();
+        if (config.isStubEnabled()) {
+            StartupTimer.time("Stub backend", this::startStubBackend);
+        }
         config.logConfiguration();
+        if (config.isHealthProbeEnabled()) {
+            probeApi();
+        }
+        if (config.isWarmupEnabled() && !ApiClient.getCircuitBreaker().isOpen()) {
+            StartupTimer.time("Warm-up", () -> new SuiteWarmup().run());
+        }
+    }
+
+
+    // An unreachable API opens the circuit breaker, so every test is skipped in setUp rather than timing out
+    private void probeApi() {
+        CircuitBreaker breaker = ApiClient.getCircuitBreaker();
+        if (breaker.isOpen()) {
+            return;
+        }
+        String failure = HealthProbe.awaitReady(ApiClient.getBaseUrl(),
+                Duration.ofSeconds(config.getHealthProbeTimeout()),
+                Duration.ofSeconds(Math.min(config.getConnectionTimeout(), config.getHealthProbeTimeout())));
+        if (failure != null) {
+            breaker.open(failure);
+        }
+    }
+
+
+    @AfterSuite(alwaysRun = true)
+    public void suiteTeardown() {
+        if (stubBackend != null) {
+            stubBackend.close();
+            stubBackend = null;
+        }
+    }
+
+
+    private void startStubBackend() {
+        try {
+            stubBackend = StubBackend.start(config.getStubPort(), config.getApiVersion(),
+                    config.getStubBookCount(), config.getStubAuthorCount());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start stub backend: " + e.getMessage(), e);
+        }
+        System.setProperty("base.url", stubBackend.getBaseUrl());
+        ApiClient.reset();
     }
 
 
     @BeforeMethod(alwaysRun = true)
     @Step("Test Setup: {method.name}")
     public void setUp(Method method) {
+        ApiClient.getCircuitBreaker().checkClosed();
         log.info("Starting test: {}.{}",
                 method.getDeclaringClass().getSimpleName(),
                 method.getName());
+        config = ConfigurationManager.getInstance();
         bookService = new BookService();
         authorService = new AuthorService();
         ApiClient.reset();
@@ -60,6 +120,16 @@ public abstract class BaseTest {
         log.info("Test Step: {}", stepDescription);
     }
 
+    @Step("Validate response against schema contract '{contract}'")
+    protected void assertMatchesContract(Response response, String contract) {
+        SchemaReport report = SchemaContracts.validate(contract, response.asByteArray());
+        if (!report.isValid()) {
+            AllureUtils.attachText("Schema violations: " + contract, report.toString());
+            throw new AssertionError(report.toString());
+        }
+        log.info("{} element(s) match schema contract '{}'", report.getElements(), contract);
+    }
+
     protected int getRandomBookId() {
         return (int) (Math.random() * 200) + 1;
     }
@@ -0,0 +1,144 @@
+package com.bookstore.listeners;
+
+import com.bookstore.config.Configuration;
+import com.bookstore.config.ConfigurationManager;
+import com.bookstore.scheduling.DurationHistory;
+import com.bookstore.scheduling.LptScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.xml.XmlSuite;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+
+/**
+ * Reorders test methods longest-first by their historical duration. TestNG dispatches free methods to
+ * the worker pool in interceptor order, so with {@code parallel="methods"} this is LPT scheduling: each
+ * thread that frees up takes the longest remaining test. Methods without history are estimated from
+ * their class (or the suite median); with no history at all the order falls back to {@code priority}.
+ * <p>
+ * With {@code -Dshard.count=N -Dshard.index=i} only the i-th of N duration-balanced shards is kept,
+ * so a suite can be fanned out over forked JVMs ({@code ShardLauncher}) or CI matrix jobs.
+ */
+@Slf4j
+public class LongestFirstInterceptor implements IMethodInterceptor {
+
+    private final Configuration config = ConfigurationManager.getInstance();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        int shardCount = config.getShardCount();
+        if (!config.isSchedulerEnabled() && shardCount <= 1) {
+            return methods;
+        }
+        List<IMethodInstance> byPriority = new ArrayList<>(methods);
+        byPriority.sort(Comparator.comparingInt(m -> m.getMethod().getPriority()));
+        DurationHistory history = DurationHistory.getInstance();
+        Map<IMethodInstance, Long> estimates = estimate(byPriority, history);
+        List<IMethodInstance> selected = shardCount > 1 ? shard(byPriority, estimates, shardCount) : byPriority;
+
+        if (!config.isSchedulerEnabled()) {
+            return selected;
+        }
+        if (history.isEmpty()) {
+            log.info("No test duration history yet, running {} methods in priority order", selected.size());
+            return selected;
+        }
+        List<IMethodInstance> ordered = LptScheduler.longestFirst(selected, estimates::get);
+        int threads = context.getCurrentXmlTest().getParallel() == XmlSuite.ParallelMode.NONE
+                ? 1 : context.getCurrentXmlTest().getThreadCount();
+        log.info("Scheduled {} methods longest-first on {} threads, predicted makespan {} ms (in priority order {} ms)",
+                ordered.size(), threads,
+                LptScheduler.makespan(ordered, estimates::get, threads),
+                listScheduleMakespan(selected, estimates, threads));
+        return ordered;
+    }
+
+    /**
+     * Keeps this JVM's share of an LPT split of all methods into {@code shardCount} bins. Every shard
+     * computes the same split, so the input is put into a fixed order first and all shards must see
+     * the same duration history.
+     */
+    private List<IMethodInstance> shard(List<IMethodInstance> methods, Map<IMethodInstance, Long> estimates,
+                                        int shardCount) {
+        int shardIndex = config.getShardIndex();
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("shard.index must be in [0, " + shardCount + "), got " + shardIndex);
+        }
+        List<IMethodInstance> stable = new ArrayList<>(methods);
+        stable.sort(Comparator.comparing(m -> key(m.getMethod())));
+        List<List<IMethodInstance>> shards = LptScheduler.assign(stable, estimates::get, shardCount);
+        Set<IMethodInstance> mine = new HashSet<>(shards.get(shardIndex));
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            if (mine.contains(method)) {
+                selected.add(method);
+            }
+        }
+        log.info("Shard {}/{}: running {} of {} methods, estimated {} ms (shards: {})",
+                shardIndex + 1, shardCount, selected.size(), methods.size(),
+                selected.stream().mapToLong(estimates::get).sum(),
+                shards.stream().map(bin -> bin.stream().mapToLong(estimates::get).sum() + " ms").toList());
+        return selected;
+    }
+
+    private static Map<IMethodInstance, Long> estimate(List<IMethodInstance> methods, DurationHistory history) {
+        Map<IMethodInstance, Long> estimates = new HashMap<>();
+        Map<String, long[]> classTotals = new HashMap<>();
+        List<Long> known = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            OptionalLong millis = history.estimateMillis(key(method.getMethod()));
+            if (millis.isPresent()) {
+                estimates.put(method, millis.getAsLong());
+                known.add(millis.getAsLong());
+                long[] total = classTotals.computeIfAbsent(method.getMethod().getRealClass().getName(), k -> new long[2]);
+                total[0] += millis.getAsLong();
+                total[1]++;
+            }
+        }
+        known.sort(null);
+        // Without any history every method costs the same, which makes sharding balance by count
+        long median = known.isEmpty() ? 1 : Math.max(1, known.get(known.size() / 2));
+        for (IMethodInstance method : methods) {
+            if (!estimates.containsKey(method)) {
+                long[] total = classTotals.get(method.getMethod().getRealClass().getName());
+                estimates.put(method, total == null ? median : Math.max(1, total[0] / total[1]));
+            }
+        }
+        return estimates;
+    }
+
+    // What the unordered run would take: the same greedy dispatch, but in the incoming order
+    private static long listScheduleMakespan(List<IMethodInstance> methods, Map<IMethodInstance, Long> estimates,
+                                             int threads) {
+        long[] loads = new long[threads];
+        for (IMethodInstance method : methods) {
+            int least = 0;
+            for (int i = 1; i < threads; i++) {
+                if (loads[i] < loads[least]) {
+                    least = i;
+                }
+            }
+            loads[least] += estimates.get(method);
+        }
+        long makespan = 0;
+        for (long load : loads) {
+            makespan = Math.max(makespan, load);
+        }
+        return makespan;
+    }
+
+    static String key(ITestNGMethod method) {
+        return DurationHistory.key(method.getRealClass().getName(), method.getMethodName());
+    }
+}
@@ -1,21 +1,118 @@
 package com.bookstore.listeners;
 
+import com.bookstore.client.ApiClient;
+import com.bookstore.client.transport.ConnectionPhaseLog;
+import com.bookstore.config.Configuration;
+import com.bookstore.config.ConfigurationManager;
+import com.bookstore.contract.ConformanceChecker;
+import com.bookstore.contract.OpenApiSpec;
+import com.bookstore.diagnostics.HotSpotReport;
+import com.bookstore.diagnostics.ResourceAccounting;
+import com.bookstore.diagnostics.ResourceUsage;
+import com.bookstore.diagnostics.StartupTimer;
+import com.bookstore.diagnostics.SuiteRecording;
+import com.bookstore.diagnostics.TestExecutionEvent;
+import com.bookstore.metrics.LiveDashboard;
+import com.bookstore.metrics.MetricsRegistry;
+import com.bookstore.metrics.MetricsReporter;
+import com.bookstore.polling.AdaptivePoller;
+import com.bookstore.results.ResultsStream;
+import com.bookstore.scheduling.DurationHistory;
+import com.bookstore.trends.TrendRecorder;
+import com.bookstore.trends.TrendRow;
+import com.bookstore.trends.TrendStore;
+import com.bookstore.utils.AllureUtils;
+import com.bookstore.utils.ContentAddressedAttachments;
+import com.bookstore.warmup.SuiteWarmup;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 import lombok.extern.slf4j.Slf4j;
 import org.testng.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
 
 @Slf4j
-public class TestListener implements ITestListener, ISuiteListener {
+public class TestListener implements ITestListener, ISuiteListener, IInvokedMethodListener {
+
+    private static final String JFR_EVENT_ATTRIBUTE = "jfr.testExecution";
+    private static final String RESOURCE_PROBE_ATTRIBUTE = "resources.probe";
+    // allure-testng keeps the UUID of a suite's result container in this suite attribute
+    private static final String ALLURE_SUITE_UUID_ATTRIBUTE = "ALLURE_UUID";
+
+    // One stream per JVM, so a second suite in the same run appends instead of truncating the file
+    private static ResultsStream resultsStream;
+    private static ConformanceChecker conformanceChecker;
 
+    private final Configuration config = ConfigurationManager.getInstance();
     private long suiteStartTime;
+    private SuiteRecording suiteRecording;
+    private ResourceAccounting resourceAccounting;
+    private LiveDashboard dashboard;
+    private final TrendRecorder trendRecorder = new TrendRecorder();
 
     @Override
     public void onStart(ISuite suite) {
+        StartupTimer.markSuiteStart();
         suiteStartTime = System.currentTimeMillis();
         log.info("====================================================");
         log.info("Starting Test Suite: {}", suite.getName());
         log.info("====================================================");
+        if (config.isJfrRecordingEnabled()) {
+            suiteRecording = SuiteRecording.start(suite.getName(),
+                    config.getJfrRecordingSettings(), Paths.get(config.getJfrOutputDir()));
+        }
+        if (config.isResourceAccountingEnabled() && resourceAccounting == null) {
+            resourceAccounting = new ResourceAccounting();
+        }
+        openResultsStream();
+        startConformanceChecker();
+        if (config.isDashboardEnabled() && dashboard == null) {
+            startDashboard();
+        }
+        if (resultsStream != null) {
+            resultsStream.suiteStarted(suite.getName());
+        }
+    }
+
+    private void startDashboard() {
+        try {
+            dashboard = LiveDashboard.start(MetricsRegistry.getInstance(), config.getDashboardPort(),
+                    config.getDashboardIntervalMillis(), config.getDashboardWindowSeconds());
+            log.info("Live dashboard: {}", dashboard.getUrl());
+        } catch (IOException e) {
+            log.warn("Live dashboard disabled, cannot bind port {}: {}", config.getDashboardPort(), e.getMessage());
+        }
+    }
+
+    private static synchronized void openResultsStream() {
+        if (resultsStream != null || !ConfigurationManager.getInstance().isResultsStreamEnabled()) {
+            return;
+        }
+        Configuration config = ConfigurationManager.getInstance();
+        try {
+            resultsStream = ResultsStream.open(Paths.get(config.getResultsStreamFile()),
+                    config.getResultsStreamQueueCapacity(), config.getResultsStreamFlushMillis());
+            ApiClient.addExchangeListener(resultsStream);
+            log.info("Streaming results to {}", resultsStream.getFile().toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Results stream disabled, cannot open {}: {}", config.getResultsStreamFile(), e.getMessage());
+        }
+    }
+
+    private static synchronized void startConformanceChecker() {
+        Configuration config = ConfigurationManager.getInstance();
+        if (conformanceChecker != null || !config.isOpenApiEnabled()) {
+            return;
+        }
+        conformanceChecker = ConformanceChecker.start(() -> OpenApiSpec.load(config.getOpenApiSpecUrl(),
+                Paths.get(config.getOpenApiSpecFile()), config.isOpenApiOffline()), config.getOpenApiQueueCapacity(),
+                config.getOpenApiQueueMaxBodyBytes());
+        ApiClient.addExchangeListener(conformanceChecker);
     }
 
     @Override
@@ -25,17 +122,80 @@ public class TestListener implements ITestListener, ISuiteListener {
         log.info("Test Suite Finished: {}", suite.getName());
         log.info("Total Duration: {} ms ({} seconds)", duration, duration / 1000);
         log.info("====================================================");
+        if (dashboard != null) {
+            dashboard.close();
+            dashboard = null;
+        }
+        if (resultsStream != null) {
+            resultsStream.suiteFinished(suite.getName(), duration);
+            resultsStream.flush(10_000);
+        }
+        if (ApiClient.getCircuitBreaker().isOpen()) {
+            log.error(ApiClient.getCircuitBreaker().getOpenReason());
+        }
+        if (config.isSchedulerEnabled()) {
+            DurationHistory.getInstance().save();
+        }
+        AdaptivePoller poller = AdaptivePoller.getInstance();
+        if (poller.getWaitCount() > 0) {
+            poller.saveHistory();
+            log.info("Consistency waits: {}", poller.summary());
+        }
+        if (config.isMetricsEnabled()) {
+            MetricsReporter.logSummary();
+            MetricsReporter.export();
+        }
+        if (config.isTrendsEnabled()) {
+            appendTrends();
+        }
+        if (suiteRecording != null) {
+            publishHotSpotReport(suite);
+        }
+        String startup = StartupTimer.report();
+        log.info("Startup breakdown:\n{}", startup);
+        attachToSuite(suite, "Startup", "Startup breakdown", startup);
+        if (SuiteWarmup.lastReport() != null) {
+            attachToSuite(suite, "Warm-up", "Warm-up cost", SuiteWarmup.lastReport());
+        }
+        if (resourceAccounting != null) {
+            String summary = resourceAccounting.summary(config.getResourceAccountingTopCount());
+            log.info("Client resource usage per test:\n{}", summary);
+            attachToSuite(suite, "Resource Usage", "Top consumers", summary);
+        }
+        if (conformanceChecker != null) {
+            publishConformanceReport(suite);
+        }
+        if (config.isAllureAttachmentCompactEnabled()) {
+            compactAllureResults();
+        }
     }
 
     @Override
     public void onTestStart(ITestResult result) {
+        StartupTimer.markFirstTest();
         log.info(">>> Starting Test: {}.{}",
                 result.getTestClass().getRealClass().getSimpleName(),
                 result.getMethod().getMethodName());
+        if (config.isJfrEventsEnabled()) {
+            TestExecutionEvent event = new TestExecutionEvent();
+            event.testClass = result.getTestClass().getRealClass().getSimpleName();
+            event.testMethod = result.getMethod().getMethodName();
+            event.begin();
+            result.setAttribute(JFR_EVENT_ATTRIBUTE, event);
+        }
+        if (resultsStream != null) {
+            resultsStream.testStarted(LongestFirstInterceptor.key(result.getMethod()));
+        }
+        if (dashboard != null) {
+            dashboard.testStarted();
+        }
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
+        commitExecutionEvent(result, "PASSED");
+        streamResult(result, "PASSED");
+        recordDuration(result);
         long duration = result.getEndMillis() - result.getStartMillis();
         log.info("✓ PASSED: {}.{} - Duration: {} ms",
                 result.getTestClass().getRealClass().getSimpleName(),
@@ -45,6 +205,9 @@ public class TestListener implements ITestListener, ISuiteListener {
 
     @Override
     public void onTestFailure(ITestResult result) {
+        commitExecutionEvent(result, "FAILED");
+        streamResult(result, "FAILED");
+        recordDuration(result);
         log.error("✗ FAILED: {}.{}",
                 result.getTestClass().getRealClass().getSimpleName(),
                 result.getMethod().getMethodName());
@@ -60,6 +223,8 @@ public class TestListener implements ITestListener, ISuiteListener {
 
     @Override
     public void onTestSkipped(ITestResult result) {
+        commitExecutionEvent(result, "SKIPPED");
+        streamResult(result, "SKIPPED");
         log.warn("⊗ SKIPPED: {}.{}",
                 result.getTestClass().getRealClass().getSimpleName(),
                 result.getMethod().getMethodName());
@@ -70,6 +235,142 @@ public class TestListener implements ITestListener, ISuiteListener {
     }
 
 
+    // Skipped tests never ran, so they would only drag the average towards zero
+    private void recordDuration(ITestResult result) {
+        if (config.isSchedulerEnabled()) {
+            DurationHistory.getInstance().record(LongestFirstInterceptor.key(result.getMethod()),
+                    result.getEndMillis() - result.getStartMillis());
+        }
+    }
+
+
+    private void streamResult(ITestResult result, String status) {
+        if (dashboard != null) {
+            dashboard.testFinished(status);
+        }
+        if (!"SKIPPED".equals(status)) {
+            trendRecorder.recordTest(LongestFirstInterceptor.key(result.getMethod()),
+                    result.getEndMillis() - result.getStartMillis(), "FAILED".equals(status));
+        }
+        if (resultsStream != null) {
+            resultsStream.testFinished(LongestFirstInterceptor.key(result.getMethod()), status,
+                    Math.max(0, result.getEndMillis() - result.getStartMillis()), result.getThrowable());
+        }
+    }
+
+
+    private void commitExecutionEvent(ITestResult result, String status) {
+        if (result.getAttribute(JFR_EVENT_ATTRIBUTE) instanceof TestExecutionEvent event) {
+            event.status = status;
+            event.commit();
+            result.removeAttribute(JFR_EVENT_ATTRIBUTE);
+        }
+    }
+
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        if (method.isTestMethod() && resourceAccounting != null) {
+            result.setAttribute(RESOURCE_PROBE_ATTRIBUTE, resourceAccounting.start());
+        }
+    }
+
+    // Runs before Allure's own listener closes the test case, so parameters and attachments still land on it
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (method.isTestMethod()) {
+            recordResourceUsage(result);
+            attachConnectionPhases();
+        }
+    }
+
+
+    private void recordResourceUsage(ITestResult result) {
+        if (resourceAccounting != null
+                && result.getAttribute(RESOURCE_PROBE_ATTRIBUTE) instanceof ResourceAccounting.Probe probe) {
+            result.removeAttribute(RESOURCE_PROBE_ATTRIBUTE);
+            ResourceUsage usage = resourceAccounting.stop(probe,
+                    result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName());
+            Allure.parameter("Allocated", ResourceAccounting.formatBytes(usage.getAllocatedBytes()));
+            Allure.parameter("CPU time", String.format("%.1f ms", usage.getCpuNanos() / 1e6));
+            Allure.parameter("GC pauses", usage.getGcPauses() + " (" + usage.getGcPauseMillis() + " ms)");
+        }
+    }
+
+
+    private void attachConnectionPhases() {
+        Allure.getLifecycle().getCurrentTestCase()
+                .map(ConnectionPhaseLog::drain)
+                .ifPresent(table -> AllureUtils.attachText("Connection phases (ms)", table));
+    }
+
+
+    private void appendTrends() {
+        try {
+            TrendStore store = TrendStore.open(Paths.get(config.getTrendsDir()));
+            List<TrendRow> rows = trendRecorder.rows(MetricsRegistry.getInstance());
+            if (!rows.isEmpty()) {
+                int run = store.append(config.getTrendsRunLabel(), System.currentTimeMillis(), rows);
+                log.info("Appended run {} ({} series) to trend store {}", run, rows.size(), store.getDir());
+            }
+        } catch (IOException e) {
+            log.warn("Could not append to trend store {}: {}", config.getTrendsDir(), e.getMessage());
+        }
+    }
+
+
+    private void publishConformanceReport(ISuite suite) {
+        if (!conformanceChecker.flush(30_000)) {
+            log.warn("OpenAPI conformance checks did not finish, the report is partial");
+        }
+        String report = conformanceChecker.report();
+        Path file = Paths.get(config.getOpenApiReportFile());
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, report);
+        } catch (IOException e) {
+            log.warn("Could not write OpenAPI conformance report {}: {}", file, e.getMessage());
+        }
+        log.info("OpenAPI conformance: {} endpoint(s) drift from the document, details in {}",
+                conformanceChecker.getDriftingEndpoints(), file.toAbsolutePath());
+        attachToSuite(suite, "OpenAPI Conformance", "Drift per endpoint", report);
+    }
+
+    private static void attachToSuite(ISuite suite, String fixtureName, String attachmentName, String content) {
+        Object containerUuid = suite.getAttribute(ALLURE_SUITE_UUID_ATTRIBUTE);
+        AllureUtils.attachToSuite(containerUuid == null ? null : containerUuid.toString(), fixtureName, attachmentName,
+                "text/plain", ".txt", content);
+    }
+
+    private void compactAllureResults() {
+        Path dir = ContentAddressedAttachments.resultsDirectory();
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try {
+            log.info("Compacted {}: {}", dir, ContentAddressedAttachments.compact(dir));
+        } catch (IOException e) {
+            log.warn("Could not compact Allure results in {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private void publishHotSpotReport(ISuite suite) {
+        try {
+            Path recording = suiteRecording.stop();
+            String report = HotSpotReport.summarize(recording);
+            Files.writeString(recording.resolveSibling(recording.getFileName() + ".txt"), report);
+            attachToSuite(suite, "JFR Hot Spots", "Hot-spot report", report);
+            log.info("JFR hot-spot report:\n{}", report);
+        } catch (IOException e) {
+            log.warn("Failed to produce JFR hot-spot report: {}", e.getMessage());
+        } finally {
+            suiteRecording = null;
+        }
+    }
+
+
     @Attachment(value = "Failure Log", type = "text/plain")
     private String saveTextLog(String message) {
         return message;
@@ -4,15 +4,15 @@ import com.bookstore.base.BaseTest;
 import com.bookstore.constants.StatusCodes;
 import com.bookstore.models.Author;
 import com.bookstore.utils.TestDataGenerator;
+import com.bookstore.workflow.Workflow;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.testng.annotations.Test;
 
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
-import static java.util.concurrent.TimeUnit.SECONDS;
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.awaitility.Awaitility.await;
 
 
 @Slf4j
@@ -37,22 +37,25 @@ public class DeleteAuthorTests extends BaseTest {
         log.info("Test passed: Author {} deleted successfully", authorId);
     }
 
-    @Test(description = "Verify deleting multiple authors sequentially",
+    @Test(description = "Verify deleting multiple authors concurrently",
             groups = {"regression"},
             priority = 2)
     @Severity(SeverityLevel.NORMAL)
-    @Description("Validates that multiple authors can be deleted in sequence")
+    @Description("Validates that multiple independent authors can be deleted, with the deletions running concurrently")
     public void testDeleteMultipleAuthorsSuccessfully() {
-        logStep("Delete 5 authors sequentially");
-
+        Workflow workflow = Workflow.named("Delete 5 authors");
         for (int i = 1; i <= 5; i++) {
             int authorId = TestDataGenerator.generateRandomAuthor().getId();
             logStep("Delete author " + i + " with ID: " + authorId);
-            Response response = authorService.deleteAuthor(authorId);
-            assertThat(response.getStatusCode())
-                    .as("Each deletion should return 200")
-                    .isEqualTo(StatusCodes.OK);
+            workflow.step("Delete author " + authorId, () -> {
+                Response response = authorService.deleteAuthor(authorId);
+                assertThat(response.getStatusCode())
+                        .as("Each deletion should return 200")
+                        .isEqualTo(StatusCodes.OK);
+                return null;
+            });
         }
+        workflow.run();
         log.info("Test passed: Successfully deleted 5 authors");
     }
 
@@ -137,14 +140,9 @@ public class DeleteAuthorTests extends BaseTest {
         int authorId = createdAuthor.getId();
         log.info("Created author with ID: {}", authorId);
         logStep("Step 2: Retrieve the created author and verify content");
-        await()
-                .atMost(10, SECONDS)
-                .pollInterval(500, MILLISECONDS)
-                .ignoreExceptions()
-                .until(() -> {
-                    Response response = authorService.getAuthorById(authorId);
-                    return response.getStatusCode() == 200;
-                });
+        assertThat(authorService.awaitAuthorAvailable(authorId, Duration.ofSeconds(10)))
+                .as("Author %d should become readable after POST", authorId)
+                .isTrue();
         Response getResponse = authorService.getAuthorById(authorId);
         Author retrievedAuthor = authorService.extractAuthor(getResponse);
         log.info("📢 Retrieved Author Object: {}", retrievedAuthor);
@@ -3,6 +3,7 @@ package com.bookstore.tests.authors;
 import com.bookstore.base.BaseTest;
 import com.bookstore.constants.StatusCodes;
 import com.bookstore.models.Author;
+import com.bookstore.schema.SchemaContracts;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
@@ -87,9 +88,7 @@ public class GetAuthorsTests extends BaseTest {
         assertThat(author.getId())
                 .as("Returned author should have ID: " + authorId)
                 .isEqualTo(authorId);
-        logStep("Verify author has all required fields populated");
-        assertThat(author.getFirstName()).as("First name should not be null").isNotNull();
-        assertThat(author.getLastName()).as("Last name should not be null").isNotNull();
+        assertMatchesContract(response, SchemaContracts.AUTHOR);
         log.info("Test passed: Retrieved author '{}' with ID {}",
                 author.getFullName(), authorId);
     }
@@ -152,20 +151,10 @@ public class GetAuthorsTests extends BaseTest {
     @Description("Validates that all authors in the response have consistent structure")
     public void testGetAllAuthorsDataConsistency() {
         logStep("Send GET request to retrieve all authors");
-        List<Author> authors = authorService.extractAuthors(authorService.getAllAuthors());
-        logStep("Verify all authors have consistent structure");
-        authors.forEach(author -> {
-            assertThat(author.getId())
-                    .as("Each author should have an ID")
-                    .isNotNull();
-            assertThat(author.getFirstName())
-                    .as("Each author should have a first name")
-                    .isNotNull();
-            assertThat(author.getLastName())
-                    .as("Each author should have a last name")
-                    .isNotNull();
-        });
-        log.info(" Test passed: All {} authors have consistent structure", authors.size());
+        Response response = authorService.getAllAuthors();
+        logStep("Verify all authors match the author contract");
+        assertMatchesContract(response, SchemaContracts.AUTHOR_LIST);
+        log.info(" Test passed: All authors have consistent structure");
     }
 
     @Test(description = "Verify content type header is application/json",
@@ -0,0 +1,51 @@
+package com.bookstore.tests.benchmark;
+
+import com.bookstore.base.BaseTest;
+import com.bookstore.benchmark.RequestMix;
+import com.bookstore.benchmark.SaturationCurve;
+import com.bookstore.benchmark.ThroughputBenchmark;
+import com.bookstore.services.AuthorService;
+import com.bookstore.services.BookService;
+import com.bookstore.utils.AllureUtils;
+import io.qameta.allure.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@Slf4j
+@Epic("Bookstore API")
+@Feature("Performance")
+@Story("Throughput benchmark")
+public class ThroughputBenchmarkTests extends BaseTest {
+
+    @Test(description = "Find the maximum request rate of the configured CRUD mix with p99 under target",
+            groups = {"benchmark"})
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Steps the offered load of the benchmark.mix request mix up and bisects to the highest rate whose "
+            + "p99 latency and error rate stay under target, and reports the saturation curve.")
+    public void testMaxSustainedThroughputOfRequestMix() throws InterruptedException, IOException {
+        RequestMix mix = RequestMix.parse(config.getBenchmarkMix(), BookService.load(),
+                AuthorService.load(), config.getBenchmarkReadIds(), config.getBenchmarkWriteFirstId());
+        logStep("Benchmark mix " + mix + " against p99 < " + config.getBenchmarkP99TargetMillis() + " ms");
+        ThroughputBenchmark benchmark = new ThroughputBenchmark(mix,
+                Duration.ofMillis(config.getBenchmarkP99TargetMillis()), config.getBenchmarkMaxErrorPercent(),
+                Duration.ofSeconds(config.getBenchmarkStepSeconds()), config.getBenchmarkConcurrency());
+        SaturationCurve curve = benchmark.run(config.getBenchmarkStartRate(), config.getBenchmarkMaxRate(),
+                config.getBenchmarkSearchSteps());
+
+        Path csv = Paths.get(config.getBenchmarkReportDir(), "saturation-curve.csv");
+        curve.writeCsv(csv);
+        AllureUtils.attachText("Saturation curve", curve.toString());
+        log.info("Saturation curve (also in {}):{}{}", csv.toAbsolutePath(), System.lineSeparator(), curve);
+        assertThat(curve.getMaxSustainedRate())
+                .as("The API should sustain at least the start rate of %d requests/s", config.getBenchmarkStartRate())
+                .isGreaterThanOrEqualTo(config.getBenchmarkStartRate());
+    }
+}
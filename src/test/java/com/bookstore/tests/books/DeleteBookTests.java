@@ -5,6 +5,7 @@ import com.bookstore.client.ApiClient;
 import com.bookstore.constants.StatusCodes;
 import com.bookstore.models.Book;
 import com.bookstore.utils.TestDataGenerator;
+import com.bookstore.workflow.Workflow;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +21,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.is;
 import java.time.Duration;
-import static org.awaitility.Awaitility.await;
 
 @Slf4j
 @Epic("Bookstore API")
@@ -39,31 +39,33 @@ public class DeleteBookTests extends BaseTest {
                 config.deletionPersistence() &&
                         !ApiClient.getBaseUrl().contains("fakerestapi.azurewebsites.net");
         if (expectPersistence) {
-            await().atMost(Duration.ofSeconds(3))
-                    .pollInterval(Duration.ofMillis(200))
-                    .untilAsserted(() ->
-                            bookService.getBookById(bookId).then().statusCode(StatusCodes.NOT_FOUND)
-                    );
+            assertThat(bookService.awaitBookDeleted(bookId, Duration.ofSeconds(3)))
+                    .as("Book %d should return 404 after DELETE", bookId)
+                    .isTrue();
         } else {
             log.warn("Sandbox/non-persistent environment: skipping 404 verification after DELETE");
         }
     }
 
-    @Test(description = "Verify deleting multiple books sequentially",
+    @Test(description = "Verify deleting multiple books concurrently",
             groups = {"regression"},
             priority = 2)
     @Severity(SeverityLevel.NORMAL)
-    @Description("Validates that multiple books can be deleted in sequence")
+    @Description("Validates that multiple independent books can be deleted, with the deletions running concurrently")
     public void testDeleteMultipleBooksSuccessfully() {
-        logStep("Delete 5 books sequentially");
+        Workflow workflow = Workflow.named("Delete 5 books");
         for (int i = 1; i <= 5; i++) {
             int bookId = getRandomBookId();
             logStep("Delete book " + i + " with ID: " + bookId);
-            Response response = bookService.deleteBook(bookId);
-            assertThat(response.getStatusCode())
-                    .as("Each deletion should return 200")
-                    .isEqualTo(StatusCodes.OK);
+            workflow.step("Delete book " + bookId, () -> {
+                Response response = bookService.deleteBook(bookId);
+                assertThat(response.getStatusCode())
+                        .as("Each deletion should return 200")
+                        .isEqualTo(StatusCodes.OK);
+                return null;
+            });
         }
+        workflow.run();
         log.info("Test passed: Successfully deleted 5 books");
     }
 
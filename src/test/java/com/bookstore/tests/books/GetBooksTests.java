@@ -1,8 +1,11 @@
 package com.bookstore.tests.books;
 
+import com.bookstore.assertions.InvariantReport;
+import com.bookstore.assertions.ListInvariants;
 import com.bookstore.base.BaseTest;
 import com.bookstore.constants.StatusCodes;
 import com.bookstore.models.Book;
+import com.bookstore.schema.SchemaContracts;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
@@ -90,9 +93,7 @@ public class GetBooksTests extends BaseTest {
         assertThat(book.getId())
                 .as("Returned book should have ID: " + bookId)
                 .isEqualTo(bookId);
-        logStep("Verify book has all required fields populated");
-        assertThat(book.getTitle()).as("Title should not be null").isNotNull();
-        assertThat(book.getPageCount()).as("Page count should not be null").isNotNull();
+        assertMatchesContract(response, SchemaContracts.BOOK);
 
         log.info("Test passed: Retrieved book '{}' with ID {}", book.getTitle(), bookId);
     }
@@ -169,38 +170,10 @@ public class GetBooksTests extends BaseTest {
     @Description("Validates that all books in the response have consistent structure")
     public void testGetAllBooksDataConsistency() {
         logStep("Send GET request to retrieve all books");
-        List<Book> books = bookService.extractBooks(bookService.getAllBooks());
-        logStep("Verify all books have consistent structure");
-        books.forEach(book -> {
-            assertThat(book.getId())
-                    .as("Each book should have an ID")
-                    .isNotNull();
-            assertThat(book.getTitle())
-                    .as("Each book should have a title")
-                    .isNotNull();
-            assertThat(book.getPageCount())
-                    .as("Each book should have page count")
-                    .isNotNull();
-        });
-        log.info("Test passed: All {} books have consistent structure", books.size());
-    }
-
-
-    @Test(description = "Verify books are returned in order by ID",
-            groups = {"regression"},
-            priority = 3)
-    @Severity(SeverityLevel.TRIVIAL)
-    @Description("Validates that books are returned in ascending order by ID")
-    public void testGetAllBooksOrderedById() {
-        logStep("Send GET request to retrieve all books");
-        List<Book> books = bookService.extractBooks(bookService.getAllBooks());
-        logStep("Verify books are ordered by ID");
-        for (int i = 0; i < books.size() - 1; i++) {
-            assertThat(books.get(i).getId())
-                    .as("Books should be ordered by ID")
-                    .isLessThan(books.get(i + 1).getId());
-        }
-        log.info("Test passed: Books are properly ordered by ID");
+        Response response = bookService.getAllBooks();
+        logStep("Verify all books match the book contract");
+        assertMatchesContract(response, SchemaContracts.BOOK_LIST);
+        log.info("Test passed: All books have consistent structure");
     }
 
 
@@ -219,13 +192,23 @@ public class GetBooksTests extends BaseTest {
         log.info("Test passed: Content type is correct");
     }
 
-    @Test(description = "Verify IDs are unique in list",
+    @Test(description = "Verify IDs are present, ordered and unique in a single pass over GET /Books",
             groups = {"regression"},
             priority = 2)
-    @Severity(SeverityLevel.MINOR)
-    public void testIdsAreUnique() {
-        List<Book> books = bookService.extractBooks(bookService.getAllBooks());
-        long distinct = books.stream().map(Book::getId).distinct().count();
-        assertThat(distinct).isEqualTo(books.size());
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Fetches the book list once and checks content type, IDs present, ID order and ID uniqueness "
+            + "together, reporting every violation")
+    public void testGetAllBooksListInvariants() {
+        logStep("Send GET request to retrieve all books");
+        Response response = bookService.getAllBooks();
+        logStep("Evaluate list invariants");
+        InvariantReport report = ListInvariants.of(response, bookService.extractBooks(response))
+                .contentType("application/json")
+                .notEmpty()
+                .notNull("id", Book::getId)
+                .ascending("id", Book::getId)
+                .unique("id", Book::getId)
+                .assertAll();
+        log.info("Test passed: {}", report);
     }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.bookstore.tests.concurrency;
+
+import com.bookstore.base.BaseTest;
+import com.bookstore.concurrency.History;
+import com.bookstore.concurrency.LinearizabilityChecker;
+import com.bookstore.concurrency.LinearizabilityReport;
+import com.bookstore.concurrency.MutationWorkload;
+import com.bookstore.concurrency.RegisterTarget;
+import com.bookstore.services.AuthorService;
+import com.bookstore.services.BookService;
+import com.bookstore.utils.AllureUtils;
+import io.qameta.allure.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@Slf4j
+@Epic("Bookstore API")
+@Feature("Concurrency")
+@Story("Linearizability under concurrent mutation")
+public class ConcurrentMutationTests extends BaseTest {
+
+    @Test(description = "Verify concurrent updates, reads and deletes of the same books are linearizable",
+            groups = {"concurrency"})
+    @Severity(SeverityLevel.CRITICAL)
+    @Description("Many threads update, read and delete a few book IDs. The recorded history must have no lost "
+            + "updates or stale reads.")
+    public void testConcurrentBookMutationsAreLinearizable() throws InterruptedException {
+        BookService books = BookService.unreported();
+        assertLinearizable(RegisterTarget.books(books), books::deleteBook);
+    }
+
+    @Test(description = "Verify concurrent updates, reads and deletes of the same authors are linearizable",
+            groups = {"concurrency"})
+    @Severity(SeverityLevel.CRITICAL)
+    @Description("Many threads update, read and delete a few author IDs. The recorded history must have no lost "
+            + "updates or stale reads.")
+    public void testConcurrentAuthorMutationsAreLinearizable() throws InterruptedException {
+        AuthorService authors = AuthorService.unreported();
+        assertLinearizable(RegisterTarget.authors(authors), authors::deleteAuthor);
+    }
+
+    private void assertLinearizable(RegisterTarget target, IntConsumer cleanup)
+            throws InterruptedException {
+        int[] ids = IntStream.range(0, config.getConcurrencyIdCount())
+                .map(i -> config.getConcurrencyFirstId() + i)
+                .toArray();
+        logStep(String.format("Run %d operations on %s IDs %s from %d threads", config.getConcurrencyOperations(),
+                target.name(), Arrays.toString(ids), config.getConcurrencyThreads()));
+        MutationWorkload workload = new MutationWorkload(target, ids, config.getConcurrencyThreads(),
+                config.getConcurrencyOperations(), config.getConcurrencyReadPercent(),
+                config.getConcurrencyDeletePercent());
+        History history;
+        try {
+            history = workload.run();
+        } finally {
+            IntStream.of(ids).forEach(cleanup);
+        }
+
+        logStep("Check the operation history for linearizability violations");
+        LinearizabilityReport report = LinearizabilityChecker.check(target.name(), history);
+        AllureUtils.attachText("Linearizability: " + target.name(), report.toString());
+        log.info("{}", report);
+        assertThat(report.isLinearizable()).as(report.toString()).isTrue();
+    }
+}
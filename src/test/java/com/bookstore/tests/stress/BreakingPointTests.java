@@ -0,0 +1,82 @@
+package com.bookstore.tests.stress;
+
+import com.bookstore.base.BaseTest;
+import com.bookstore.benchmark.BreakingPoint;
+import com.bookstore.benchmark.BreakingPointFinder;
+import com.bookstore.benchmark.FailureMode;
+import com.bookstore.benchmark.RequestMix;
+import com.bookstore.benchmark.StressReport;
+import com.bookstore.services.AuthorService;
+import com.bookstore.services.BookService;
+import com.bookstore.utils.AllureUtils;
+import io.qameta.allure.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@Slf4j
+@Epic("Bookstore API")
+@Feature("Performance")
+@Story("Stress breaking points")
+public class BreakingPointTests extends BaseTest {
+
+    @Test(description = "Find the concurrency at which each endpoint breaks, its knee and max sustainable throughput",
+            groups = {"stress"})
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Raises closed-loop concurrency on each stress.operations endpoint until its error rate, p99 or "
+            + "throughput gives out, and reports the knee point, max sustainable throughput and failure mode.")
+    public void testBreakingPointOfEachEndpoint() throws InterruptedException, IOException {
+        // Every operation gets weight 1 so the mix parser builds its call; the operations are stressed one by one
+        String operations = Arrays.stream(config.getStressOperations().split(","))
+                .filter(operation -> !operation.isBlank())
+                .map(operation -> operation.trim() + ":1")
+                .collect(Collectors.joining(","));
+        RequestMix mix = RequestMix.parse(operations, BookService.load(), AuthorService.load(),
+                config.getBenchmarkReadIds(), config.getBenchmarkWriteFirstId());
+        if (config.getStressMaxConcurrency() > config.getHttpPoolMaxPerRoute()) {
+            log.warn("stress.max.concurrency {} is above http.pool.max.per.route {}; callers beyond it queue for a "
+                    + "connection in the client", config.getStressMaxConcurrency(), config.getHttpPoolMaxPerRoute());
+        }
+        BreakingPointFinder finder = new BreakingPointFinder(Duration.ofSeconds(config.getStressStepSeconds()),
+                config.getStressMaxErrorPercent(), Duration.ofMillis(config.getStressLatencyLimitMillis()),
+                config.getStressCollapsePercent());
+
+        List<BreakingPoint> breakingPoints = new ArrayList<>();
+        for (RequestMix.Entry entry : mix.getEntries()) {
+            logStep("Stress " + entry.operation() + " from " + config.getStressStartConcurrency() + " to "
+                    + config.getStressMaxConcurrency() + " concurrent callers");
+            BreakingPoint point = finder.find(entry, config.getStressStartConcurrency(),
+                    config.getStressMaxConcurrency(), config.getStressSearchSteps());
+            breakingPoints.add(point);
+            if (point.getFailureMode() == FailureMode.ABORTED) {
+                break;
+            }
+        }
+        StressReport report = new StressReport(breakingPoints);
+
+        Path csv = Paths.get(config.getStressReportDir(), "breaking-points.csv");
+        report.writeCsv(csv);
+        AllureUtils.attachText("Stress breaking points", report.toString());
+        log.info("Stress breaking points (also in {}):{}{}", csv.toAbsolutePath(), System.lineSeparator(), report);
+        for (BreakingPoint point : breakingPoints) {
+            assertThat(point.getFailureMode())
+                    .as("Stress of %s should run to its end", point.getOperation())
+                    .isNotEqualTo(FailureMode.ABORTED);
+            assertThat(point.getKnee())
+                    .as("%s should cope with %d concurrent callers before breaking (%s)", point.getOperation(),
+                            config.getStressStartConcurrency(), point.getFailureMode().getDescription())
+                    .isPresent();
+        }
+    }
+}